@@ -0,0 +1,72 @@
+package it.arturoiafrate.shortcutbuddy.benchmark;
+
+import it.arturoiafrate.shortcutbuddy.config.ApplicationComponent;
+import it.arturoiafrate.shortcutbuddy.config.DaggerApplicationComponent;
+import it.arturoiafrate.shortcutbuddy.config.module.FxModule;
+import it.arturoiafrate.shortcutbuddy.config.module.NotificationModule;
+import it.arturoiafrate.shortcutbuddy.model.bean.Setting;
+import it.arturoiafrate.shortcutbuddy.model.enumerator.StorageProfile;
+import org.apache.commons.io.FileUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+/**
+ * The application wired by Dagger on a fresh SQLite database, created and seeded by the real Flyway
+ * migrations. The application keeps all its files under the user home, which points to a temporary
+ * directory for the lifetime of the environment, so every trial starts from the seeded state.
+ * The storage profile is read when the database is opened, so choosing one restarts the application
+ * on the same database.
+ */
+final class BenchmarkEnvironment implements AutoCloseable {
+    private final String originalHome;
+    private final Path home;
+    private ApplicationComponent component;
+
+    BenchmarkEnvironment() throws IOException {
+        this(StorageProfile.balanced);
+    }
+
+    /**
+     * @param storageProfile The storage profile the database is opened with
+     */
+    BenchmarkEnvironment(StorageProfile storageProfile) throws IOException {
+        this.originalHome = System.getProperty("user.home");
+        this.home = Files.createTempDirectory("shortcutbuddy-jmh");
+        System.setProperty("user.home", home.toString());
+        this.component = buildComponent();
+        Setting setting = component.getSettingsManager().getSetting("storageProfile");
+        if (!storageProfile.name().equals(setting.getValue())) {
+            setting.setValue(storageProfile.name());
+            component.getSettingsRepository().updateSetting(setting).join();
+            component.getDatabaseWriter().shutdown();
+            component.getDatabaseManager().shutdown();
+            this.component = buildComponent();
+        }
+    }
+
+    private static ApplicationComponent buildComponent() {
+        ApplicationComponent component = DaggerApplicationComponent.builder()
+                .fxModule(new FxModule(ResourceBundle.getBundle("i18n/messages", Locale.ENGLISH), null))
+                .notificationModule(new NotificationModule())
+                .build();
+        component.getShortcutRepository().touch();
+        component.getSettingsManager().load();
+        return component;
+    }
+
+    ApplicationComponent component() {
+        return component;
+    }
+
+    @Override
+    public void close() throws IOException {
+        component.getDatabaseWriter().shutdown();
+        component.getDatabaseManager().shutdown();
+        System.setProperty("user.home", originalHome);
+        FileUtils.deleteDirectory(home.toFile());
+    }
+}
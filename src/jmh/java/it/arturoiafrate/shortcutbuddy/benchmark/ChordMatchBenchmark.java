@@ -0,0 +1,72 @@
+package it.arturoiafrate.shortcutbuddy.benchmark;
+
+import com.github.kwhat.jnativehook.keyboard.NativeKeyEvent;
+import it.arturoiafrate.shortcutbuddy.model.interceptor.keylistener.KeyListener;
+import it.arturoiafrate.shortcutbuddy.model.interceptor.keylistener.KeyOperation;
+import it.arturoiafrate.shortcutbuddy.model.manager.hotkey.GlobalHotkeyManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A press and release of Ctrl+K through {@link GlobalHotkeyManager#update}, with a growing number of random
+ * two and three key shortcuts registered besides it. The cost of a key event should depend on the shortcuts
+ * containing the key, not on how many are registered.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChordMatchBenchmark {
+    private static final int[] KEYS = {
+            NativeKeyEvent.VC_A, NativeKeyEvent.VC_B, NativeKeyEvent.VC_C, NativeKeyEvent.VC_D, NativeKeyEvent.VC_E,
+            NativeKeyEvent.VC_F, NativeKeyEvent.VC_G, NativeKeyEvent.VC_H, NativeKeyEvent.VC_I, NativeKeyEvent.VC_J,
+            NativeKeyEvent.VC_L, NativeKeyEvent.VC_M, NativeKeyEvent.VC_N, NativeKeyEvent.VC_O, NativeKeyEvent.VC_P,
+            NativeKeyEvent.VC_1, NativeKeyEvent.VC_2, NativeKeyEvent.VC_3, NativeKeyEvent.VC_4, NativeKeyEvent.VC_5,
+            NativeKeyEvent.VC_F1, NativeKeyEvent.VC_F2, NativeKeyEvent.VC_F3, NativeKeyEvent.VC_F4, NativeKeyEvent.VC_F5,
+            NativeKeyEvent.VC_SHIFT, NativeKeyEvent.VC_ALT, NativeKeyEvent.VC_META
+    };
+
+    @Param({"10", "100", "500"})
+    public int shortcutCount;
+
+    private KeyListener keyListener;
+    private GlobalHotkeyManager hotkeyManager;
+    private long notifications;
+
+    @Setup
+    public void setUp() {
+        keyListener = new KeyListener(Runnable::run, false);
+        hotkeyManager = new GlobalHotkeyManager(keyListener);
+        hotkeyManager.subscribeShortcut(Set.of(NativeKeyEvent.VC_CONTROL, NativeKeyEvent.VC_K),
+                (keyCode, mode, event) -> notifications++);
+        Random random = new Random(42);
+        for (int i = 0; i < shortcutCount; i++) {
+            Set<Integer> keyCodes = new HashSet<>();
+            int size = 2 + random.nextInt(2);
+            while (keyCodes.size() < size) {
+                keyCodes.add(KEYS[random.nextInt(KEYS.length)]);
+            }
+            hotkeyManager.subscribeShortcut(keyCodes, (keyCode, mode, event) -> notifications++);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        hotkeyManager.shutdown();
+    }
+
+    @Benchmark
+    public long pressAndRelease() {
+        hotkeyManager.update(NativeKeyEvent.VC_CONTROL, KeyOperation.KEY_PRESS, null);
+        hotkeyManager.update(NativeKeyEvent.VC_K, KeyOperation.KEY_PRESS, null);
+        hotkeyManager.update(NativeKeyEvent.VC_K, KeyOperation.KEY_RELEASE, null);
+        hotkeyManager.update(NativeKeyEvent.VC_CONTROL, KeyOperation.KEY_RELEASE, null);
+        return notifications;
+    }
+}
@@ -0,0 +1,71 @@
+package it.arturoiafrate.shortcutbuddy.benchmark;
+
+import it.arturoiafrate.shortcutbuddy.model.bean.Setting;
+import it.arturoiafrate.shortcutbuddy.model.enumerator.ClipboardContentType;
+import it.arturoiafrate.shortcutbuddy.model.manager.clipboard.ClipboardHistoryManager;
+import it.arturoiafrate.shortcutbuddy.model.manager.settings.SettingsManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ClipboardHistoryManager#addEntry(String, ClipboardContentType)} on a full history of 500 entries,
+ * the largest size offered by the settings.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClipboardHistoryBenchmark {
+    private static final int HISTORY_SIZE = 500;
+
+    private BenchmarkEnvironment environment;
+    private ClipboardHistoryManager clipboardHistoryManager;
+    private long sequence;
+
+    @Setup
+    public void setUp() throws IOException {
+        environment = new BenchmarkEnvironment();
+        SettingsManager settingsManager = environment.component().getSettingsManager();
+        Setting historySize = settingsManager.getSetting("clipboardHistorySize");
+        historySize.setValue(String.valueOf(HISTORY_SIZE));
+        environment.component().getSettingsRepository().updateSetting(historySize).join();
+        settingsManager.load();
+
+        clipboardHistoryManager = environment.component().getClipboardHistoryManager();
+        clipboardHistoryManager.loadHistory();
+        for (int i = 0; i < HISTORY_SIZE; i++) {
+            clipboardHistoryManager.addEntry("entry-" + i, ClipboardContentType.TEXT);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void saveHistory() {
+        // Keeps the list of entries waiting to be saved from growing across iterations
+        clipboardHistoryManager.saveHistoryToDb();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        environment.close();
+    }
+
+    /**
+     * A new entry, which evicts the oldest one.
+     */
+    @Benchmark
+    public void addNewEntry() {
+        clipboardHistoryManager.addEntry("new-" + sequence++, ClipboardContentType.TEXT);
+    }
+
+    /**
+     * An entry already in the history, which moves to the front.
+     */
+    @Benchmark
+    public void addExistingEntry() {
+        clipboardHistoryManager.addEntry("entry-" + (sequence++ % HISTORY_SIZE), ClipboardContentType.TEXT);
+    }
+}
@@ -0,0 +1,55 @@
+package it.arturoiafrate.shortcutbuddy.benchmark;
+
+import com.github.kwhat.jnativehook.keyboard.NativeKeyEvent;
+import it.arturoiafrate.shortcutbuddy.model.interceptor.keylistener.KeyListener;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A press and release of the popup key through {@link KeyListener}, arming and disarming its hold detector,
+ * with observers notified on the calling thread instead of the JavaFX application thread and no native hook
+ * registered. The CPU cost of a keystroke; see {@link KeyTypingBenchmark} for its allocations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KeyDispatchBenchmark {
+
+    @Param({"1", "4"})
+    public int observerCount;
+
+    private KeyListener keyListener;
+    private NativeKeyEvent press;
+    private NativeKeyEvent release;
+    private long notifications;
+
+    @Setup
+    public void setUp() {
+        keyListener = new KeyListener(Runnable::run, false);
+        for (int i = 0; i < observerCount; i++) {
+            keyListener.subscribe(NativeKeyEvent.VC_CONTROL, (keyCode, mode, event) -> notifications++);
+        }
+        // Like the global hotkey manager, which listens to every key
+        keyListener.subscribe(KeyListener.KEY_ALL, (keyCode, mode, event) -> notifications++);
+        press = new NativeKeyEvent(NativeKeyEvent.NATIVE_KEY_PRESSED, 0, 0, NativeKeyEvent.VC_CONTROL,
+                NativeKeyEvent.CHAR_UNDEFINED, NativeKeyEvent.KEY_LOCATION_LEFT);
+        release = new NativeKeyEvent(NativeKeyEvent.NATIVE_KEY_RELEASED, 0, 0, NativeKeyEvent.VC_CONTROL,
+                NativeKeyEvent.CHAR_UNDEFINED, NativeKeyEvent.KEY_LOCATION_LEFT);
+    }
+
+    @TearDown
+    public void tearDown() {
+        keyListener.shutdown();
+    }
+
+    @Benchmark
+    public long pressAndRelease() {
+        keyListener.nativeKeyPressed(press);
+        keyListener.nativeKeyReleased(release);
+        return notifications;
+    }
+}
@@ -0,0 +1,79 @@
+package it.arturoiafrate.shortcutbuddy.benchmark;
+
+import com.github.kwhat.jnativehook.keyboard.NativeKeyEvent;
+import it.arturoiafrate.shortcutbuddy.model.interceptor.keylistener.KeyListener;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Steady typing at 15 keys per second through {@link KeyListener}, with the global hotkey observer
+ * listening to every key and observers notified on the calling thread. Meant to be run with
+ * {@code -prof gc}: {@code gc.alloc.rate.norm} is the memory allocated per keystroke by the dispatch path.
+ * At 15 keys per second the few allocations of JMH itself weigh on the average, so {@link #keystrokeBurst()}
+ * types without pauses to give the exact figure.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KeyTypingBenchmark {
+    private static final long KEYSTROKE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1) / 15;
+    private static final int[] TYPED_KEYS = {
+            NativeKeyEvent.VC_H, NativeKeyEvent.VC_E, NativeKeyEvent.VC_L, NativeKeyEvent.VC_L, NativeKeyEvent.VC_O,
+            NativeKeyEvent.VC_SPACE, NativeKeyEvent.VC_W, NativeKeyEvent.VC_O, NativeKeyEvent.VC_R, NativeKeyEvent.VC_L,
+            NativeKeyEvent.VC_D, NativeKeyEvent.VC_ENTER
+    };
+
+    private KeyListener keyListener;
+    private NativeKeyEvent[] presses;
+    private NativeKeyEvent[] releases;
+    private int next;
+    private long notifications;
+
+    @Setup
+    public void setUp() {
+        keyListener = new KeyListener(Runnable::run, false);
+        keyListener.subscribe(KeyListener.KEY_ALL, (keyCode, mode, event) -> notifications++);
+        keyListener.subscribe(NativeKeyEvent.VC_CONTROL, (keyCode, mode, event) -> notifications++);
+        // The native hook allocates its events, they are created upfront to measure the dispatch path alone
+        presses = new NativeKeyEvent[TYPED_KEYS.length];
+        releases = new NativeKeyEvent[TYPED_KEYS.length];
+        for (int i = 0; i < TYPED_KEYS.length; i++) {
+            presses[i] = new NativeKeyEvent(NativeKeyEvent.NATIVE_KEY_PRESSED, 0, 0, TYPED_KEYS[i],
+                    NativeKeyEvent.CHAR_UNDEFINED, NativeKeyEvent.KEY_LOCATION_STANDARD);
+            releases[i] = new NativeKeyEvent(NativeKeyEvent.NATIVE_KEY_RELEASED, 0, 0, TYPED_KEYS[i],
+                    NativeKeyEvent.CHAR_UNDEFINED, NativeKeyEvent.KEY_LOCATION_STANDARD);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        keyListener.shutdown();
+    }
+
+    @Benchmark
+    public long keystroke() {
+        type();
+        LockSupport.parkNanos(KEYSTROKE_INTERVAL_NANOS);
+        return notifications;
+    }
+
+    @Benchmark
+    @Warmup(iterations = 2, time = 2)
+    @Measurement(iterations = 3, time = 2)
+    public long keystrokeBurst() {
+        type();
+        return notifications;
+    }
+
+    private void type() {
+        int key = next;
+        next = (next + 1) % TYPED_KEYS.length;
+        keyListener.nativeKeyPressed(presses[key]);
+        keyListener.nativeKeyReleased(releases[key]);
+    }
+}
@@ -0,0 +1,60 @@
+package it.arturoiafrate.shortcutbuddy.benchmark;
+
+import it.arturoiafrate.shortcutbuddy.model.manager.shortcut.PopupViewModel;
+import it.arturoiafrate.shortcutbuddy.model.manager.shortcut.ShortcutSearchEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtering the popup of the largest seeded application, without rendering. The search engine narrows the
+ * previous matches when a query extends the previous one, so each invocation starts from a blank query:
+ * {@link #search()} filters all the shortcuts with the whole query, {@link #typeQuery()} types it one
+ * character at a time as the user does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PopupFilterBenchmark {
+
+    @Param({"code.exe"})
+    public String appName;
+
+    @Param({"c", "tab", "new tab", "xyzzy"})
+    public String query;
+
+    private ShortcutSearchEngine searchEngine;
+    private String[] prefixes;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (BenchmarkEnvironment environment = new BenchmarkEnvironment()) {
+            searchEngine = PopupViewModel.of(environment.component().getShortcutRepository().findAppShortcutsByName(appName)).searchEngine();
+        }
+        prefixes = new String[query.length()];
+        for (int i = 0; i < prefixes.length; i++) {
+            prefixes[i] = query.substring(0, i + 1);
+        }
+    }
+
+    @Benchmark
+    public List<ShortcutSearchEngine.Match> search() {
+        searchEngine.search("");
+        return searchEngine.search(query);
+    }
+
+    @Benchmark
+    public List<ShortcutSearchEngine.Match> typeQuery() {
+        searchEngine.search("");
+        List<ShortcutSearchEngine.Match> matches = null;
+        for (String prefix : prefixes) {
+            matches = searchEngine.search(prefix);
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,49 @@
+package it.arturoiafrate.shortcutbuddy.benchmark;
+
+import it.arturoiafrate.shortcutbuddy.model.bean.AppShortcuts;
+import it.arturoiafrate.shortcutbuddy.model.manager.database.repository.ShortcutRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read paths of {@link ShortcutRepository}: the cold load of one application and the startup preload.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RepositoryBenchmark {
+    private static final int PRELOAD_APPS = 20;
+
+    @Param({"idea64.exe", "chrome.exe", "explorer.exe"})
+    public String appName;
+
+    private BenchmarkEnvironment environment;
+    private ShortcutRepository repository;
+
+    @Setup
+    public void setUp() throws IOException {
+        environment = new BenchmarkEnvironment();
+        repository = environment.component().getShortcutRepository();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        environment.close();
+    }
+
+    @Benchmark
+    public AppShortcuts findAppShortcutsByName() {
+        return repository.findAppShortcutsByName(appName);
+    }
+
+    @Benchmark
+    public List<AppShortcuts> findMostUsedApps() {
+        return repository.findMostUsedApps(PRELOAD_APPS);
+    }
+}
@@ -0,0 +1,50 @@
+package it.arturoiafrate.shortcutbuddy.benchmark;
+
+import it.arturoiafrate.shortcutbuddy.model.bean.Shortcut;
+import it.arturoiafrate.shortcutbuddy.model.manager.shortcut.ShortcutManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ShortcutManager#getShortcutsForApp(String)} served by the cache and loaded from the database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShortcutCacheBenchmark {
+
+    @Param({"idea64.exe", "chrome.exe"})
+    public String appName;
+
+    private BenchmarkEnvironment environment;
+    private ShortcutManager shortcutManager;
+
+    @Setup
+    public void setUp() throws IOException {
+        environment = new BenchmarkEnvironment();
+        shortcutManager = environment.component().getShortcutManager();
+        shortcutManager.getShortcutsForApp(appName);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        environment.close();
+    }
+
+    @Benchmark
+    public List<Shortcut> cacheHit() {
+        return shortcutManager.getShortcutsForApp(appName);
+    }
+
+    @Benchmark
+    public List<Shortcut> cacheMiss() {
+        shortcutManager.invalidateApp(appName);
+        return shortcutManager.getShortcutsForApp(appName);
+    }
+}
@@ -0,0 +1,80 @@
+package it.arturoiafrate.shortcutbuddy.benchmark;
+
+import it.arturoiafrate.shortcutbuddy.model.bean.AppShortcuts;
+import it.arturoiafrate.shortcutbuddy.model.bean.ClipboardEntry;
+import it.arturoiafrate.shortcutbuddy.model.enumerator.ClipboardContentType;
+import it.arturoiafrate.shortcutbuddy.model.enumerator.StorageProfile;
+import it.arturoiafrate.shortcutbuddy.model.manager.database.repository.ClipboardHistoryRepository;
+import it.arturoiafrate.shortcutbuddy.model.manager.database.repository.ShortcutRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cold load of the popup of an application while the clipboard history is saved in batches on another
+ * thread, for each {@link StorageProfile}. With a rollback journal the writer locks the readers out of the
+ * database until it commits, with WAL they keep reading the last committed state. {@code readAlone} gives
+ * the same load with no writes in flight.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StorageProfileBenchmark {
+    private static final String APP_NAME = "code.exe";
+    private static final int BATCH_SIZE = 50;
+
+    @Param({"balanced", "safe", "legacy"})
+    public StorageProfile storageProfile;
+
+    private BenchmarkEnvironment environment;
+    private ShortcutRepository shortcutRepository;
+    private ClipboardHistoryRepository clipboardHistoryRepository;
+    private List<ClipboardEntry> batch;
+
+    @Setup
+    public void setUp() throws IOException {
+        environment = new BenchmarkEnvironment(storageProfile);
+        shortcutRepository = environment.component().getShortcutRepository();
+        clipboardHistoryRepository = environment.component().getClipboardHistoryRepository();
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(new ClipboardEntry(ClipboardContentType.TEXT, "entry-" + i, i));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void clearHistory() {
+        // Keeps the clipboard table from growing across iterations
+        clipboardHistoryRepository.deleteOldEntries(0).join();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        environment.close();
+    }
+
+    @Benchmark
+    @Group("readDuringWrite")
+    @GroupThreads(1)
+    public AppShortcuts readPopup() {
+        return shortcutRepository.findAppShortcutsByName(APP_NAME);
+    }
+
+    @Benchmark
+    @Group("readDuringWrite")
+    @GroupThreads(1)
+    public Boolean saveClipboardBatch() {
+        return clipboardHistoryRepository.saveEntries(batch).join();
+    }
+
+    @Benchmark
+    public AppShortcuts readAlone() {
+        return shortcutRepository.findAppShortcutsByName(APP_NAME);
+    }
+}
@@ -16,6 +16,7 @@ import it.arturoiafrate.shortcutbuddy.model.interceptor.keylistener.KeyOperation
 import it.arturoiafrate.shortcutbuddy.model.manager.clipboard.ClipboardHistoryManager;
 import it.arturoiafrate.shortcutbuddy.model.manager.hotkey.GlobalHotkeyManager;
 import it.arturoiafrate.shortcutbuddy.model.manager.shortcut.ShortcutManager;
+import it.arturoiafrate.shortcutbuddy.model.manager.shortcut.ShortcutPrefetcher;
 import it.arturoiafrate.shortcutbuddy.model.manager.tray.TrayManager;
 import it.arturoiafrate.shortcutbuddy.service.INotificationService;
 import it.arturoiafrate.shortcutbuddy.service.impl.UpdateCheckerService;
@@ -68,6 +69,7 @@ public class ShortcutBuddyApp extends Application {
     private UpdateCheckerService updateCheckerService;
     private ApplicationComponent applicationComponent;
     private ShortcutManager shortcutManager;
+    private ShortcutPrefetcher shortcutPrefetcher;
     private ClipboardHistoryManager clipboardHistoryManager;
     private ScheduledExecutorService backgroundScheduler;
     private GlobalHotkeyManager globalHotkeyManager;
@@ -128,6 +130,10 @@ public class ShortcutBuddyApp extends Application {
             log.debug("Shutting down globalHotkeyManager");
             globalHotkeyManager.shutdown();
         }
+        if(shortcutPrefetcher != null) {
+            log.debug("Stopping shortcut prefetcher");
+            shortcutPrefetcher.stop();
+        }
         if(trayManager != null) {
             log.debug("Removing tray icon");
             trayManager.exitTray();
@@ -140,6 +146,14 @@ public class ShortcutBuddyApp extends Application {
             log.debug("Stopping Clipboard Monitor Service");
             clipboardHistoryManager.shutdown();
         }
+        if(applicationComponent != null) {
+            log.debug("Draining pending database writes");
+            applicationComponent.getDatabaseWriter().shutdown();
+            applicationComponent.getMetricsRegistry().dump();
+            applicationComponent.getFlightRecorderManager().stop();
+            log.debug("Closing database connections");
+            applicationComponent.getDatabaseManager().shutdown();
+        }
         log.info("Application shutdown complete");
         super.stop();
     }
@@ -288,6 +302,8 @@ public class ShortcutBuddyApp extends Application {
                 log.debug("Applying user language from settings: {}", chosenLanguage);
                 Locale locale = Languages.getLocale(chosenLanguage);
                 bundle = ResourceBundle.getBundle("i18n/messages", locale);
+                tempComponent.getDatabaseWriter().shutdown();
+                tempComponent.getDatabaseManager().shutdown();
 
                 // Now create the real component with the correct bundle
                 log.info("Loading Dagger2 components with user language");
@@ -297,6 +313,7 @@ public class ShortcutBuddyApp extends Application {
                         .build();
                 applicationComponent.getShortcutRepository().touch();
                 applicationComponent.getSettingsManager().load();
+                applicationComponent.getFlightRecorderManager().start();
                 updateProgress(15, 100);
                 Platform.runLater(() -> {
                     String chosenTheme = applicationComponent.getSettingsManager().getSetting("theme").getValue();
@@ -324,6 +341,8 @@ public class ShortcutBuddyApp extends Application {
 
                 log.info("Loading shortcuts");
                 applicationComponent.getShortcutManager().load();
+                shortcutPrefetcher = applicationComponent.getShortcutPrefetcher();
+                shortcutPrefetcher.start();
                 updateProgress(65, 100);
 
                 log.info("Starting the tray icon");
@@ -435,6 +454,8 @@ public class ShortcutBuddyApp extends Application {
 
     private void subscribeShowShortcutStage(){
         globalHotkeyManager = applicationComponent.getGlobalHotkeyManager();
+        applicationComponent.getKeyListener().setHoldDelay(NativeKeyEvent.VC_CONTROL,
+                applicationComponent.getSettingsManager().getIntSetting("popupHoldDelay"));
         globalHotkeyManager.subscribeKeyHold(NativeKeyEvent.VC_CONTROL, shortcutController);
         globalHotkeyManager.subscribeKeyEvent(NativeKeyEvent.VC_CONTROL, shortcutController);
         globalHotkeyManager.subscribeKeyEvent(NativeKeyEvent.VC_ESCAPE, shortcutController);
@@ -561,8 +582,30 @@ public class ShortcutBuddyApp extends Application {
             log.info("Scheduled background task completed");
         };
 
+        Runnable checkpointTask = () -> {
+            try {
+                if(applicationComponent != null) {
+                    applicationComponent.getDatabaseManager().checkpoint();
+                }
+            } catch (Exception e) {
+                log.error("Error running WAL checkpoint", e);
+            }
+        };
+
+        Runnable metricsTask = () -> {
+            try {
+                if(applicationComponent != null) {
+                    applicationComponent.getMetricsRegistry().dump();
+                }
+            } catch (Exception e) {
+                log.error("Error dumping metrics", e);
+            }
+        };
+
         backgroundScheduler.scheduleAtFixedRate(flushTask, 15, 15, TimeUnit.MINUTES);
-        log.info("Background tasks scheduled to run every 15 minutes");
+        backgroundScheduler.scheduleAtFixedRate(checkpointTask, 5, 5, TimeUnit.MINUTES);
+        backgroundScheduler.scheduleAtFixedRate(metricsTask, 5, 5, TimeUnit.MINUTES);
+        log.info("Background tasks scheduled: usage flush every 15 minutes, WAL checkpoint and metrics dump every 5 minutes");
     }
 
     /**
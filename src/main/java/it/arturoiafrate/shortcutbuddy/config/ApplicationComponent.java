@@ -1,6 +1,7 @@
 package it.arturoiafrate.shortcutbuddy.config;
 
 import dagger.Component;
+import it.arturoiafrate.shortcutbuddy.config.module.ForegroundModule;
 import it.arturoiafrate.shortcutbuddy.config.module.FxModule;
 import it.arturoiafrate.shortcutbuddy.config.module.NotificationModule;
 import it.arturoiafrate.shortcutbuddy.config.qualifier.ApplicationTrayNotificationService;
@@ -11,12 +12,16 @@ import it.arturoiafrate.shortcutbuddy.model.interceptor.keylistener.KeyListener;
 import it.arturoiafrate.shortcutbuddy.model.keyemulator.KeyEmulator;
 import it.arturoiafrate.shortcutbuddy.model.manager.clipboard.ClipboardHistoryManager;
 import it.arturoiafrate.shortcutbuddy.model.manager.database.DatabaseManager;
+import it.arturoiafrate.shortcutbuddy.model.manager.database.DatabaseWriter;
 import it.arturoiafrate.shortcutbuddy.model.manager.database.repository.ClipboardHistoryRepository;
 import it.arturoiafrate.shortcutbuddy.model.manager.database.repository.SettingsRepository;
 import it.arturoiafrate.shortcutbuddy.model.manager.database.repository.ShortcutRepository;
 import it.arturoiafrate.shortcutbuddy.model.manager.hotkey.GlobalHotkeyManager;
+import it.arturoiafrate.shortcutbuddy.model.manager.metrics.FlightRecorderManager;
+import it.arturoiafrate.shortcutbuddy.model.manager.metrics.MetricsRegistry;
 import it.arturoiafrate.shortcutbuddy.model.manager.settings.SettingsManager;
 import it.arturoiafrate.shortcutbuddy.model.manager.shortcut.ShortcutManager;
+import it.arturoiafrate.shortcutbuddy.model.manager.shortcut.ShortcutPrefetcher;
 import it.arturoiafrate.shortcutbuddy.model.manager.tray.TrayManager;
 import it.arturoiafrate.shortcutbuddy.service.INotificationService;
 import it.arturoiafrate.shortcutbuddy.service.impl.ChangelogService;
@@ -26,13 +31,15 @@ import it.arturoiafrate.shortcutbuddy.service.impl.UpdateCheckerService;
 import jakarta.inject.Singleton;
 
 @Singleton
-@Component(modules = {FxModule.class, NotificationModule.class})
+@Component(modules = {FxModule.class, NotificationModule.class, ForegroundModule.class})
 public interface ApplicationComponent {
     DatabaseManager getDatabaseManager();
+    DatabaseWriter getDatabaseWriter();
     ShortcutRepository getShortcutRepository();
     SettingsRepository getSettingsRepository();
     ClipboardHistoryRepository getClipboardHistoryRepository();
     ShortcutManager getShortcutManager();
+    ShortcutPrefetcher getShortcutPrefetcher();
     SettingsManager getSettingsManager();
     ClipboardHistoryManager getClipboardHistoryManager();
     ChangelogService getChangelogService();
@@ -51,6 +58,8 @@ public interface ApplicationComponent {
     ControllerFactory getControllerFactory();
     ClipboardMonitorService getClipboardMonitorService();
     GlobalHotkeyManager getGlobalHotkeyManager();
+    MetricsRegistry getMetricsRegistry();
+    FlightRecorderManager getFlightRecorderManager();
 
     @ApplicationTrayNotificationService
     INotificationService getApplicationTrayNotificationService();
@@ -0,0 +1,33 @@
+package it.arturoiafrate.shortcutbuddy.config.module;
+
+import dagger.Lazy;
+import dagger.Module;
+import dagger.Provides;
+import it.arturoiafrate.shortcutbuddy.model.interceptor.foreground.IForegroundAppSource;
+import it.arturoiafrate.shortcutbuddy.model.interceptor.foreground.NoOpForegroundAppSource;
+import it.arturoiafrate.shortcutbuddy.model.interceptor.foreground.ScriptedForegroundAppSource;
+import it.arturoiafrate.shortcutbuddy.model.interceptor.foreground.WinEventForegroundAppSource;
+import jakarta.inject.Singleton;
+
+import java.nio.file.Path;
+
+@Module
+public class ForegroundModule {
+    /**
+     * Path of a script replacing the Windows foreground hook, see {@link ScriptedForegroundAppSource}.
+     */
+    public static final String FOREGROUND_SCRIPT_PROPERTY = "shortcutbuddy.foregroundScript";
+
+    @Provides
+    @Singleton
+    IForegroundAppSource provideForegroundAppSource(Lazy<WinEventForegroundAppSource> winEventSource) {
+        String script = System.getProperty(FOREGROUND_SCRIPT_PROPERTY);
+        if (script != null && !script.isBlank()) {
+            return new ScriptedForegroundAppSource(Path.of(script));
+        }
+        if (!System.getProperty("os.name").toLowerCase().contains("windows")) {
+            return new NoOpForegroundAppSource();
+        }
+        return winEventSource.get();
+    }
+}
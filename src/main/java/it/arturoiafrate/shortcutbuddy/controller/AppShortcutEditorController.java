@@ -11,6 +11,7 @@ import it.arturoiafrate.shortcutbuddy.model.bean.ShortcutEditLists;
 import it.arturoiafrate.shortcutbuddy.model.manager.shortcut.ShortcutManager;
 import it.arturoiafrate.shortcutbuddy.utility.AppInfo;
 import jakarta.inject.Inject;
+import javafx.application.Platform;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.collections.FXCollections;
@@ -278,24 +279,26 @@ public class AppShortcutEditorController {
 
         if(restoreConfirmed.get()){
             log.debug("Restore confirmed for shortcut: {}", shortcutToRestore.getDescription());
-            boolean restored = shortcutManager.restoreDefaultShortcut(currentApp.getAppName(), shortcutToRestore.getId());
-            if(restored) {
-                log.debug("Default keys successfully restored");
-                // Refresh the shortcut list to show the updated keys
-                List<Shortcut> shortcuts = shortcutManager.getShortcutsForApp(currentApp.getAppName());
-                this.shortcutList.setAll(shortcuts);
-                markUnsavedChanges(false);
-
-                // Show success message
-                String caption = MessageFormat.format("Default Keys Restored", AppInfo.getName());
-                var successTextArea = new javafx.scene.control.TextArea();
-                successTextArea.setEditable(false);
-                successTextArea.setWrapText(true);
-                successTextArea.setText("The default keys have been successfully restored.");
-                DialogUtils.showInfoDialog(caption, successTextArea, Optional.ofNullable(this.getApplicationIcon()), Optional.of(getStage()));
-            } else {
-                log.error("Failed to restore default keys for shortcut: {}", shortcutToRestore.getDescription());
-            }
+            shortcutManager.restoreDefaultShortcut(currentApp.getAppName(), shortcutToRestore.getId())
+                    .thenAccept(restored -> Platform.runLater(() -> {
+                        if(restored) {
+                            log.debug("Default keys successfully restored");
+                            // Refresh the shortcut list to show the updated keys
+                            List<Shortcut> shortcuts = shortcutManager.getShortcutsForApp(currentApp.getAppName());
+                            this.shortcutList.setAll(shortcuts);
+                            markUnsavedChanges(false);
+
+                            // Show success message
+                            String caption = MessageFormat.format("Default Keys Restored", AppInfo.getName());
+                            var successTextArea = new javafx.scene.control.TextArea();
+                            successTextArea.setEditable(false);
+                            successTextArea.setWrapText(true);
+                            successTextArea.setText("The default keys have been successfully restored.");
+                            DialogUtils.showInfoDialog(caption, successTextArea, Optional.ofNullable(this.getApplicationIcon()), Optional.of(getStage()));
+                        } else {
+                            log.error("Failed to restore default keys for shortcut: {}", shortcutToRestore.getDescription());
+                        }
+                    }));
         } else {
             log.debug("Restore cancelled for shortcut: {}", shortcutToRestore.getDescription());
         }
@@ -313,23 +316,24 @@ public class AppShortcutEditorController {
             return;
         }
 
-        boolean saved = shortcutManager.batchModifyShortcuts(currentApp.getAppName(), shortcutEditLists);
-
-        if(saved) {
-            log.debug("Shortcuts saved successfully");
-            markUnsavedChanges(false);
-        } else {
-            log.error("Failed to save shortcuts");
-        }
-
-        String caption = MessageFormat.format(resources.getString("dialog.save.shortcut.alert.title"), AppInfo.getName());
-        var textArea = new javafx.scene.control.TextArea();
-        textArea.setEditable(false);
-        textArea.setWrapText(true);
-        textArea.setText(saved ?
-                resources.getString("dialog.save.shortcut.alert.message.ok") :
-                resources.getString("dialog.save.shortcut.alert.message.error"));
-        DialogUtils.showInfoDialog(caption, textArea, Optional.ofNullable(this.getApplicationIcon()), Optional.of(getStage()));
+        shortcutManager.batchModifyShortcuts(currentApp.getAppName(), shortcutEditLists)
+                .thenAccept(saved -> Platform.runLater(() -> {
+                    if(saved) {
+                        log.debug("Shortcuts saved successfully");
+                        markUnsavedChanges(false);
+                    } else {
+                        log.error("Failed to save shortcuts");
+                    }
+
+                    String caption = MessageFormat.format(resources.getString("dialog.save.shortcut.alert.title"), AppInfo.getName());
+                    var textArea = new javafx.scene.control.TextArea();
+                    textArea.setEditable(false);
+                    textArea.setWrapText(true);
+                    textArea.setText(saved ?
+                            resources.getString("dialog.save.shortcut.alert.message.ok") :
+                            resources.getString("dialog.save.shortcut.alert.message.error"));
+                    DialogUtils.showInfoDialog(caption, textArea, Optional.ofNullable(this.getApplicationIcon()), Optional.of(getStage()));
+                }));
     }
 
 
@@ -5,6 +5,7 @@ import atlantafx.base.theme.Styles;
 import it.arturoiafrate.shortcutbuddy.ShortcutBuddyApp;
 import it.arturoiafrate.shortcutbuddy.model.bean.Setting;
 import it.arturoiafrate.shortcutbuddy.model.manager.settings.SettingsManager;
+import it.arturoiafrate.shortcutbuddy.model.manager.shortcut.ShortcutManager;
 import jakarta.inject.Inject;
 import javafx.application.Platform;
 import javafx.collections.FXCollections;
@@ -24,6 +25,7 @@ import org.kordamp.ikonli.feather.Feather;
 import org.kordamp.ikonli.javafx.FontIcon;
 
 import java.io.File;
+import java.text.MessageFormat;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -41,6 +43,8 @@ public class SettingsController {
 
     @Inject
     SettingsManager settingsManager;
+    @Inject
+    ShortcutManager shortcutManager;
 
     @Inject
     public SettingsController() {}
@@ -200,7 +204,11 @@ public class SettingsController {
         label.setContentDisplay(ContentDisplay.RIGHT);
         label.setGraphicTextGap(5);
 
-        Tooltip tooltip = new Tooltip(resources.getString("settings.setting." + setting.getKey() + ".tooltip"));
+        String tooltipText = resources.getString("settings.setting." + setting.getKey() + ".tooltip");
+        if ("cacheSize".equals(setting.getKey())) {
+            tooltipText += "\n" + MessageFormat.format(resources.getString("settings.setting.cacheSize.stats"), shortcutManager.getCacheStatsSummary());
+        }
+        Tooltip tooltip = new Tooltip(tooltipText);
         tooltip.setWrapText(true);
         tooltip.setMaxWidth(300);
         Tooltip.install(infoIcon, tooltip);
@@ -4,14 +4,25 @@ import atlantafx.base.theme.Styles;
 import com.github.kwhat.jnativehook.keyboard.NativeKeyEvent;
 import it.arturoiafrate.shortcutbuddy.controller.dialog.InlineCSS;
 import it.arturoiafrate.shortcutbuddy.controller.util.GridNavigator;
+import it.arturoiafrate.shortcutbuddy.controller.util.NodePool;
+import it.arturoiafrate.shortcutbuddy.controller.util.SearchSession;
+import it.arturoiafrate.shortcutbuddy.controller.util.ShortcutEntryCell;
+import it.arturoiafrate.shortcutbuddy.controller.util.VirtualShortcutGrid;
 import it.arturoiafrate.shortcutbuddy.model.bean.Shortcut;
 import it.arturoiafrate.shortcutbuddy.model.constant.KeyOption;
 import it.arturoiafrate.shortcutbuddy.model.interceptor.foreground.ForegroundAppInterceptor;
 import it.arturoiafrate.shortcutbuddy.model.interceptor.keylistener.IKeyObserver;
 import it.arturoiafrate.shortcutbuddy.model.interceptor.keylistener.KeyOperation;
 import it.arturoiafrate.shortcutbuddy.model.keyemulator.KeyEmulator;
+import it.arturoiafrate.shortcutbuddy.model.manager.metrics.MetricsRegistry;
+import it.arturoiafrate.shortcutbuddy.model.manager.metrics.jfr.PipelineCorrelation;
+import it.arturoiafrate.shortcutbuddy.model.manager.metrics.jfr.PopupShowEvent;
 import it.arturoiafrate.shortcutbuddy.model.manager.settings.SettingsManager;
+import it.arturoiafrate.shortcutbuddy.model.manager.shortcut.AppIconCache;
+import it.arturoiafrate.shortcutbuddy.model.manager.shortcut.PopupViewModel;
 import it.arturoiafrate.shortcutbuddy.model.manager.shortcut.ShortcutManager;
+import it.arturoiafrate.shortcutbuddy.model.manager.shortcut.ShortcutSearchEngine;
+import it.arturoiafrate.shortcutbuddy.model.type.LatencyHistogram;
 import jakarta.inject.Inject;
 import javafx.animation.PauseTransition;
 import javafx.application.Platform;
@@ -21,7 +32,7 @@ import javafx.geometry.Pos;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.Node;
 import javafx.scene.control.Label;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ListView;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
@@ -34,42 +45,49 @@ import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
-import java.io.File;
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.stream.Collectors;
 
 @Slf4j
 public class ShortcutController implements IKeyObserver {
 
     @FXML private TextField searchBox;
     @FXML private Label messageLabel;
-    @FXML private GridPane shortcutsGrid;
+    @FXML private ListView<List<Shortcut>> shortcutsList;
     @FXML private ImageView appIconImageView;
     @FXML private Label appNameLabel;
     @FXML private Label exitSearchModeLabel;
     @FXML private Label navigationTooltipLabel;
-    @FXML private ScrollPane scrollPane;
     @FXML private VBox shortcutsBox;
 
     private GridPane starredShortcutsGrid;
+    private VirtualShortcutGrid shortcutsGrid;
+    private Node emptyShortcutEntryNode;
 
     @Inject
     SettingsManager settingsManager;
     @Inject
     ShortcutManager shortcutManager;
     @Inject
+    AppIconCache appIconCache;
+    @Inject
+    MetricsRegistry metricsRegistry;
+    @Inject
     ForegroundAppInterceptor foregroundAppInterceptor;
     @Inject
     KeyEmulator keyEmulator;
 
     private static final int VISIBLE_ROWS = 10;
     private static final double ESTIMATED_ROW_HEIGHT = 28.0;
+    private static final double SEARCH_DEBOUNCE_MS = 40;
+    private static final int ENTRY_POOL_SIZE = 64;
     private Stage stage;
     private boolean blockView = false;
     @Setter
@@ -83,6 +101,12 @@ public class ShortcutController implements IKeyObserver {
     private List<Shortcut> currentDisplayedShortcuts;
     private AtomicBoolean ctrlPressed;
     private final Map<Long, Label> starredShortcutNumberLabels = new HashMap<>();
+    private final Map<Long, int[]> descriptionHighlights = new HashMap<>();
+    private SearchSession searchSession;
+    private NodePool<ShortcutEntryCell.Layout, ShortcutEntryCell> entryCellPool;
+    private CompletableFuture<PopupViewModel> pendingViewModel;
+    private String currentAppName;
+    private LatencyHistogram popupShowLatency;
 
     @Inject
     public ShortcutController() {
@@ -105,12 +129,37 @@ public class ShortcutController implements IKeyObserver {
         starredShortcutsGrid.setVgap(5.0);
         starredShortcutsGrid.setVisible(false);
 
-        gridNavigator = new GridNavigator(shortcutsGrid, scrollPane, InlineCSS.SHORTCUT_BORDER, InlineCSS.SELECTED_SHORTCUT_BORDER);
-        starredGridNavigator = new GridNavigator(starredShortcutsGrid, scrollPane, InlineCSS.SHORTCUT_BORDER, InlineCSS.SELECTED_SHORTCUT_BORDER);
+        entryCellPool = new NodePool<>(ShortcutEntryCell.Layout.class, layout -> new ShortcutEntryCell(layout, this::toggleStarred), ENTRY_POOL_SIZE);
+        shortcutsGrid = new VirtualShortcutGrid(shortcutsList, 10.0, 5.0, InlineCSS.SELECTED_SHORTCUT_BORDER, new VirtualShortcutGrid.EntryProvider() {
+            @Override
+            public Node acquire(Shortcut shortcut, boolean compact) {
+                return acquireEntryCell(compact ? ShortcutEntryCell.Layout.COMPACT : ShortcutEntryCell.Layout.REGULAR, shortcut, -1);
+            }
+
+            @Override
+            public void release(Node entry) {
+                if (entry instanceof ShortcutEntryCell cell) {
+                    releaseEntryCell(cell);
+                }
+            }
+        });
+        double totalVGap = (VISIBLE_ROWS > 1) ? (VISIBLE_ROWS - 1) * 5.0 : 0;
+        shortcutsList.setPrefHeight((VISIBLE_ROWS * ESTIMATED_ROW_HEIGHT) + totalVGap);
+
+        gridNavigator = new GridNavigator(shortcutsGrid);
+        starredGridNavigator = new GridNavigator(starredShortcutsGrid, null, InlineCSS.SHORTCUT_BORDER, InlineCSS.SELECTED_SHORTCUT_BORDER);
 
         ctrlPressed = new AtomicBoolean();
 
         searchBox.focusedProperty().addListener((observable, oldValue, newValue) -> updateNumberLabelsVisibility());
+        searchSession = new SearchSession(searchBox, Duration.millis(SEARCH_DEBOUNCE_MS),
+                metricsRegistry.histogram("popup.search.filter"), this::updateFilteredShortcuts);
+
+        popupShowLatency = metricsRegistry.histogram("popup.show");
+        metricsRegistry.gauge("popup.entryCells.created", entryCellPool::getCreatedCount);
+        metricsRegistry.gauge("popup.entryCells.reused", entryCellPool::getReusedCount);
+        metricsRegistry.gauge("popup.search.keystrokes", searchSession::getTotalKeystrokes);
+        metricsRegistry.gauge("popup.search.filterRuns", searchSession::getTotalFilterRuns);
     }
 
 
@@ -304,24 +353,41 @@ public class ShortcutController implements IKeyObserver {
         } else if(mode == KeyOperation.KEY_HOLD){
             if(!stage.isShowing()){
                 if(!Window.getWindows().isEmpty()) return;
-                shortcutsGrid.getChildren().clear();
-                shortcutsGrid.getColumnConstraints().clear();
-                starredShortcutsGrid.getChildren().clear();
-                starredShortcutsGrid.getColumnConstraints().clear();
+                long holdTime = System.nanoTime();
+                PopupShowEvent showEvent = new PopupShowEvent();
+                showEvent.begin();
+                long sessionId = PipelineCorrelation.startSession();
+                long reusedBefore = entryCellPool.getReusedCount();
+                long createdBefore = entryCellPool.getCreatedCount();
+                shortcutsGrid.clear();
+                releaseStarredCells();
                 searchBox.clear();
                 String appName = foregroundAppInterceptor.getForegroundAppName();
-                int width = Integer.parseInt(settingsManager.getSetting("width").getValue());
-                int height = Integer.parseInt(settingsManager.getSetting("height").getValue());
+                int width = settingsManager.getIntSetting("width");
+                int height = settingsManager.getIntSetting("height");
                 Rectangle2D appBounds = foregroundAppInterceptor.getForegroundAppBounds();
-                List<Shortcut> shortcutList = shortcutManager.getShortcutsForApp(appName);
-                setShortcuts(shortcutList);
-                String appDescription = shortcutManager.getAppDescription(appName);
-                setHeader(appName, appDescription);
+                CompletableFuture<PopupViewModel> viewModelFuture = shortcutManager.getPopupViewModel(appName);
+                boolean cached = viewModelFuture.isDone();
+                showPopupViewModel(appName, viewModelFuture);
                 Platform.runLater(() -> {
                     stage.show();
                     stage.toFront();
                     stage.setX(appBounds.getMinX() + (appBounds.getWidth() - width) / 2);
                     stage.setY(appBounds.getMinY() + (appBounds.getHeight() - height) / 2);
+                    long elapsed = System.nanoTime() - holdTime;
+                    popupShowLatency.record(elapsed);
+                    long reused = entryCellPool.getReusedCount() - reusedBefore;
+                    long created = entryCellPool.getCreatedCount() - createdBefore;
+                    log.debug("Popup shown in {} ms, entry cells: {} reused, {} created", elapsed / 1_000_000, reused, created);
+                    showEvent.end();
+                    if (showEvent.shouldCommit()) {
+                        showEvent.correlationId = sessionId;
+                        showEvent.appName = appName;
+                        showEvent.cached = cached;
+                        showEvent.cellsReused = reused;
+                        showEvent.cellsCreated = created;
+                        showEvent.commit();
+                    }
                     PauseTransition focusDelay = new PauseTransition(Duration.millis(100));
                     focusDelay.setOnFinished(evt -> {
                         stage.requestFocus();
@@ -336,6 +402,7 @@ public class ShortcutController implements IKeyObserver {
             if(stage.isShowing() && !blockView){
                 Platform.runLater(() -> {
                     stage.hide();
+                    searchSession.close();
                     searchBox.clear();
                     // Reset both grid navigators
                     if (gridNavigator != null) {
@@ -355,6 +422,7 @@ public class ShortcutController implements IKeyObserver {
         updateNumberLabelsVisibility();
         Platform.runLater(() -> {
             exitSearchModeLabel.setVisible(false);
+            searchSession.close();
             searchBox.clear();
             // Reset both grid navigators
             if (gridNavigator != null) {
@@ -425,18 +493,54 @@ public class ShortcutController implements IKeyObserver {
         boolean supportedApp = !StringUtils.isEmpty(appDescription);
         appNameLabel.setText(supportedApp ? appDescription : appName);
         String appImageName = supportedApp ? appName : "openjdk";
-        String imagePath = settingsManager.getAppImagePath(appImageName);
-        File imageFile = new File(imagePath);
-        if(!imageFile.exists()){
+        Image appIcon = appIconCache.getIcon(appImageName);
+        if(appIcon == null){
             appIconImageView.setVisible(false);
             return;
         }
-        Image appIcon = new Image(imageFile.toURI().toString());
+        appIconImageView.setVisible(true);
         appIconImageView.setImage(appIcon);
     }
-    private void setShortcuts(List<Shortcut> shortcuts) {
+    /**
+     * Shows the shortcuts of an application. When the application is not cached yet the popup opens
+     * with a loading message and is filled in on the FX thread once the load completes, unless another
+     * application has been shown in the meantime.
+     */
+    private void showPopupViewModel(String appName, CompletableFuture<PopupViewModel> viewModelFuture) {
+        pendingViewModel = null;
+        currentAppName = appName;
+        if (viewModelFuture.isDone() && !viewModelFuture.isCompletedExceptionally()) {
+            PopupViewModel viewModel = viewModelFuture.join();
+            setShortcuts(viewModel);
+            setHeader(appName, viewModel.appDescription());
+            return;
+        }
+        searchSession.close();
+        starredShortcutsGrid.setVisible(false);
+        messageLabel.setText(bundle.getString(it.arturoiafrate.shortcutbuddy.model.constant.Label.INFO_LOADING_SHORTCUTS));
+        messageLabel.setVisible(true);
+        setHeader(appName, null);
+        pendingViewModel = viewModelFuture;
+        viewModelFuture.whenComplete((viewModel, e) -> Platform.runLater(() -> {
+            if (pendingViewModel != viewModelFuture) {
+                return;
+            }
+            pendingViewModel = null;
+            if (e != null) {
+                log.error("Cannot load the shortcuts of '{}'", appName, e);
+            }
+            PopupViewModel loaded = (e != null) ? PopupViewModel.empty(appName) : viewModel;
+            if (stage.isShowing()) {
+                setShortcuts(loaded);
+                setHeader(appName, loaded.appDescription());
+            }
+        }));
+    }
+
+    private void setShortcuts(PopupViewModel viewModel) {
+        searchSession.close();
         messageLabel.setVisible(false);
-        if (shortcuts == null || shortcuts.isEmpty()) {
+        if (viewModel.shortcuts().isEmpty()) {
             messageLabel.setText(bundle.getString(it.arturoiafrate.shortcutbuddy.model.constant.Label.WARNING_NO_SHORTCUT));
             messageLabel.setVisible(true);
             return;
@@ -449,39 +553,33 @@ public class ShortcutController implements IKeyObserver {
             VBox.setMargin(starredShortcutsGrid, new Insets(0, 0, 15, 0));
         }
 
-        updateShortcutsGrid(shortcuts);
+        descriptionHighlights.clear();
+        updateShortcutsGrid(viewModel.shortcuts(), viewModel.starred(), viewModel.remaining(), viewModel.columns());
 
         searchBox.getParent().requestFocus();
 
-        searchBox.textProperty().addListener((observable, oldValue, newValue) -> updateFilteredShortcuts(shortcuts, newValue));
+        searchSession.open(viewModel.searchEngine());
     }
 
     private void updateShortcutsGrid(List<Shortcut> shortcuts) {
-        // Clear the number labels map when the grid is updated
-        starredShortcutNumberLabels.clear();
-
-        shortcutsGrid.getChildren().clear();
-        shortcutsGrid.getColumnConstraints().clear();
-        starredShortcutsGrid.getChildren().clear();
-        starredShortcutsGrid.getColumnConstraints().clear();
-
         if (shortcuts == null) {
             shortcuts = List.of();
         }
+        List<Shortcut> starredShortcuts = new ArrayList<>(PopupViewModel.MAX_STARRED);
+        List<Shortcut> nonStarredShortcuts = new ArrayList<>(shortcuts.size());
+        PopupViewModel.split(shortcuts, starredShortcuts, nonStarredShortcuts);
+        updateShortcutsGrid(shortcuts, starredShortcuts, nonStarredShortcuts, PopupViewModel.columnsFor(nonStarredShortcuts.size()));
+    }
 
-        List<Shortcut> starredShortcuts = shortcuts.stream()
-                .filter(Shortcut::isStarred)
-                .limit(5)
-                .toList();
-
-        List<Shortcut> nonStarredShortcuts = shortcuts.stream()
-                .filter(s -> !starredShortcuts.contains(s))
-                .toList();
+    private void updateShortcutsGrid(List<Shortcut> shortcuts, List<Shortcut> starredShortcuts, List<Shortcut> nonStarredShortcuts, int numColumns) {
+        // Clear the number labels map when the grid is updated
+        releaseStarredCells();
+        starredShortcutNumberLabels.clear();
 
         starredShortcutsGrid.setVisible(!starredShortcuts.isEmpty());
 
         if (!starredShortcuts.isEmpty()) {
-            int starredColumns = Math.min(starredShortcuts.size(), 5);
+            int starredColumns = Math.min(starredShortcuts.size(), PopupViewModel.MAX_STARRED);
             double starredPercentWidth = 100.0 / starredColumns;
 
             for (int i = 0; i < starredColumns; i++) {
@@ -491,50 +589,19 @@ public class ShortcutController implements IKeyObserver {
             }
 
             for (int i = 0; i < starredShortcuts.size(); i++) {
-                Node shortcutEntryNode = createShortcutEntryNode(starredShortcuts.get(i), true, i);
-                ((StackPane) shortcutEntryNode).setPrefWidth(120);
-                ((StackPane) shortcutEntryNode).setPrefHeight(100);
-                ((StackPane) shortcutEntryNode).setPickOnBounds(false);
-                starredShortcutsGrid.add(shortcutEntryNode, i, 0);
+                starredShortcutsGrid.add(acquireEntryCell(ShortcutEntryCell.Layout.STARRED, starredShortcuts.get(i), i), i, 0);
             }
         }
 
         // Configure non-starred shortcuts grid
         int itemCount = nonStarredShortcuts.size();
-        int numColumns = (itemCount <= 20) ? 2 : 3;
-
-        if (itemCount > 0) {
-            double percentWidth = 100.0 / numColumns;
-            for (int i = 0; i < numColumns; i++) {
-                ColumnConstraints colConst = new ColumnConstraints();
-                colConst.setPercentWidth(percentWidth);
-                shortcutsGrid.getColumnConstraints().add(colConst);
-            }
-        } else {
-            ColumnConstraints colConst = new ColumnConstraints();
-            colConst.setPercentWidth(100.0);
-            shortcutsGrid.getColumnConstraints().add(colConst);
-        }
-
-        if (scrollPane != null) {
-            double gridTopPadding = shortcutsGrid.getPadding().getTop();
-            double gridBottomPadding = shortcutsGrid.getPadding().getBottom();
-            double totalVGap = (VISIBLE_ROWS > 1) ? (VISIBLE_ROWS - 1) * shortcutsGrid.getVgap() : 0;
-            double calculatedPrefHeight = (VISIBLE_ROWS * ESTIMATED_ROW_HEIGHT) + totalVGap + gridTopPadding + gridBottomPadding;
 
-            scrollPane.setPrefViewportHeight(calculatedPrefHeight);
-            scrollPane.setFitToWidth(true);
-        }
-
-        // Add non-starred shortcuts to the grid
-        for (int i = 0; i < itemCount; i++) {
-            Node shortcutEntryNode = createShortcutEntryNode(nonStarredShortcuts.get(i), numColumns == 3, -1);
-            shortcutsGrid.add(shortcutEntryNode, i % numColumns, i / numColumns);
-        }
-
-        if(shortcutsGrid.getChildren().isEmpty()){
-            shortcutsGrid.add(createEmptyShortcutEntryNode(), 0, 0);
+        // Only the rows in the viewport are materialized, their entry cells come from the pool
+        if (emptyShortcutEntryNode == null) {
+            emptyShortcutEntryNode = createEmptyShortcutEntryNode();
         }
+        shortcutsGrid.setPlaceholder(emptyShortcutEntryNode);
+        shortcutsGrid.setShortcuts(nonStarredShortcuts, numColumns);
 
         // Update both GridNavigators with their respective grid data
         if (gridNavigator != null) {
@@ -544,7 +611,7 @@ public class ShortcutController implements IKeyObserver {
 
         if (starredGridNavigator != null && !starredShortcuts.isEmpty()) {
             // Update starred grid navigator
-            int starredColumns = Math.min(starredShortcuts.size(), 5);
+            int starredColumns = Math.min(starredShortcuts.size(), PopupViewModel.MAX_STARRED);
             Platform.runLater(() -> starredGridNavigator.setGridData(starredShortcuts.size(), starredColumns));
         }
 
@@ -558,11 +625,6 @@ public class ShortcutController implements IKeyObserver {
          updateNumberLabelsVisibility();
     }
 
-    private String formatKeyName(String rawKey) {
-        if (StringUtils.isEmpty(rawKey)) return "";
-        return StringUtils.capitalize(rawKey.toLowerCase());
-    }
-
     private Node createEmptyShortcutEntryNode() {
         Label emptyLabel = new Label(bundle.getString(it.arturoiafrate.shortcutbuddy.model.constant.Label.WARNING_NO_RESULTS));
         emptyLabel.getStyleClass().addAll(Styles.TEXT, Styles.TEXT_ITALIC, Styles.WARNING, Styles.TEXT_CAPTION);
@@ -579,142 +641,102 @@ public class ShortcutController implements IKeyObserver {
         return finalContainer;
     }
 
-    private Node createShortcutEntryNode(Shortcut shortcut, boolean useSmallerText, int starredDisplayIndex) {
-        Label descriptionLabel = new Label(shortcut.getDescription());
-        descriptionLabel.getStyleClass().addAll(Styles.TEXT, Styles.TEXT_MUTED);
-        descriptionLabel.setWrapText(true);
-        descriptionLabel.setMaxWidth(Double.MAX_VALUE);
-        descriptionLabel.setTextAlignment(TextAlignment.CENTER);
-        descriptionLabel.setAlignment(Pos.CENTER);
-
-        // Apply appropriate text size based on useSmallerText parameter
-        if (useSmallerText) {
-            // For starred shortcuts, use smaller text that adapts better to limited space
-            descriptionLabel.getStyleClass().add(Styles.TEXT_SMALL);
-        } else {
-            // For regular shortcuts, use larger text
-            descriptionLabel.getStyleClass().add(Styles.TITLE_4);
-        }
-
-        Node shortcutRepresentationNode;
-        HBox keysContainer = new HBox();
-        keysContainer.setSpacing(4);
-        keysContainer.setAlignment(Pos.CENTER);
-
-        for (String key : shortcut.getKeys()) {
-            Label keyLabel = new Label(formatKeyName(key));
-            keyLabel.setStyle(InlineCSS.SHORTCUT_BORDER);
-            keyLabel.getStyleClass().addAll(Styles.TEXT_BOLD, Styles.ACCENT);
-            keysContainer.getChildren().add(keyLabel);
+    /**
+     * Takes an entry cell of the given layout from the pool and binds it to a shortcut.
+     *
+     * @param layout The layout of the cell
+     * @param shortcut The shortcut to show
+     * @param starredDisplayIndex The position in the starred row, or -1 for the main grid
+     * @return The bound cell
+     */
+    private ShortcutEntryCell acquireEntryCell(ShortcutEntryCell.Layout layout, Shortcut shortcut, int starredDisplayIndex) {
+        ShortcutEntryCell cell = entryCellPool.acquire(layout);
+        cell.bind(shortcut, starredDisplayIndex, descriptionHighlights.get(shortcut.getId()));
+        Label numberLabel = cell.getNumberLabel();
+        if (numberLabel != null) {
+            starredShortcutNumberLabels.put(shortcut.getId(), numberLabel);
         }
-        shortcutRepresentationNode = keysContainer;
-
-        VBox contentVBox = new VBox(shortcutRepresentationNode, descriptionLabel);
-        contentVBox.setAlignment(Pos.CENTER);
+        return cell;
+    }
 
-        Label categoryLabel = null;
-        Label numberLabel = null;
-        if (!StringUtils.isEmpty(shortcut.getCategory())) {
-            categoryLabel = new Label(shortcut.getCategory().toLowerCase());
-            categoryLabel.getStyleClass().addAll(Styles.TEXT_SMALL, Styles.TEXT_ITALIC);
-            VBox.setMargin(categoryLabel, new Insets(0, 0, 3, 0));
+    private void releaseEntryCell(ShortcutEntryCell cell) {
+        Shortcut shortcut = cell.getShortcut();
+        if (shortcut != null && cell.getNumberLabel() != null) {
+            starredShortcutNumberLabels.remove(shortcut.getId(), cell.getNumberLabel());
         }
+        cell.unbind();
+        entryCellPool.release(cell.getLayout(), cell);
+    }
 
-        if (shortcut.isStarred() && starredDisplayIndex >= 0) {
-            numberLabel = new Label("[" + (starredDisplayIndex + 1) + "]");
-            numberLabel.getStyleClass().addAll(Styles.TEXT_SMALL, Styles.ACCENT);
-            numberLabel.setStyle(InlineCSS.STARRED_SHORTCUT_LABEL);
-            numberLabel.setVisible(true);
-            numberLabel.setMouseTransparent(true);
-            starredShortcutNumberLabels.put(shortcut.getId(), numberLabel);
+    private void releaseStarredCells() {
+        List<Node> children = starredShortcutsGrid.getChildren();
+        for (int i = children.size() - 1; i >= 0; i--) {
+            if (children.remove(i) instanceof ShortcutEntryCell cell) {
+                releaseEntryCell(cell);
+            }
         }
+        starredShortcutsGrid.getColumnConstraints().clear();
+    }
 
-        // Create star icon for favorites
-        Label starIcon = new Label(shortcut.isStarred() ? "★" : "☆");
-        starIcon.getStyleClass().addAll(Styles.TEXT_BOLD);
-        starIcon.setStyle(InlineCSS.STAR_SHORTCUT_ICON);
-        starIcon.setOnMouseClicked(event -> {
-            boolean newStarredStatus = !shortcut.isStarred();
+    private void toggleStarred(Shortcut shortcut) {
+        boolean newStarredStatus = !shortcut.isStarred();
 
-            if (newStarredStatus) {
-                long starredCount = currentDisplayedShortcuts.stream()
-                        .filter(Shortcut::isStarred)
-                        .count();
+        if (newStarredStatus) {
+            long starredCount = currentDisplayedShortcuts.stream()
+                    .filter(Shortcut::isStarred)
+                    .count();
 
-                if (starredCount >= 5) {
-                    return;
-                }
+            if (starredCount >= 5) {
+                return;
             }
-
-            shortcut.setStarred(newStarredStatus);
-            starIcon.setText(newStarredStatus ? "★" : "☆");
-            shortcutManager.updateShortcutStarred(shortcut.getId(), newStarredStatus);
-
-            updateShortcutsGrid(currentDisplayedShortcuts);
-        });
-
-        StackPane starContainer = new StackPane(starIcon);
-        starContainer.setAlignment(Pos.TOP_RIGHT);
-        StackPane.setMargin(starIcon, new Insets(2, 5, 0, 0));
-
-        starIcon.setMouseTransparent(false);
-        starIcon.toFront();
-
-        StackPane numberContainer = null;
-        if (numberLabel != null) {
-            numberContainer = new StackPane(numberLabel);
-            numberContainer.setAlignment(Pos.TOP_LEFT);
-            StackPane.setMargin(numberLabel, new Insets(2, 0, 0, 5));
-            // Ensure number container doesn't block mouse events for elements below it
-            numberContainer.setMouseTransparent(true);
         }
 
-        StackPane contentWithStar = new StackPane();
-
-        VBox finalContainer = new VBox();
-        finalContainer.setSpacing(2);
-        finalContainer.setAlignment(Pos.CENTER);
+        // The shortcut belongs to the cached application: the popup is rendered again from the patched copy
+        String appName = currentAppName;
+        shortcutManager.updateShortcutStarred(shortcut.getId(), newStarredStatus)
+                .thenAccept(updated -> {
+                    if (updated) {
+                        Platform.runLater(() -> refreshShortcuts(appName));
+                    }
+                });
+    }
 
-        if (categoryLabel != null) {
-            finalContainer.getChildren().add(categoryLabel);
+    /**
+     * Renders again the shortcuts of the application shown, from its current view model, keeping the filter.
+     */
+    private void refreshShortcuts(String appName) {
+        if (!stage.isShowing() || pendingViewModel != null || appName == null || !appName.equals(currentAppName)) {
+            return;
         }
-        finalContainer.getChildren().add(contentVBox);
-
-        // Add the content, star, and number label to the overlay container
-        contentWithStar.getChildren().add(finalContainer);
-        contentWithStar.getChildren().add(starContainer);
-        // Ensure star container is on top and clickable
-        starContainer.setMouseTransparent(false);
-        starContainer.toFront();
-        if (numberContainer != null) {
-            contentWithStar.getChildren().add(numberContainer);
-            starContainer.toFront();
+        PopupViewModel viewModel = shortcutManager.peekPopupViewModel(appName);
+        if (viewModel == null) {
+            return;
+        }
+        searchSession.open(viewModel.searchEngine());
+        String filter = searchBox.getText();
+        if (StringUtils.isBlank(filter)) {
+            descriptionHighlights.clear();
+            updateShortcutsGrid(viewModel.shortcuts(), viewModel.starred(), viewModel.remaining(), viewModel.columns());
+        } else {
+            updateFilteredShortcuts(viewModel.searchEngine(), filter);
         }
-
-        contentWithStar.setStyle(InlineCSS.SHORTCUT_CONTAINER_BORDER);
-        contentWithStar.setMaxWidth(Double.MAX_VALUE);
-        GridPane.setFillWidth(contentWithStar, true);
-
-        // Ensure proper event handling for the entire container
-        contentWithStar.setPickOnBounds(true);
-
-        return contentWithStar;
     }
 
-    private void updateFilteredShortcuts(List<Shortcut> shortcuts, String filter) {
-        List<Shortcut> filteredShortcuts = shortcuts.stream()
-                .filter(shortcut -> shortcut.getDescription().toLowerCase().contains(filter.toLowerCase()))
-                .collect(Collectors.toList());
-        filteredShortcuts.addAll(shortcuts.stream()
-                .filter(shortcut -> !StringUtils.isEmpty(shortcut.getCategory()) && shortcut.getCategory().toLowerCase().contains(filter.toLowerCase()) && !filteredShortcuts.contains(shortcut))
-                .toList()
-        );
+    private void updateFilteredShortcuts(ShortcutSearchEngine searchEngine, String filter) {
+        List<ShortcutSearchEngine.Match> matches = searchEngine.search(filter);
+        List<Shortcut> filteredShortcuts = new ArrayList<>(matches.size());
+        descriptionHighlights.clear();
+        for (ShortcutSearchEngine.Match match : matches) {
+            filteredShortcuts.add(match.shortcut());
+            if (match.descriptionHighlights().length > 0) {
+                descriptionHighlights.put(match.shortcut().getId(), match.descriptionHighlights());
+            }
+        }
         updateShortcutsGrid(filteredShortcuts);
 
         if(filteredShortcuts.isEmpty()){
             // Hide starred shortcuts grid when no results
             starredShortcutsGrid.setVisible(false);
-            shortcutsGrid.add(createEmptyShortcutEntryNode(), 0, 0);
         }
 
         // Reset navigation state when filtering
@@ -9,6 +9,7 @@ import it.arturoiafrate.shortcutbuddy.model.bean.AppShortcuts;
 import it.arturoiafrate.shortcutbuddy.model.manager.settings.SettingsManager;
 import it.arturoiafrate.shortcutbuddy.model.manager.shortcut.ShortcutManager;
 import jakarta.inject.Inject;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -71,11 +72,12 @@ public class ShortcutEditorController {
         var newApp = new NewAppDialog(resources, appComponent.getForegroundAppInterceptor(), appComponent.getKeyListener()).showAndWait();//TODO usare la DI
         getStage().setOpacity(1);
         newApp.ifPresent(app -> {
-            boolean saved = shortcutManager.addAppShortcuts(app);
-            if(saved && !StringUtils.isEmpty(app.getAppIconPath())){
-                shortcutManager.copyAppImage(app.getAppIconPath(), app.getAppName());
-            }
-            loadAndDisplayApplications();
+            shortcutManager.addAppShortcuts(app).thenAccept(saved -> {
+                if(saved && !StringUtils.isEmpty(app.getAppIconPath())){
+                    shortcutManager.copyAppImage(app.getAppIconPath(), app.getAppName());
+                }
+                Platform.runLater(this::loadAndDisplayApplications);
+            });
         });
     }
 
@@ -14,22 +14,19 @@ import java.util.Optional;
 
 @Slf4j
 public class GridNavigator {
-    private final GridPane gridPane;
-    private final ScrollPane scrollPane;
-    private final String defaultStyleClass;
-    private final String selectedStyleClass;
+    private final SelectableGrid grid;
 
     private int currentRow;
     private int currentCol;
     private int itemCount;
     private int numColumns;
-    private Node selectedNode;
 
     public GridNavigator(GridPane gridPane, ScrollPane scrollPane, String defaultStyleClass, String selectedStyleClass) {
-        this.gridPane = Objects.requireNonNull(gridPane, "GridPane non può essere null");
-        this.scrollPane = Objects.requireNonNull(scrollPane, "ScrollPane non può essere null");
-        this.defaultStyleClass = Objects.requireNonNull(defaultStyleClass, "DefaultStyleClass non può essere null");
-        this.selectedStyleClass = Objects.requireNonNull(selectedStyleClass, "SelectedStyleClass non può essere null");
+        this(new GridPaneSelection(gridPane, scrollPane, defaultStyleClass, selectedStyleClass));
+    }
+
+    public GridNavigator(SelectableGrid grid) {
+        this.grid = Objects.requireNonNull(grid, "SelectableGrid non può essere null");
         resetSelection();
         this.itemCount = 0;
         this.numColumns = 1;
@@ -42,17 +39,10 @@ public class GridNavigator {
     }
 
     public void resetSelection() {
-        if (selectedNode != null) {
-            selectedNode.setStyle(defaultStyleClass);
-        }
+        grid.clearSelection();
         this.currentRow = -1;
         this.currentCol = -1;
-        selectedNode = null;
-        if (scrollPane != null) {
-            scrollPane.setVvalue(0);
-        }
     }
-
     public void navigate(int keyCode) {
         if (itemCount == 0) return;
         int newRow = currentRow;
@@ -116,68 +106,94 @@ public class GridNavigator {
     private void validateAndUpdateSelection(int newRow, int newCol) {
         if (newRow >= 0 && newCol >= 0 && newCol < numColumns) {
             int newIndex = newRow * numColumns + newCol;
-            if (newIndex >= 0 && newIndex < itemCount) {
-                updateSelection(newRow, newCol, true);
+            if (newIndex >= 0 && newIndex < itemCount && grid.select(newRow, newCol)) {
+                currentRow = newRow;
+                currentCol = newCol;
             }
         }
     }
 
-
-    private void ensureNodeVisible(Node node) {
-        if (scrollPane == null || node == null || gridPane == null) return;
-        Bounds nodeBoundsInGrid = node.getBoundsInParent();
-        Bounds gridBoundsInScroll = gridPane.getLayoutBounds();
-        double nodeY = nodeBoundsInGrid.getMinY();
-        double nodeHeight = nodeBoundsInGrid.getHeight();
-        double gridHeight = gridBoundsInScroll.getHeight();
-        double viewportHeight = scrollPane.getViewportBounds().getHeight();
-        double currentVvalue = scrollPane.getVvalue();
-        double maxScrollOffset = Math.max(0, gridHeight - viewportHeight);
-        double visibleTop = currentVvalue * maxScrollOffset;
-        double visibleBottom = visibleTop + viewportHeight;
-        double targetVvalue = currentVvalue;
-
-        if (nodeY < visibleTop) {
-            targetVvalue = nodeY / maxScrollOffset;
-        } else if (nodeY + nodeHeight > visibleBottom) {
-            targetVvalue = (nodeY + nodeHeight - viewportHeight) / maxScrollOffset;
-        }
-
-        if (gridHeight > viewportHeight && targetVvalue != currentVvalue) {
-            targetVvalue = Math.max(0, Math.min(1, targetVvalue));
-            scrollPane.setVvalue(targetVvalue);
+    /**
+     * Selection over a {@link GridPane} whose cells are all materialized, optionally inside a {@link ScrollPane}.
+     */
+    private static class GridPaneSelection implements SelectableGrid {
+        private final GridPane gridPane;
+        private final ScrollPane scrollPane;
+        private final String defaultStyleClass;
+        private final String selectedStyleClass;
+        private Node selectedNode;
+
+        private GridPaneSelection(GridPane gridPane, ScrollPane scrollPane, String defaultStyleClass, String selectedStyleClass) {
+            this.gridPane = Objects.requireNonNull(gridPane, "GridPane non può essere null");
+            this.scrollPane = scrollPane;
+            this.defaultStyleClass = Objects.requireNonNull(defaultStyleClass, "DefaultStyleClass non può essere null");
+            this.selectedStyleClass = Objects.requireNonNull(selectedStyleClass, "SelectedStyleClass non può essere null");
         }
-    }
 
-
-    private Node getNodeByRowColumn(int row, int col) {
-        for (Node node : gridPane.getChildren()) {
-            Integer rowIndex = GridPane.getRowIndex(node);
-            Integer colIndex = GridPane.getColumnIndex(node);
-            int r = (rowIndex == null) ? 0 : rowIndex;
-            int c = (colIndex == null) ? 0 : colIndex;
-            if (r == row && c == col) {
-                return node;
+        @Override
+        public boolean select(int row, int column) {
+            Node newNode = getNodeByRowColumn(row, column);
+            if (newNode == null) {
+                return false;
             }
-        }
-        return null;
-    }
-
-    private void updateSelection(int newRow, int newCol, boolean scroll) {
-        Node newNode = getNodeByRowColumn(newRow, newCol);
-        if (newNode != null) {
             if (selectedNode != null) {
                 selectedNode.setStyle(defaultStyleClass);
             }
-            currentRow = newRow;
-            currentCol = newCol;
             selectedNode = newNode;
             selectedNode.setStyle(selectedStyleClass);
             selectedNode.requestFocus();
-            if (scroll) {
-                ensureNodeVisible(selectedNode);
+            ensureNodeVisible(selectedNode);
+            return true;
+        }
+
+        @Override
+        public void clearSelection() {
+            if (selectedNode != null) {
+                selectedNode.setStyle(defaultStyleClass);
+            }
+            selectedNode = null;
+            if (scrollPane != null) {
+                scrollPane.setVvalue(0);
             }
         }
-    }
 
+        private void ensureNodeVisible(Node node) {
+            if (scrollPane == null || node == null) return;
+            Bounds nodeBoundsInGrid = node.getBoundsInParent();
+            Bounds gridBoundsInScroll = gridPane.getLayoutBounds();
+            double nodeY = nodeBoundsInGrid.getMinY();
+            double nodeHeight = nodeBoundsInGrid.getHeight();
+            double gridHeight = gridBoundsInScroll.getHeight();
+            double viewportHeight = scrollPane.getViewportBounds().getHeight();
+            double currentVvalue = scrollPane.getVvalue();
+            double maxScrollOffset = Math.max(0, gridHeight - viewportHeight);
+            double visibleTop = currentVvalue * maxScrollOffset;
+            double visibleBottom = visibleTop + viewportHeight;
+            double targetVvalue = currentVvalue;
+
+            if (nodeY < visibleTop) {
+                targetVvalue = nodeY / maxScrollOffset;
+            } else if (nodeY + nodeHeight > visibleBottom) {
+                targetVvalue = (nodeY + nodeHeight - viewportHeight) / maxScrollOffset;
+            }
+
+            if (gridHeight > viewportHeight && targetVvalue != currentVvalue) {
+                targetVvalue = Math.max(0, Math.min(1, targetVvalue));
+                scrollPane.setVvalue(targetVvalue);
+            }
+        }
+
+        private Node getNodeByRowColumn(int row, int col) {
+            for (Node node : gridPane.getChildren()) {
+                Integer rowIndex = GridPane.getRowIndex(node);
+                Integer colIndex = GridPane.getColumnIndex(node);
+                int r = (rowIndex == null) ? 0 : rowIndex;
+                int c = (colIndex == null) ? 0 : colIndex;
+                if (r == row && c == col) {
+                    return node;
+                }
+            }
+            return null;
+        }
+    }
 }
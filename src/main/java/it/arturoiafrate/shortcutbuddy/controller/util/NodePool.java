@@ -0,0 +1,90 @@
+package it.arturoiafrate.shortcutbuddy.controller.util;
+
+import javafx.scene.Node;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A pool of scene-graph nodes keyed by their layout type. Released nodes are kept detached and handed out
+ * again to the next caller asking for the same layout, which is expected to rebind them to new data
+ * instead of building a new subtree. At most {@code maxIdlePerLayout} nodes are kept per layout.
+ * Must be used from the JavaFX application thread.
+ *
+ * @param <K> The layout type
+ * @param <T> The pooled node type
+ */
+@Slf4j
+public class NodePool<K extends Enum<K>, T extends Node> {
+    private final Map<K, ArrayDeque<T>> idleNodes;
+    private final Function<K, T> factory;
+    private final int maxIdlePerLayout;
+    // Written by the JavaFX application thread only, volatile so that metrics can read them from elsewhere
+    private volatile long created;
+    private volatile long reused;
+
+    /**
+     * @param layoutType The class of the layout type
+     * @param factory Creates a new node for the given layout when none is idle
+     * @param maxIdlePerLayout The maximum number of idle nodes kept per layout
+     */
+    public NodePool(Class<K> layoutType, Function<K, T> factory, int maxIdlePerLayout) {
+        this.idleNodes = new EnumMap<>(layoutType);
+        this.factory = factory;
+        this.maxIdlePerLayout = maxIdlePerLayout;
+    }
+
+    /**
+     * @param layout The layout of the node
+     * @return An idle node of the given layout, or a new one if none is idle
+     */
+    public T acquire(K layout) {
+        ArrayDeque<T> idle = idleNodes.get(layout);
+        T node = (idle != null) ? idle.pollLast() : null;
+        if (node != null) {
+            reused++;
+            return node;
+        }
+        created++;
+        return factory.apply(layout);
+    }
+
+    /**
+     * Gives a node back to the pool. The node must already be detached from its parent.
+     *
+     * @param layout The layout the node was acquired for
+     * @param node The node
+     */
+    public void release(K layout, T node) {
+        if (node == null || node.getParent() != null) {
+            log.warn("Cannot pool a null or still attached node of layout {}", layout);
+            return;
+        }
+        ArrayDeque<T> idle = idleNodes.computeIfAbsent(layout, key -> new ArrayDeque<>());
+        if (idle.size() < maxIdlePerLayout) {
+            idle.addLast(node);
+        }
+    }
+
+    public long getCreatedCount() {
+        return created;
+    }
+
+    public long getReusedCount() {
+        return reused;
+    }
+
+    /**
+     * @return The number of idle nodes currently held across all layouts
+     */
+    public int getIdleCount() {
+        int count = 0;
+        for (ArrayDeque<T> idle : idleNodes.values()) {
+            count += idle.size();
+        }
+        return count;
+    }
+}
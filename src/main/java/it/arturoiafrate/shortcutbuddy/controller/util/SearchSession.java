@@ -0,0 +1,155 @@
+package it.arturoiafrate.shortcutbuddy.controller.util;
+
+import it.arturoiafrate.shortcutbuddy.model.manager.shortcut.ShortcutSearchEngine;
+import it.arturoiafrate.shortcutbuddy.model.type.LatencyHistogram;
+import javafx.animation.PauseTransition;
+import javafx.scene.Scene;
+import javafx.scene.control.TextInputControl;
+import javafx.util.Duration;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.function.BiConsumer;
+
+/**
+ * Binds a search field to the shortcuts currently shown in the popup.
+ * The session registers a single listener on the query for its whole lifetime; each time the popup shows
+ * a new application it is {@link #open(ShortcutSearchEngine) opened} on that application's search engine,
+ * and {@link #close() closed} when the popup is hidden. Keystrokes are coalesced: only the latest query is
+ * rendered once typing pauses for the debounce delay, and a query still pending when the session is closed
+ * or reopened is dropped.
+ * With debug logging enabled, each rendered query logs the time until the next layout pulse completes and
+ * the bytes allocated by the application thread in the meantime.
+ * Must be used from the JavaFX application thread.
+ */
+@Slf4j
+public class SearchSession {
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    private final TextInputControl searchField;
+    private final PauseTransition debounce;
+    private final BiConsumer<ShortcutSearchEngine, String> renderer;
+    private ShortcutSearchEngine engine;
+    private String pendingQuery;
+    private long sessionKeystrokes;
+    private long sessionFilterRuns;
+    // Written by the JavaFX application thread only, volatile so that metrics can read them from elsewhere
+    private volatile long totalKeystrokes;
+    private volatile long totalFilterRuns;
+    private final LatencyHistogram filterLatency;
+
+    /**
+     * @param searchField The search field
+     * @param debounceDelay How long typing must pause before the query is rendered
+     * @param filterLatency Records how long each query takes to be searched and rendered
+     * @param renderer Runs the search and renders the results
+     */
+    public SearchSession(TextInputControl searchField, Duration debounceDelay, LatencyHistogram filterLatency,
+                         BiConsumer<ShortcutSearchEngine, String> renderer) {
+        this.searchField = searchField;
+        this.filterLatency = filterLatency;
+        this.renderer = renderer;
+        this.debounce = new PauseTransition(debounceDelay);
+        this.debounce.setOnFinished(event -> flush());
+        searchField.textProperty().addListener((observable, oldValue, newValue) -> onQueryChanged(newValue));
+    }
+
+    /**
+     * Starts searching the given engine, dropping any work pending for the previous one.
+     *
+     * @param engine The search engine of the application being shown
+     */
+    public void open(ShortcutSearchEngine engine) {
+        close();
+        this.engine = engine;
+    }
+
+    /**
+     * Stops the session: pending queries are dropped and further changes of the query are ignored until reopened.
+     */
+    public void close() {
+        debounce.stop();
+        pendingQuery = null;
+        if (engine != null && sessionKeystrokes > 0) {
+            log.debug("Search session closed: {} keystrokes, {} filter runs ({} per keystroke)",
+                    sessionKeystrokes, sessionFilterRuns, String.format("%.2f", (double) sessionFilterRuns / sessionKeystrokes));
+        }
+        engine = null;
+        sessionKeystrokes = 0;
+        sessionFilterRuns = 0;
+    }
+
+    /**
+     * @return The number of filter executions per keystroke since startup, never above 1 when keystrokes are coalesced
+     */
+    public double getFilterRunsPerKeystroke() {
+        return totalKeystrokes == 0 ? 0 : (double) totalFilterRuns / totalKeystrokes;
+    }
+
+    public long getTotalKeystrokes() {
+        return totalKeystrokes;
+    }
+
+    public long getTotalFilterRuns() {
+        return totalFilterRuns;
+    }
+
+    private void onQueryChanged(String query) {
+        if (engine == null) {
+            return;
+        }
+        sessionKeystrokes++;
+        totalKeystrokes++;
+        pendingQuery = query;
+        debounce.playFromStart();
+    }
+
+    private void flush() {
+        if (engine == null || pendingQuery == null) {
+            return;
+        }
+        String query = pendingQuery;
+        pendingQuery = null;
+        sessionFilterRuns++;
+        totalFilterRuns++;
+        if (sessionFilterRuns > sessionKeystrokes) {
+            log.warn("Search session ran {} filters for {} keystrokes", sessionFilterRuns, sessionKeystrokes);
+        }
+        long startTime = System.nanoTime();
+        if (!log.isDebugEnabled()) {
+            renderer.accept(engine, query);
+            filterLatency.record(System.nanoTime() - startTime);
+            return;
+        }
+        long startAllocatedBytes = allocatedBytes();
+        renderer.accept(engine, query);
+        filterLatency.record(System.nanoTime() - startTime);
+        probeFrame(query, startTime, startAllocatedBytes);
+    }
+
+    /**
+     * Logs the render cost of a query once the layout pulse that follows it has completed.
+     */
+    private void probeFrame(String query, long startTime, long startAllocatedBytes) {
+        Scene scene = searchField.getScene();
+        if (scene == null) {
+            return;
+        }
+        Runnable[] listener = new Runnable[1];
+        listener[0] = () -> {
+            scene.removePostLayoutPulseListener(listener[0]);
+            long allocatedBytes = allocatedBytes();
+            log.debug("Query '{}' rendered and laid out in {} us, {} KB allocated", query,
+                    (System.nanoTime() - startTime) / 1_000,
+                    startAllocatedBytes < 0 || allocatedBytes < 0 ? "n/a" : (allocatedBytes - startAllocatedBytes) / 1024);
+        };
+        scene.addPostLayoutPulseListener(listener[0]);
+    }
+
+    private static long allocatedBytes() {
+        if (THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean threadMXBean && threadMXBean.isThreadAllocatedMemoryEnabled()) {
+            return threadMXBean.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+}
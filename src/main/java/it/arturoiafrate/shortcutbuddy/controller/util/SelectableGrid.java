@@ -0,0 +1,21 @@
+package it.arturoiafrate.shortcutbuddy.controller.util;
+
+/**
+ * A grid of shortcut cells whose selection is driven by the {@link GridNavigator}.
+ */
+public interface SelectableGrid {
+
+    /**
+     * Highlights the cell at the given position and brings it into view.
+     *
+     * @param row The row of the cell
+     * @param column The column of the cell
+     * @return True if a cell exists at that position and is now selected, false otherwise
+     */
+    boolean select(int row, int column);
+
+    /**
+     * Removes the highlight from the selected cell, if any, and scrolls back to the top.
+     */
+    void clearSelection();
+}
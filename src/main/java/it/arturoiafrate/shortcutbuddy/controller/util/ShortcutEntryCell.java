@@ -0,0 +1,248 @@
+package it.arturoiafrate.shortcutbuddy.controller.util;
+
+import atlantafx.base.theme.Styles;
+import it.arturoiafrate.shortcutbuddy.controller.dialog.InlineCSS;
+import it.arturoiafrate.shortcutbuddy.model.bean.Shortcut;
+import javafx.collections.ObservableList;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextAlignment;
+import javafx.scene.text.TextFlow;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The node of a single shortcut in the popup: key caps, description, category, star toggle and,
+ * for starred shortcuts, the number used to trigger them. The subtree is built once per cell and
+ * {@link #bind(Shortcut, int, int[]) rebound} to another shortcut when the cell is reused, so that
+ * key caps and highlighted description segments are recycled as well.
+ */
+public class ShortcutEntryCell extends StackPane {
+    private static final String STARRED_ICON = "★";
+    private static final String NOT_STARRED_ICON = "☆";
+
+    /**
+     * The layout of a cell, each layout is pooled separately.
+     */
+    public enum Layout {
+        STARRED(true),
+        REGULAR(false),
+        COMPACT(true);
+
+        private final boolean smallText;
+
+        Layout(boolean smallText) {
+            this.smallText = smallText;
+        }
+    }
+
+    private final Layout layout;
+    private final String textSizeStyle;
+    private final Label categoryLabel = new Label();
+    private final HBox keysContainer = new HBox();
+    private final List<Label> keyLabels = new ArrayList<>();
+    private final Label descriptionLabel = new Label();
+    private final TextFlow highlightedDescription = new TextFlow();
+    private final List<Text> descriptionSegments = new ArrayList<>();
+    private final VBox contentVBox;
+    private final Label numberLabel = new Label();
+    private final StackPane numberContainer;
+    private final Label starIcon = new Label();
+    private Shortcut shortcut;
+
+    /**
+     * @param layout The layout of the cell
+     * @param onStarClicked Called with the bound shortcut when its star is clicked
+     */
+    public ShortcutEntryCell(Layout layout, Consumer<Shortcut> onStarClicked) {
+        this.layout = layout;
+        this.textSizeStyle = layout.smallText ? Styles.TEXT_SMALL : Styles.TITLE_4;
+
+        descriptionLabel.getStyleClass().addAll(Styles.TEXT, Styles.TEXT_MUTED, textSizeStyle);
+        descriptionLabel.setWrapText(true);
+        descriptionLabel.setMaxWidth(Double.MAX_VALUE);
+        descriptionLabel.setTextAlignment(TextAlignment.CENTER);
+        descriptionLabel.setAlignment(Pos.CENTER);
+        highlightedDescription.setTextAlignment(TextAlignment.CENTER);
+        highlightedDescription.setMaxWidth(Double.MAX_VALUE);
+
+        keysContainer.setSpacing(4);
+        keysContainer.setAlignment(Pos.CENTER);
+        contentVBox = new VBox(keysContainer, descriptionLabel);
+        contentVBox.setAlignment(Pos.CENTER);
+
+        categoryLabel.getStyleClass().addAll(Styles.TEXT_SMALL, Styles.TEXT_ITALIC);
+        VBox.setMargin(categoryLabel, new Insets(0, 0, 3, 0));
+        VBox finalContainer = new VBox(categoryLabel, contentVBox);
+        finalContainer.setSpacing(2);
+        finalContainer.setAlignment(Pos.CENTER);
+
+        numberLabel.getStyleClass().addAll(Styles.TEXT_SMALL, Styles.ACCENT);
+        numberLabel.setStyle(InlineCSS.STARRED_SHORTCUT_LABEL);
+        numberLabel.setMouseTransparent(true);
+        numberContainer = new StackPane(numberLabel);
+        numberContainer.setAlignment(Pos.TOP_LEFT);
+        StackPane.setMargin(numberLabel, new Insets(2, 0, 0, 5));
+        numberContainer.setMouseTransparent(true);
+
+        starIcon.getStyleClass().addAll(Styles.TEXT_BOLD);
+        starIcon.setStyle(InlineCSS.STAR_SHORTCUT_ICON);
+        starIcon.setOnMouseClicked(event -> {
+            if (shortcut != null) {
+                onStarClicked.accept(shortcut);
+            }
+        });
+        StackPane starContainer = new StackPane(starIcon);
+        starContainer.setAlignment(Pos.TOP_RIGHT);
+        StackPane.setMargin(starIcon, new Insets(2, 5, 0, 0));
+
+        // The star container stays on top and clickable
+        getChildren().addAll(finalContainer, numberContainer, starContainer);
+        setMaxWidth(Double.MAX_VALUE);
+        GridPane.setFillWidth(this, true);
+        if (layout == Layout.STARRED) {
+            setPrefWidth(120);
+            setPrefHeight(100);
+            setPickOnBounds(false);
+        } else {
+            setPickOnBounds(true);
+        }
+    }
+
+    public Layout getLayout() {
+        return layout;
+    }
+
+    public Shortcut getShortcut() {
+        return shortcut;
+    }
+
+    /**
+     * @return The number label of a starred shortcut, or null if the bound shortcut shows no number
+     */
+    public Label getNumberLabel() {
+        return numberContainer.isVisible() ? numberLabel : null;
+    }
+
+    /**
+     * Shows the given shortcut in this cell, reusing the existing nodes.
+     *
+     * @param shortcut The shortcut to show
+     * @param starredDisplayIndex The position of a starred shortcut in the starred row, or -1 to show no number
+     * @param highlights The positions of the description characters matched by the search, or null
+     */
+    public void bind(Shortcut shortcut, int starredDisplayIndex, int[] highlights) {
+        this.shortcut = shortcut;
+        setStyle(InlineCSS.SHORTCUT_CONTAINER_BORDER);
+        bindKeys(shortcut.getKeys());
+        bindDescription(shortcut.getDescription(), highlights);
+
+        boolean hasCategory = !StringUtils.isEmpty(shortcut.getCategory());
+        categoryLabel.setText(hasCategory ? shortcut.getCategory().toLowerCase() : null);
+        categoryLabel.setVisible(hasCategory);
+        categoryLabel.setManaged(hasCategory);
+
+        boolean showNumber = shortcut.isStarred() && starredDisplayIndex >= 0;
+        numberLabel.setText(showNumber ? "[" + (starredDisplayIndex + 1) + "]" : null);
+        numberLabel.setVisible(showNumber);
+        numberContainer.setVisible(showNumber);
+
+        starIcon.setText(shortcut.isStarred() ? STARRED_ICON : NOT_STARRED_ICON);
+    }
+
+    /**
+     * Drops the reference to the bound shortcut before the cell goes back to the pool.
+     */
+    public void unbind() {
+        this.shortcut = null;
+    }
+
+    private void bindKeys(List<String> keys) {
+        ObservableList<Node> children = keysContainer.getChildren();
+        int count = keys != null ? keys.size() : 0;
+        for (int i = 0; i < count; i++) {
+            if (i == keyLabels.size()) {
+                Label keyLabel = new Label();
+                keyLabel.setStyle(InlineCSS.SHORTCUT_BORDER);
+                keyLabel.getStyleClass().addAll(Styles.TEXT_BOLD, Styles.ACCENT);
+                keyLabels.add(keyLabel);
+            }
+            keyLabels.get(i).setText(formatKeyName(keys.get(i)));
+            if (i == children.size()) {
+                children.add(keyLabels.get(i));
+            }
+        }
+        if (children.size() > count) {
+            children.remove(count, children.size());
+        }
+    }
+
+    private void bindDescription(String description, int[] highlights) {
+        Node descriptionNode = descriptionLabel;
+        if (highlights != null && highlights.length > 0 && description != null) {
+            bindHighlightedDescription(description, highlights);
+            descriptionNode = highlightedDescription;
+        } else {
+            descriptionLabel.setText(description);
+        }
+        if (contentVBox.getChildren().get(1) != descriptionNode) {
+            contentVBox.getChildren().set(1, descriptionNode);
+        }
+    }
+
+    /**
+     * Splits the description into plain and highlighted segments, the matched characters in bold.
+     */
+    private void bindHighlightedDescription(String description, int[] highlights) {
+        int count = 0;
+        int start = 0;
+        int h = 0;
+        while (start < description.length()) {
+            boolean highlighted = h < highlights.length && highlights[h] == start;
+            int end = start + 1;
+            if (highlighted) {
+                h++;
+                while (h < highlights.length && highlights[h] == end) {
+                    h++;
+                    end++;
+                }
+            } else {
+                int nextHighlight = h < highlights.length ? highlights[h] : description.length();
+                end = Math.min(Math.max(nextHighlight, end), description.length());
+            }
+            if (count == descriptionSegments.size()) {
+                descriptionSegments.add(new Text());
+            }
+            Text segment = descriptionSegments.get(count++);
+            segment.setText(description.substring(start, end));
+            if (highlighted) {
+                segment.getStyleClass().setAll(Styles.TEXT, textSizeStyle, Styles.ACCENT, Styles.TEXT_BOLD);
+            } else {
+                segment.getStyleClass().setAll(Styles.TEXT, textSizeStyle, Styles.TEXT_MUTED);
+            }
+            start = end;
+        }
+        ObservableList<Node> children = highlightedDescription.getChildren();
+        if (children.size() > count) {
+            children.remove(count, children.size());
+        }
+        for (int i = children.size(); i < count; i++) {
+            children.add(descriptionSegments.get(i));
+        }
+    }
+
+    private static String formatKeyName(String rawKey) {
+        if (StringUtils.isEmpty(rawKey)) return "";
+        return StringUtils.capitalize(rawKey.toLowerCase());
+    }
+}
@@ -0,0 +1,202 @@
+package it.arturoiafrate.shortcutbuddy.controller.util;
+
+import atlantafx.base.theme.Tweaks;
+import it.arturoiafrate.shortcutbuddy.model.bean.Shortcut;
+import javafx.collections.ObservableList;
+import javafx.scene.Node;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.skin.VirtualFlow;
+import javafx.scene.layout.ColumnConstraints;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.Region;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * A grid of shortcuts backed by a {@link ListView} whose items are the rows of the grid.
+ * Only the rows inside the viewport are materialized: the list recycles its row cells while scrolling,
+ * and each cell acquires the entry nodes of the row it is currently showing, releasing them when it
+ * moves to another row. Replacing the shortcuts therefore costs a few rows of nodes, regardless of how
+ * many shortcuts match.
+ * Must be used from the JavaFX application thread.
+ */
+public class VirtualShortcutGrid implements SelectableGrid {
+    private static final String BASE_STYLE_KEY = VirtualShortcutGrid.class.getName() + ".baseStyle";
+
+    private final ListView<List<Shortcut>> listView;
+    private final EntryProvider entryProvider;
+    private final String selectedStyle;
+    private final double hgap;
+    private final double vgap;
+    private final Set<RowCell> rowCells = Collections.newSetFromMap(new WeakHashMap<>());
+    private List<Shortcut> shortcuts = List.of();
+    private int columns = 1;
+    private int selectedIndex = -1;
+
+    /**
+     * Supplies the nodes of the grid entries.
+     */
+    public interface EntryProvider {
+        /**
+         * @param shortcut The shortcut to show
+         * @param compact True when the grid has more than two columns and entries should use smaller text
+         * @return The entry node, bound to the shortcut
+         */
+        Node acquire(Shortcut shortcut, boolean compact);
+
+        /**
+         * @param entry An entry node no longer shown by the grid, already detached
+         */
+        void release(Node entry);
+    }
+
+    /**
+     * @param listView The list view hosting the rows
+     * @param hgap The horizontal gap between entries
+     * @param vgap The vertical gap between rows
+     * @param selectedStyle The inline style applied to the selected entry
+     * @param entryProvider Supplies the entry nodes of the visible rows
+     */
+    public VirtualShortcutGrid(ListView<List<Shortcut>> listView, double hgap, double vgap, String selectedStyle, EntryProvider entryProvider) {
+        this.listView = Objects.requireNonNull(listView, "ListView non può essere null");
+        this.entryProvider = Objects.requireNonNull(entryProvider, "EntryProvider non può essere null");
+        this.selectedStyle = Objects.requireNonNull(selectedStyle, "SelectedStyle non può essere null");
+        this.hgap = hgap;
+        this.vgap = vgap;
+        this.listView.setFocusTraversable(false);
+        this.listView.getStyleClass().add(Tweaks.EDGE_TO_EDGE);
+        this.listView.setStyle("-fx-background-color: transparent;");
+        this.listView.setPlaceholder(new Region());
+        this.listView.setCellFactory(view -> new RowCell());
+    }
+
+    /**
+     * Replaces the shortcuts shown by the grid and scrolls back to the top.
+     *
+     * @param shortcuts The shortcuts, in display order
+     * @param columns The number of columns
+     */
+    public void setShortcuts(List<Shortcut> shortcuts, int columns) {
+        this.shortcuts = shortcuts;
+        this.columns = Math.max(1, columns);
+        this.selectedIndex = -1;
+        int rowCount = (shortcuts.size() + this.columns - 1) / this.columns;
+        List<List<Shortcut>> rows = new ArrayList<>(rowCount);
+        for (int row = 0; row < rowCount; row++) {
+            rows.add(shortcuts.subList(row * this.columns, Math.min(shortcuts.size(), (row + 1) * this.columns)));
+        }
+        listView.getItems().setAll(rows);
+        listView.scrollTo(0);
+    }
+
+    /**
+     * Empties the grid without showing any placeholder.
+     */
+    public void clear() {
+        listView.setPlaceholder(new Region());
+        setShortcuts(List.of(), 1);
+    }
+
+    /**
+     * @param placeholder The node shown while the grid is empty
+     */
+    public void setPlaceholder(Node placeholder) {
+        listView.setPlaceholder(placeholder);
+    }
+
+    @Override
+    public boolean select(int row, int column) {
+        int index = row * columns + column;
+        if (column < 0 || column >= columns || index < 0 || index >= shortcuts.size()) {
+            return false;
+        }
+        selectedIndex = index;
+        applySelection();
+        reveal(row);
+        return true;
+    }
+
+    @Override
+    public void clearSelection() {
+        selectedIndex = -1;
+        applySelection();
+        listView.scrollTo(0);
+    }
+
+    private void applySelection() {
+        for (RowCell cell : rowCells) {
+            cell.applySelection();
+        }
+    }
+
+    private void reveal(int row) {
+        // VirtualFlow scrolls by the minimum amount, ListView#scrollTo would move the row to the top
+        if (listView.lookup(".virtual-flow") instanceof VirtualFlow<?> flow) {
+            flow.scrollTo(row);
+        } else {
+            listView.scrollTo(row);
+        }
+    }
+
+    private class RowCell extends ListCell<List<Shortcut>> {
+        private final GridPane rowPane = new GridPane();
+        private int rowColumns = -1;
+
+        private RowCell() {
+            rowPane.setHgap(hgap);
+            rowPane.prefWidthProperty().bind(widthProperty());
+            setPrefWidth(0);
+            setText(null);
+            setStyle("-fx-background-color: transparent; -fx-padding: 0 0 " + vgap + " 0;");
+            rowCells.add(this);
+        }
+
+        @Override
+        protected void updateItem(List<Shortcut> row, boolean empty) {
+            super.updateItem(row, empty);
+            ObservableList<Node> entries = rowPane.getChildren();
+            for (int i = entries.size() - 1; i >= 0; i--) {
+                entryProvider.release(entries.remove(i));
+            }
+            if (empty || row == null) {
+                setGraphic(null);
+                return;
+            }
+            if (rowColumns != columns) {
+                rowColumns = columns;
+                rowPane.getColumnConstraints().clear();
+                for (int i = 0; i < columns; i++) {
+                    ColumnConstraints columnConstraints = new ColumnConstraints();
+                    columnConstraints.setPercentWidth(100.0 / columns);
+                    rowPane.getColumnConstraints().add(columnConstraints);
+                }
+            }
+            boolean compact = columns > 2;
+            for (int i = 0; i < row.size(); i++) {
+                Node entry = entryProvider.acquire(row.get(i), compact);
+                entry.getProperties().put(BASE_STYLE_KEY, entry.getStyle());
+                rowPane.add(entry, i, 0);
+            }
+            applySelection();
+            setGraphic(rowPane);
+        }
+
+        private void applySelection() {
+            if (isEmpty() || getIndex() < 0) {
+                return;
+            }
+            int firstIndex = getIndex() * columns;
+            for (Node entry : rowPane.getChildren()) {
+                Integer column = GridPane.getColumnIndex(entry);
+                boolean selected = firstIndex + (column == null ? 0 : column) == selectedIndex;
+                entry.setStyle(selected ? selectedStyle : (String) entry.getProperties().get(BASE_STYLE_KEY));
+            }
+        }
+    }
+}
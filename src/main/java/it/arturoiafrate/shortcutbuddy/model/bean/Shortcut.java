@@ -19,6 +19,17 @@ public class Shortcut {
     private boolean starred;
     private int usageCount;
 
+    public Shortcut(Shortcut other){
+        this.id = other.id;
+        this.appId = other.appId;
+        this.description = other.description;
+        this.keys = other.keys;
+        this.category = other.category;
+        this.defaultKeys = other.defaultKeys;
+        this.starred = other.starred;
+        this.usageCount = other.usageCount;
+    }
+
     public Shortcut(long id, long appId, String description, List<String> keys, String category){
         this.id = id;
         this.appId = appId;
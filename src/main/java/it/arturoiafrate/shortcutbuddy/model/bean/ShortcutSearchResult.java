@@ -0,0 +1,15 @@
+package it.arturoiafrate.shortcutbuddy.model.bean;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ShortcutSearchResult {
+    private String appName;
+    private String appDescription;
+    private Shortcut shortcut;
+    private double rank; // BM25 score, lower is better
+}
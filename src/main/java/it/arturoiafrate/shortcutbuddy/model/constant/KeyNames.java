@@ -0,0 +1,162 @@
+package it.arturoiafrate.shortcutbuddy.model.constant;
+
+import com.github.kwhat.jnativehook.keyboard.NativeKeyEvent;
+import it.arturoiafrate.shortcutbuddy.model.type.KeyNameTable;
+
+import java.awt.event.KeyEvent;
+
+/**
+ * The catalogue of the keys ShortcutBuddy can record and type. Each key is declared once with its native
+ * hook code, its AWT code and its names, so that the names recorded by the {@code KeyListener} are always
+ * the ones understood by the {@code KeyEmulator}. Keys only the emulator can type have no native code.
+ */
+public final class KeyNames {
+    private static final int NONE = -1;
+
+    /**
+     * Native hook key codes to key names.
+     */
+    public static final KeyNameTable NATIVE;
+
+    /**
+     * AWT virtual key codes to key names.
+     */
+    public static final KeyNameTable AWT;
+
+    private static final KeyNameTable.Builder nativeBuilder = KeyNameTable.builder();
+    private static final KeyNameTable.Builder awtBuilder = KeyNameTable.builder();
+
+    static {
+        key(NativeKeyEvent.VC_ESCAPE, KeyEvent.VK_ESCAPE, "Esc", "Escape");
+        key(NativeKeyEvent.VC_F1, KeyEvent.VK_F1, "F1");
+        key(NativeKeyEvent.VC_F2, KeyEvent.VK_F2, "F2");
+        key(NativeKeyEvent.VC_F3, KeyEvent.VK_F3, "F3");
+        key(NativeKeyEvent.VC_F4, KeyEvent.VK_F4, "F4");
+        key(NativeKeyEvent.VC_F5, KeyEvent.VK_F5, "F5");
+        key(NativeKeyEvent.VC_F6, KeyEvent.VK_F6, "F6");
+        key(NativeKeyEvent.VC_F7, KeyEvent.VK_F7, "F7");
+        key(NativeKeyEvent.VC_F8, KeyEvent.VK_F8, "F8");
+        key(NativeKeyEvent.VC_F9, KeyEvent.VK_F9, "F9");
+        key(NativeKeyEvent.VC_F10, KeyEvent.VK_F10, "F10");
+        key(NativeKeyEvent.VC_F11, KeyEvent.VK_F11, "F11");
+        key(NativeKeyEvent.VC_F12, KeyEvent.VK_F12, "F12");
+        key(NativeKeyEvent.VC_F13, KeyEvent.VK_F13, "F13");
+        key(NativeKeyEvent.VC_F14, KeyEvent.VK_F14, "F14");
+        key(NativeKeyEvent.VC_F15, KeyEvent.VK_F15, "F15");
+        key(NativeKeyEvent.VC_F16, KeyEvent.VK_F16, "F16");
+        key(NativeKeyEvent.VC_F17, KeyEvent.VK_F17, "F17");
+        key(NativeKeyEvent.VC_F18, KeyEvent.VK_F18, "F18");
+        key(NativeKeyEvent.VC_F19, KeyEvent.VK_F19, "F19");
+        key(NativeKeyEvent.VC_F20, KeyEvent.VK_F20, "F20");
+        key(NativeKeyEvent.VC_F21, KeyEvent.VK_F21, "F21");
+        key(NativeKeyEvent.VC_F22, KeyEvent.VK_F22, "F22");
+        key(NativeKeyEvent.VC_F23, KeyEvent.VK_F23, "F23");
+        key(NativeKeyEvent.VC_F24, KeyEvent.VK_F24, "F24");
+        key(NativeKeyEvent.VC_ENTER, KeyEvent.VK_ENTER, "Enter");
+        key(NativeKeyEvent.VC_SPACE, KeyEvent.VK_SPACE, "Space");
+        key(NativeKeyEvent.VC_TAB, KeyEvent.VK_TAB, "Tab");
+        key(NativeKeyEvent.VC_BACKSPACE, KeyEvent.VK_BACK_SPACE, "Backspace");
+        key(NativeKeyEvent.VC_UP, KeyEvent.VK_UP, "Up");
+        key(NativeKeyEvent.VC_DOWN, KeyEvent.VK_DOWN, "Down");
+        key(NativeKeyEvent.VC_LEFT, KeyEvent.VK_LEFT, "Left");
+        key(NativeKeyEvent.VC_RIGHT, KeyEvent.VK_RIGHT, "Right");
+        key(NativeKeyEvent.VC_DELETE, KeyEvent.VK_DELETE, "Del", "Delete");
+        key(NativeKeyEvent.VC_INSERT, KeyEvent.VK_INSERT, "Ins", "Insert");
+        key(NativeKeyEvent.VC_HOME, KeyEvent.VK_HOME, "Home");
+        key(NativeKeyEvent.VC_END, KeyEvent.VK_END, "End");
+        key(NativeKeyEvent.VC_PAGE_UP, KeyEvent.VK_PAGE_UP, "Page Up", "PageUp");
+        key(NativeKeyEvent.VC_PAGE_DOWN, KeyEvent.VK_PAGE_DOWN, "Page Down", "PageDown");
+        key(NativeKeyEvent.VC_CAPS_LOCK, KeyEvent.VK_CAPS_LOCK, "Caps Lock", "CapsLock");
+        key(NativeKeyEvent.VC_NUM_LOCK, KeyEvent.VK_NUM_LOCK, "Num Lock", "NumLock", "Num_Lock");
+        key(NativeKeyEvent.VC_SCROLL_LOCK, KeyEvent.VK_SCROLL_LOCK, "Scroll Lock", "ScrollLock");
+        key(NativeKeyEvent.VC_PRINTSCREEN, KeyEvent.VK_PRINTSCREEN, "Print Screen", "PrintScreen");
+        key(NativeKeyEvent.VC_CONTEXT_MENU, KeyEvent.VK_CONTEXT_MENU, "Context Menu", "ContextMenu");
+        key(NativeKeyEvent.VC_PAUSE, KeyEvent.VK_PAUSE, "Pause");
+        key(NativeKeyEvent.VC_SHIFT, KeyEvent.VK_SHIFT, "Shift");
+        key(NativeKeyEvent.VC_CONTROL, KeyEvent.VK_CONTROL, "Ctrl", "Control");
+        key(NativeKeyEvent.VC_ALT, KeyEvent.VK_ALT, "Alt");
+        key(NativeKeyEvent.VC_META, KeyEvent.VK_WINDOWS, "Win", "Windows");
+        key(NONE, KeyEvent.VK_ALT_GRAPH, "AltGr");
+        key(NONE, KeyEvent.VK_META, "Meta");
+
+        key(NativeKeyEvent.VC_A, KeyEvent.VK_A, "A");
+        key(NativeKeyEvent.VC_B, KeyEvent.VK_B, "B");
+        key(NativeKeyEvent.VC_C, KeyEvent.VK_C, "C");
+        key(NativeKeyEvent.VC_D, KeyEvent.VK_D, "D");
+        key(NativeKeyEvent.VC_E, KeyEvent.VK_E, "E");
+        key(NativeKeyEvent.VC_F, KeyEvent.VK_F, "F");
+        key(NativeKeyEvent.VC_G, KeyEvent.VK_G, "G");
+        key(NativeKeyEvent.VC_H, KeyEvent.VK_H, "H");
+        key(NativeKeyEvent.VC_I, KeyEvent.VK_I, "I");
+        key(NativeKeyEvent.VC_J, KeyEvent.VK_J, "J");
+        key(NativeKeyEvent.VC_K, KeyEvent.VK_K, "K");
+        key(NativeKeyEvent.VC_L, KeyEvent.VK_L, "L");
+        key(NativeKeyEvent.VC_M, KeyEvent.VK_M, "M");
+        key(NativeKeyEvent.VC_N, KeyEvent.VK_N, "N");
+        key(NativeKeyEvent.VC_O, KeyEvent.VK_O, "O");
+        key(NativeKeyEvent.VC_P, KeyEvent.VK_P, "P");
+        key(NativeKeyEvent.VC_Q, KeyEvent.VK_Q, "Q");
+        key(NativeKeyEvent.VC_R, KeyEvent.VK_R, "R");
+        key(NativeKeyEvent.VC_S, KeyEvent.VK_S, "S");
+        key(NativeKeyEvent.VC_T, KeyEvent.VK_T, "T");
+        key(NativeKeyEvent.VC_U, KeyEvent.VK_U, "U");
+        key(NativeKeyEvent.VC_V, KeyEvent.VK_V, "V");
+        key(NativeKeyEvent.VC_W, KeyEvent.VK_W, "W");
+        key(NativeKeyEvent.VC_X, KeyEvent.VK_X, "X");
+        key(NativeKeyEvent.VC_Y, KeyEvent.VK_Y, "Y");
+        key(NativeKeyEvent.VC_Z, KeyEvent.VK_Z, "Z");
+
+        key(NativeKeyEvent.VC_0, KeyEvent.VK_0, "0");
+        key(NativeKeyEvent.VC_1, KeyEvent.VK_1, "1");
+        key(NativeKeyEvent.VC_2, KeyEvent.VK_2, "2");
+        key(NativeKeyEvent.VC_3, KeyEvent.VK_3, "3");
+        key(NativeKeyEvent.VC_4, KeyEvent.VK_4, "4");
+        key(NativeKeyEvent.VC_5, KeyEvent.VK_5, "5");
+        key(NativeKeyEvent.VC_6, KeyEvent.VK_6, "6");
+        key(NativeKeyEvent.VC_7, KeyEvent.VK_7, "7");
+        key(NativeKeyEvent.VC_8, KeyEvent.VK_8, "8");
+        key(NativeKeyEvent.VC_9, KeyEvent.VK_9, "9");
+
+        key(NativeKeyEvent.VC_BACKQUOTE, KeyEvent.VK_BACK_QUOTE, "`", "BackQuote");
+        key(NativeKeyEvent.VC_OPEN_BRACKET, KeyEvent.VK_OPEN_BRACKET, "[", "OpenBracket");
+        key(NativeKeyEvent.VC_BACK_SLASH, KeyEvent.VK_BACK_SLASH, "\\", "BackSlash");
+        key(NativeKeyEvent.VC_CLOSE_BRACKET, KeyEvent.VK_CLOSE_BRACKET, "]", "CloseBracket");
+        key(NativeKeyEvent.VC_SEMICOLON, KeyEvent.VK_SEMICOLON, ";", "Semicolon");
+        key(NativeKeyEvent.VC_QUOTE, KeyEvent.VK_QUOTE, "\"", "'", "Quote");
+        key(NativeKeyEvent.VC_COMMA, KeyEvent.VK_COMMA, ",", "Comma");
+        key(NativeKeyEvent.VC_PERIOD, KeyEvent.VK_PERIOD, ".", "Period");
+        key(NativeKeyEvent.VC_SLASH, KeyEvent.VK_SLASH, "/", "Slash");
+        key(NativeKeyEvent.VC_EQUALS, KeyEvent.VK_EQUALS, "=", "Equals");
+        key(NativeKeyEvent.VC_MINUS, KeyEvent.VK_MINUS, "-", "Minus");
+        key(NONE, KeyEvent.VK_PLUS, "+");
+        key(NONE, KeyEvent.VK_ASTERISK, "*");
+
+        key(NONE, KeyEvent.VK_NUMPAD0, "Numpad0");
+        key(NONE, KeyEvent.VK_NUMPAD1, "Numpad1");
+        key(NONE, KeyEvent.VK_NUMPAD2, "Numpad2");
+        key(NONE, KeyEvent.VK_NUMPAD3, "Numpad3");
+        key(NONE, KeyEvent.VK_NUMPAD4, "Numpad4");
+        key(NONE, KeyEvent.VK_NUMPAD5, "Numpad5");
+        key(NONE, KeyEvent.VK_NUMPAD6, "Numpad6");
+        key(NONE, KeyEvent.VK_NUMPAD7, "Numpad7");
+        key(NONE, KeyEvent.VK_NUMPAD8, "Numpad8");
+        key(NONE, KeyEvent.VK_NUMPAD9, "Numpad9");
+        key(NONE, KeyEvent.VK_SEPARATOR, "Num_Separator", "Separator");
+        key(NONE, KeyEvent.VK_DECIMAL, "Num_Decimal", "Decimal");
+        key(NONE, KeyEvent.VK_ADD, "Num_Add", "Add");
+        key(NONE, KeyEvent.VK_SUBTRACT, "Num_Subtract", "Subtract");
+        key(NONE, KeyEvent.VK_MULTIPLY, "Num_Multiply", "Multiply");
+        key(NONE, KeyEvent.VK_DIVIDE, "Num_Divide", "Divide");
+
+        NATIVE = nativeBuilder.build();
+        AWT = awtBuilder.build();
+    }
+
+    private KeyNames() {
+    }
+
+    private static void key(int nativeCode, int awtCode, String name, String... aliases) {
+        nativeBuilder.add(nativeCode, name, aliases);
+        awtBuilder.add(awtCode, name, aliases);
+    }
+}
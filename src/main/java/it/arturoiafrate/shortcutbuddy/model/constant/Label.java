@@ -9,6 +9,7 @@ public class Label {
     public static final String BUTTON_SETTINGS = "button.settings";
     public static final String BUTTON_ABOUT = "button.about";
     public static final String BUTTON_CHANGELOG = "button.changelog";
+    public static final String BUTTON_DUMPRECORDING = "button.dumpRecording";
     public static final String ABOUT_WINDOW_PREFIX = "about.window.prefix";
     public static final String ABOUT_WINDOW_MESSAGE = "about.window.message";
     public static final String SETTINGS_TITLE = "settings.window.title";
@@ -20,11 +21,15 @@ public class Label {
     public static final String ERROR_ICONTRAY = "error.icontray";
     public static final String WARNING_NO_SHORTCUT = "warning.unsupportedApp";
     public static final String WARNING_NO_RESULTS = "warning.noResults";
+    public static final String INFO_LOADING_SHORTCUTS = "info.loadingShortcuts";
     public static final String USER_SHORTCUTS_TITLE = "user_shortcuts.window.title";
     public static final String NOTIFICATION_APPSTARTED_TITLE = "notification.appStarted.title";
     public static final String NOTIFICATION_APPSTARTED_TEXT = "notification.appStarted.text";
     public static final String NOTIFICATION_APPUPDATE_TITLE = "notification.appUpdate.title";
     public static final String NOTIFICATION_APPUPDATE_TEXT = "notification.appUpdate.text";
+    public static final String NOTIFICATION_RECORDINGDUMPED_TITLE = "notification.recordingDumped.title";
+    public static final String NOTIFICATION_RECORDINGDUMPED_TEXT = "notification.recordingDumped.text";
+    public static final String NOTIFICATION_RECORDINGDUMPED_ERROR = "notification.recordingDumped.error";
     public static final String SETTINGS_SETTING_WIDTH = "settings.setting.width";
     public static final String SETTINGS_SETTING_HEIGHT = "settings.setting.height";
     public static final String SETTINGS_SETTING_THEME = "settings.setting.theme";
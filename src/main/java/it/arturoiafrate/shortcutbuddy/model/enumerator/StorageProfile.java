@@ -0,0 +1,60 @@
+package it.arturoiafrate.shortcutbuddy.model.enumerator;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * SQLite tuning profiles selectable through the {@code storageProfile} setting.
+ * The journal mode is persistent in the database file, the remaining pragmas are applied
+ * to every pooled connection when it is opened.
+ */
+public enum StorageProfile {
+    balanced("WAL", "NORMAL", 64L * 1024 * 1024, -8000, "MEMORY"),
+    safe("WAL", "FULL", 0L, -2000, "DEFAULT"),
+    legacy("DELETE", "FULL", 0L, -2000, "DEFAULT");
+
+    private static final int BUSY_TIMEOUT_MS = 5000;
+
+    private final String journalMode;
+    private final String synchronous;
+    private final long mmapSize;
+    private final int cacheSize;
+    private final String tempStore;
+
+    StorageProfile(String journalMode, String synchronous, long mmapSize, int cacheSize, String tempStore) {
+        this.journalMode = journalMode;
+        this.synchronous = synchronous;
+        this.mmapSize = mmapSize;
+        this.cacheSize = cacheSize;
+        this.tempStore = tempStore;
+    }
+
+    public String getJournalMode() {
+        return journalMode;
+    }
+
+    public boolean isWal() {
+        return "WAL".equals(journalMode);
+    }
+
+    public String getJournalModePragma() {
+        return "PRAGMA journal_mode=" + journalMode;
+    }
+
+    public List<String> getConnectionPragmas() {
+        return List.of(
+                "PRAGMA synchronous=" + synchronous,
+                "PRAGMA mmap_size=" + mmapSize,
+                "PRAGMA cache_size=" + cacheSize,
+                "PRAGMA temp_store=" + tempStore,
+                "PRAGMA busy_timeout=" + BUSY_TIMEOUT_MS
+        );
+    }
+
+    public static StorageProfile fromString(String profile) {
+        return Arrays.stream(StorageProfile.values())
+                .filter(p -> p.name().equalsIgnoreCase(profile))
+                .findFirst()
+                .orElse(balanced);
+    }
+}
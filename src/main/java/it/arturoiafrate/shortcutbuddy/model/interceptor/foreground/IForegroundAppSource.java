@@ -0,0 +1,22 @@
+package it.arturoiafrate.shortcutbuddy.model.interceptor.foreground;
+
+import java.util.function.Consumer;
+
+/**
+ * A source of foreground application changes.
+ */
+public interface IForegroundAppSource {
+
+    /**
+     * Starts notifying the listener, from a thread owned by the source, every time another
+     * application comes to the foreground.
+     *
+     * @param listener Receives the process name of the new foreground application
+     */
+    void start(Consumer<String> listener);
+
+    /**
+     * Stops notifying the listener.
+     */
+    void stop();
+}
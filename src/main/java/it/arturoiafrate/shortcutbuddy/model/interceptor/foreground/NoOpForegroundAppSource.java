@@ -0,0 +1,22 @@
+package it.arturoiafrate.shortcutbuddy.model.interceptor.foreground;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.function.Consumer;
+
+/**
+ * Used where there is no Windows foreground hook: never reports a change, so the prefetch stays idle
+ * and the popup loads the shortcuts when it opens.
+ */
+@Slf4j
+public class NoOpForegroundAppSource implements IForegroundAppSource {
+
+    @Override
+    public void start(Consumer<String> listener) {
+        log.info("No foreground hook on this platform, shortcuts will not be prefetched.");
+    }
+
+    @Override
+    public void stop() {
+    }
+}
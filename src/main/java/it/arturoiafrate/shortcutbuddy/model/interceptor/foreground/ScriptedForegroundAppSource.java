@@ -0,0 +1,75 @@
+package it.arturoiafrate.shortcutbuddy.model.interceptor.foreground;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Replays foreground changes from a script, to drive the prefetch pipeline where there is no
+ * Windows foreground hook. Each non-empty line not starting with {@code #} holds a delay in
+ * milliseconds and an application name: {@code 1500 chrome.exe}.
+ */
+@Slf4j
+public class ScriptedForegroundAppSource implements IForegroundAppSource {
+    private final Path script;
+    private Thread replayThread;
+
+    public ScriptedForegroundAppSource(Path script) {
+        this.script = script;
+    }
+
+    @Override
+    public synchronized void start(Consumer<String> listener) {
+        if (replayThread != null) {
+            log.warn("Foreground script is already running.");
+            return;
+        }
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(script, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.error("Cannot read foreground script {}", script, e);
+            return;
+        }
+        replayThread = new Thread(() -> replay(lines, listener), "ShortcutBuddy-ForegroundScript");
+        replayThread.setDaemon(true);
+        replayThread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (replayThread != null) {
+            replayThread.interrupt();
+            replayThread = null;
+        }
+    }
+
+    private void replay(List<String> lines, Consumer<String> listener) {
+        log.info("Replaying foreground script {}", script);
+        for (String line : lines) {
+            String trimmed = line.strip();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            String[] parts = trimmed.split("\\s+", 2);
+            try {
+                if (parts.length < 2) {
+                    throw new NumberFormatException("Missing application name");
+                }
+                Thread.sleep(Long.parseLong(parts[0]));
+                listener.accept(parts[1]);
+            } catch (NumberFormatException e) {
+                log.warn("Skipping invalid foreground script line '{}'", line);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        log.info("Foreground script completed");
+    }
+}
@@ -0,0 +1,97 @@
+package it.arturoiafrate.shortcutbuddy.model.interceptor.foreground;
+
+import com.sun.jna.platform.win32.Kernel32;
+import com.sun.jna.platform.win32.User32;
+import com.sun.jna.platform.win32.WinDef;
+import com.sun.jna.platform.win32.WinNT;
+import com.sun.jna.platform.win32.WinUser;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.function.Consumer;
+
+/**
+ * Foreground changes from a Windows {@code EVENT_SYSTEM_FOREGROUND} hook, served by a dedicated
+ * message-loop thread.
+ */
+@Slf4j
+@Singleton
+public class WinEventForegroundAppSource implements IForegroundAppSource {
+    private static final int EVENT_SYSTEM_FOREGROUND = 0x0003;
+    private static final int WINEVENT_OUTOFCONTEXT = 0x0000;
+    private static final int WINEVENT_SKIPOWNPROCESS = 0x0002;
+
+    private final ForegroundAppInterceptor foregroundAppInterceptor;
+    // Keeps the callback reachable while the hook is installed
+    private WinUser.WinEventProc winEventProc;
+    private Thread messageLoopThread;
+    private volatile int messageLoopThreadId;
+
+    @Inject
+    public WinEventForegroundAppSource(ForegroundAppInterceptor foregroundAppInterceptor) {
+        this.foregroundAppInterceptor = foregroundAppInterceptor;
+    }
+
+    @Override
+    public synchronized void start(Consumer<String> listener) {
+        if (messageLoopThread != null) {
+            log.warn("Foreground hook is already running.");
+            return;
+        }
+        winEventProc = (hook, event, hwnd, idObject, idChild, eventThread, eventTime) -> {
+            try {
+                String appName = foregroundAppInterceptor.getForegroundAppName();
+                if (appName != null) {
+                    listener.accept(appName);
+                }
+            } catch (Exception e) {
+                log.error("Error handling foreground change", e);
+            }
+        };
+        messageLoopThread = new Thread(this::runMessageLoop, "ShortcutBuddy-ForegroundHook");
+        messageLoopThread.setDaemon(true);
+        messageLoopThread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (messageLoopThread == null) {
+            return;
+        }
+        if (messageLoopThreadId != 0) {
+            User32.INSTANCE.PostThreadMessage(messageLoopThreadId, WinUser.WM_QUIT, new WinDef.WPARAM(0), new WinDef.LPARAM(0));
+        }
+        try {
+            messageLoopThread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while waiting for the foreground hook to stop.", e);
+        }
+        messageLoopThread = null;
+        messageLoopThreadId = 0;
+    }
+
+    private void runMessageLoop() {
+        messageLoopThreadId = Kernel32.INSTANCE.GetCurrentThreadId();
+        WinNT.HANDLE hook = User32.INSTANCE.SetWinEventHook(EVENT_SYSTEM_FOREGROUND, EVENT_SYSTEM_FOREGROUND, null,
+                winEventProc, 0, 0, WINEVENT_OUTOFCONTEXT | WINEVENT_SKIPOWNPROCESS);
+        if (hook == null) {
+            log.error("Failed to install the foreground hook, Error: {}", Kernel32.INSTANCE.GetLastError());
+            return;
+        }
+        log.info("Foreground hook installed");
+        WinUser.MSG msg = new WinUser.MSG();
+        int result;
+        while ((result = User32.INSTANCE.GetMessage(msg, null, 0, 0)) != 0) {
+            if (result == -1) {
+                log.error("Error in GetMessage: {}", Kernel32.INSTANCE.GetLastError());
+                break;
+            }
+            User32.INSTANCE.TranslateMessage(msg);
+            User32.INSTANCE.DispatchMessage(msg);
+        }
+        User32.INSTANCE.UnhookWinEvent(hook);
+        log.info("Foreground hook removed");
+    }
+}
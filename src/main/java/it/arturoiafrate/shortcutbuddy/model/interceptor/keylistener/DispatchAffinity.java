@@ -0,0 +1,34 @@
+package it.arturoiafrate.shortcutbuddy.model.interceptor.keylistener;
+
+/**
+ * The thread on which the {@link KeyListener} notifies an observer.
+ */
+public enum DispatchAffinity {
+    /**
+     * The JavaFX application thread, for observers touching the UI.
+     */
+    FX_THREAD("fx"),
+    /**
+     * A dedicated input thread shared by the observers doing pure key logic, such as tracking the pressed keys.
+     * Notifications keep the order of the key events and must be quick, since they delay each other.
+     */
+    INPUT_THREAD("input"),
+    /**
+     * A new virtual thread for each notification, for observers that may block. Notifications of
+     * different events may run concurrently and out of order.
+     */
+    VIRTUAL_THREAD("virtual");
+
+    private final String metricName;
+
+    DispatchAffinity(String metricName) {
+        this.metricName = metricName;
+    }
+
+    /**
+     * @return The name of the affinity in the dispatch metrics
+     */
+    public String getMetricName() {
+        return metricName;
+    }
+}
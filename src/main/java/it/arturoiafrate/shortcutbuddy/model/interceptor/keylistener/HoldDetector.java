@@ -0,0 +1,173 @@
+package it.arturoiafrate.shortcutbuddy.model.interceptor.keylistener;
+
+import com.github.kwhat.jnativehook.keyboard.NativeKeyEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Detects key holds on a single daemon thread. Armed keys are kept in a small table of primitive slots
+ * holding their deadline; the thread sleeps until the earliest deadline and reports the keys still armed
+ * when it passes. Arming and disarming only write to the table, so typing creates and cancels no tasks.
+ */
+@Slf4j
+final class HoldDetector {
+    private static final int SLOTS = 16;
+
+    /**
+     * Receives the holds, on the detector thread.
+     */
+    interface Listener {
+        /**
+         * @param keyCode The held key
+         * @param inputId The input id of the press being held
+         * @param pressEvent The native event of the press
+         */
+        void onHold(int keyCode, long inputId, NativeKeyEvent pressEvent);
+    }
+
+    private final boolean[] armed = new boolean[SLOTS];
+    private final int[] keyCodes = new int[SLOTS];
+    private final long[] deadlines = new long[SLOTS];
+    private final long[] inputIds = new long[SLOTS];
+    private final NativeKeyEvent[] pressEvents = new NativeKeyEvent[SLOTS];
+    private final Listener listener;
+    private final Thread thread;
+    private boolean running = true;
+
+    HoldDetector(String threadName, Listener listener) {
+        this.listener = listener;
+        this.thread = new Thread(this::run, threadName);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Starts waiting for the hold of a key, replacing any pending wait for the same key.
+     *
+     * @param keyCode The pressed key
+     * @param delayNanos How long the key must stay pressed
+     * @param inputId The input id of the press
+     * @param pressEvent The native event of the press
+     */
+    synchronized void arm(int keyCode, long delayNanos, long inputId, NativeKeyEvent pressEvent) {
+        int slot = slotOf(keyCode);
+        if (slot < 0) {
+            slot = slotOf(-1);
+        }
+        if (slot < 0) {
+            log.warn("Too many keys held at once, ignoring the hold of {}", keyCode);
+            return;
+        }
+        armed[slot] = true;
+        keyCodes[slot] = keyCode;
+        deadlines[slot] = System.nanoTime() + delayNanos;
+        inputIds[slot] = inputId;
+        pressEvents[slot] = pressEvent;
+        notify();
+    }
+
+    /**
+     * @param keyCode The released key
+     * @return True if a hold of the key was pending
+     */
+    synchronized boolean disarm(int keyCode) {
+        int slot = slotOf(keyCode);
+        if (slot < 0) {
+            return false;
+        }
+        free(slot);
+        return true;
+    }
+
+    synchronized void disarmAll() {
+        for (int slot = 0; slot < SLOTS; slot++) {
+            if (armed[slot]) {
+                free(slot);
+            }
+        }
+    }
+
+    void shutdown() {
+        synchronized (this) {
+            running = false;
+            notify();
+        }
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(2));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (true) {
+            int keyCode;
+            long inputId;
+            NativeKeyEvent pressEvent;
+            synchronized (this) {
+                try {
+                    int due = awaitDueSlot();
+                    if (due < 0) {
+                        return;
+                    }
+                    keyCode = keyCodes[due];
+                    inputId = inputIds[due];
+                    pressEvent = pressEvents[due];
+                    free(due);
+                } catch (InterruptedException e) {
+                    log.warn("Hold detector interrupted, stopping");
+                    return;
+                }
+            }
+            try {
+                listener.onHold(keyCode, inputId, pressEvent);
+            } catch (Exception e) {
+                log.error("Error notifying the hold of {}", keyCode, e);
+            }
+        }
+    }
+
+    /**
+     * Waits, holding the monitor, until an armed slot reaches its deadline.
+     *
+     * @return The due slot, or -1 once the detector is shut down
+     */
+    private int awaitDueSlot() throws InterruptedException {
+        while (running) {
+            int earliest = -1;
+            for (int slot = 0; slot < SLOTS; slot++) {
+                if (armed[slot] && (earliest < 0 || deadlines[slot] - deadlines[earliest] < 0)) {
+                    earliest = slot;
+                }
+            }
+            if (earliest < 0) {
+                wait();
+                continue;
+            }
+            long remaining = deadlines[earliest] - System.nanoTime();
+            if (remaining <= 0) {
+                return earliest;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return -1;
+    }
+
+    /**
+     * @param keyCode The key code, or -1 for a free slot
+     */
+    private int slotOf(int keyCode) {
+        for (int slot = 0; slot < SLOTS; slot++) {
+            if (keyCode < 0 ? !armed[slot] : armed[slot] && keyCodes[slot] == keyCode) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void free(int slot) {
+        armed[slot] = false;
+        pressEvents[slot] = null;
+    }
+}
@@ -4,4 +4,12 @@ import com.github.kwhat.jnativehook.keyboard.NativeKeyEvent;
 
 public interface IKeyObserver {
     void update(int keyCode, KeyOperation mode, NativeKeyEvent nativeKeyEvent);
+
+    /**
+     * @return The thread on which the observer is notified, the JavaFX application thread unless overridden;
+     * read on every notification, so it should be constant
+     */
+    default DispatchAffinity getDispatchAffinity() {
+        return DispatchAffinity.FX_THREAD;
+    }
 }
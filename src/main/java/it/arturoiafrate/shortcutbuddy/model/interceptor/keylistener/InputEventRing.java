@@ -0,0 +1,204 @@
+package it.arturoiafrate.shortcutbuddy.model.interceptor.keylistener;
+
+import com.github.kwhat.jnativehook.NativeInputEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A bounded single-producer ring of preallocated slots carrying the input events from the native hook thread
+ * to a consumer thread that does the actual processing. Publishing only writes the fields of the next slot
+ * and never blocks or allocates: when the ring is full the event is dropped and counted, since making the hook
+ * wait would make the typing of the whole desktop lag. Once it has caught up, the consumer is told how many
+ * events were lost so that it can resynchronize its state.
+ */
+@Slf4j
+final class InputEventRing {
+    private static final int SPINS_BEFORE_PARKING = 100;
+
+    /**
+     * Processes the events, on the consumer thread.
+     */
+    interface Listener {
+        /**
+         * @param id The id of the native event, such as {@code NativeKeyEvent.NATIVE_KEY_PRESSED}
+         * @param code The key code or mouse button
+         * @param receivedAt When the hook received the event, from {@link System#nanoTime()}
+         * @param nativeEvent The native event
+         */
+        void onEvent(int id, int code, long receivedAt, NativeInputEvent nativeEvent);
+
+        /**
+         * Called once the ring is empty, after events have been dropped.
+         *
+         * @param dropped The number of events dropped since the last call
+         */
+        void onEventsDropped(long dropped);
+    }
+
+    private final int mask;
+    private final int[] ids;
+    private final int[] codes;
+    private final long[] receivedAts;
+    private final NativeInputEvent[] nativeEvents;
+    private final Listener listener;
+    private final Thread consumer;
+
+    // Next slot to read, written by the consumer only
+    private volatile long head;
+    // Next slot to write, written by the producer only
+    private volatile long tail;
+    // Written by the producer only
+    private volatile long dropped;
+    private volatile long overflows;
+    private boolean full;
+    // Drops already reported to the listener, read and written by the consumer only
+    private long reportedDrops;
+
+    private volatile boolean consumerWaiting;
+    private volatile boolean running = true;
+
+    /**
+     * @param capacity The number of slots, a power of two
+     * @param threadName The name of the consumer thread
+     * @param listener Processes the events
+     */
+    InputEventRing(int capacity, String threadName, Listener listener) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("The capacity must be a power of two: " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.ids = new int[capacity];
+        this.codes = new int[capacity];
+        this.receivedAts = new long[capacity];
+        this.nativeEvents = new NativeInputEvent[capacity];
+        this.listener = listener;
+        this.consumer = new Thread(this::consume, threadName);
+        this.consumer.setDaemon(true);
+        this.consumer.setPriority(Thread.MAX_PRIORITY);
+        this.consumer.start();
+    }
+
+    /**
+     * Publishes an event; must always be called from the same thread.
+     *
+     * @return False if the ring is full and the event has been dropped
+     */
+    boolean publish(int id, int code, long receivedAt, NativeInputEvent nativeEvent) {
+        long position = tail;
+        if (position - head > mask) {
+            if (!full) {
+                full = true;
+                overflows = overflows + 1;
+            }
+            dropped = dropped + 1;
+            return false;
+        }
+        full = false;
+        int slot = (int) position & mask;
+        ids[slot] = id;
+        codes[slot] = code;
+        receivedAts[slot] = receivedAt;
+        nativeEvents[slot] = nativeEvent;
+        // The volatile write publishes the slot to the consumer
+        tail = position + 1;
+        if (consumerWaiting) {
+            LockSupport.unpark(consumer);
+        }
+        return true;
+    }
+
+    /**
+     * @return The number of events waiting for the consumer
+     */
+    int getDepth() {
+        return (int) (tail - head);
+    }
+
+    /**
+     * @return The number of events dropped because the ring was full
+     */
+    long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * @return The number of times the ring became full
+     */
+    long getOverflows() {
+        return overflows;
+    }
+
+    /**
+     * Stops the consumer once it has processed the events already published.
+     */
+    void shutdown() {
+        running = false;
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join(TimeUnit.SECONDS.toMillis(2));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void consume() {
+        int idle = 0;
+        while (true) {
+            long position = head;
+            if (position == tail) {
+                long lost = dropped;
+                if (lost != reportedDrops) {
+                    notifyDropped(lost - reportedDrops);
+                    reportedDrops = lost;
+                } else if (!running) {
+                    return;
+                } else if (++idle < SPINS_BEFORE_PARKING) {
+                    Thread.onSpinWait();
+                } else {
+                    park();
+                    idle = 0;
+                }
+                continue;
+            }
+            idle = 0;
+            int slot = (int) position & mask;
+            int id = ids[slot];
+            int code = codes[slot];
+            long receivedAt = receivedAts[slot];
+            NativeInputEvent nativeEvent = nativeEvents[slot];
+            nativeEvents[slot] = null;
+            // Frees the slot for the producer
+            head = position + 1;
+            try {
+                listener.onEvent(id, code, receivedAt, nativeEvent);
+            } catch (Exception e) {
+                log.error("Error processing input event {} of {}", id, code, e);
+            }
+        }
+    }
+
+    /**
+     * Parks the consumer until the producer publishes; the flag is raised before checking the ring again,
+     * so that a publication racing with the check always sees it and unparks the consumer.
+     */
+    private void park() {
+        consumerWaiting = true;
+        try {
+            if (head == tail && running && dropped == reportedDrops) {
+                LockSupport.park(this);
+            }
+        } finally {
+            consumerWaiting = false;
+        }
+    }
+
+    private void notifyDropped(long count) {
+        try {
+            listener.onEventsDropped(count);
+        } catch (Exception e) {
+            log.error("Error resynchronizing after {} dropped input events", count, e);
+        }
+    }
+}
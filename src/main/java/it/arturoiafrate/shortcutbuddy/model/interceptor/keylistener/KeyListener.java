@@ -2,143 +2,159 @@ package it.arturoiafrate.shortcutbuddy.model.interceptor.keylistener;
 
 import com.github.kwhat.jnativehook.GlobalScreen;
 import com.github.kwhat.jnativehook.NativeHookException;
+import com.github.kwhat.jnativehook.NativeInputEvent;
 import com.github.kwhat.jnativehook.keyboard.NativeKeyEvent;
 import com.github.kwhat.jnativehook.keyboard.NativeKeyListener;
 import com.github.kwhat.jnativehook.mouse.NativeMouseEvent;
 import com.github.kwhat.jnativehook.mouse.NativeMouseListener;
-import it.arturoiafrate.shortcutbuddy.model.type.BidirectionalMap;
+import it.arturoiafrate.shortcutbuddy.model.constant.KeyNames;
+import it.arturoiafrate.shortcutbuddy.model.manager.metrics.MetricsRegistry;
+import it.arturoiafrate.shortcutbuddy.model.manager.metrics.jfr.KeyDispatchEvent;
+import it.arturoiafrate.shortcutbuddy.model.manager.metrics.jfr.PipelineCorrelation;
+import it.arturoiafrate.shortcutbuddy.model.type.KeyCodeSet;
+import it.arturoiafrate.shortcutbuddy.model.type.LatencyHistogram;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import javafx.application.Platform;
+import jdk.jfr.EventType;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.*;
-import java.util.concurrent.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Listens to the global native hook and notifies the observers of the keys.
+ * Each observer is notified on the thread of its {@link DispatchAffinity}: the JavaFX application thread,
+ * a dedicated input thread or a virtual thread, so that key logic does not wait for rendering.
+ * The time notifications spend queued and the number still queued are recorded per affinity, under
+ * {@code keys.dispatch.<affinity>.latency} and {@code keys.dispatch.<affinity>.queueDepth}.
+ * <p>
+ * The native hook thread only copies each event into an {@link InputEventRing}; the pressed keys, the hold
+ * detection and the dispatch run on the thread consuming the ring, so that no slow path delays the hook.
+ * The ring reports {@code keys.input.queueDepth}, {@code keys.input.latency}, {@code keys.input.dropped}
+ * and {@code keys.input.overflows}.
+ */
 @Slf4j
 @Singleton
 public class KeyListener implements NativeKeyListener, NativeMouseListener {
-    private final ConcurrentMap<Integer, List<IKeyObserver>> observers = new ConcurrentHashMap<>();
-    private final Set<Integer> currentlyPressedKeys = ConcurrentHashMap.newKeySet();
-    private final Map<Integer, Timer> timers = new HashMap<>();
-    private final ScheduledExecutorService keyHoldScheduler;
-    private final ConcurrentMap<Integer, ScheduledFuture<?>> pendingHoldTasks = new ConcurrentHashMap<>();
-    private static final long HOLD_DELAY_MS = 1000;
-    private static final BidirectionalMap<Integer, String> keyCodeToName = new BidirectionalMap<>();
+    private static final DispatchAffinity[] AFFINITIES = DispatchAffinity.values();
+    // Checked before creating a dispatch event, so that nothing is allocated while no recording wants it
+    private static final EventType DISPATCH_EVENT_TYPE = EventType.getEventType(KeyDispatchEvent.class);
+    private final KeyObserverTable observers = new KeyObserverTable();
+    // Only touched by the thread processing the input events, which receives presses and releases in order
+    private final KeyCodeSet currentlyPressedKeys = new KeyCodeSet();
+    private final BlockingQueue<DispatchTask> dispatchTasks = new ArrayBlockingQueue<>(DISPATCH_TASK_POOL_SIZE);
+    private final HoldDetector holdDetector;
+    private final Executor[] dispatchers = new Executor[AFFINITIES.length];
+    private final List<ExecutorService> ownedDispatchers = new ArrayList<>();
+    private final LatencyHistogram[] dispatchLatencies = new LatencyHistogram[AFFINITIES.length];
+    private final AtomicIntegerArray queuedDispatches = new AtomicIntegerArray(AFFINITIES.length);
+    private final LongAdder rejectedDispatches;
+    private final LatencyHistogram inputLatency;
+    private final InputEventRing inputRing;
+    private volatile Thread inputThread;
+    private volatile boolean hookRegistered;
+    private volatile HoldDelays holdDelays = new HoldDelays(new int[0], new long[0]);
+    public static final long DEFAULT_HOLD_DELAY_MS = 1000;
+    private static final int DISPATCH_TASK_POOL_SIZE = 64;
+    private static final int INPUT_QUEUE_CAPACITY = 1024;
+    private static final int INPUT_RING_CAPACITY = 1024;
     public static final int KEY_ALL = -999;
 
-    static {
-        keyCodeToName.put(NativeKeyEvent.VC_ESCAPE, "Esc");
-        keyCodeToName.put(NativeKeyEvent.VC_F1, "F1");
-        keyCodeToName.put(NativeKeyEvent.VC_F2, "F2");
-        keyCodeToName.put(NativeKeyEvent.VC_F3, "F3");
-        keyCodeToName.put(NativeKeyEvent.VC_F4, "F4");
-        keyCodeToName.put(NativeKeyEvent.VC_F5, "F5");
-        keyCodeToName.put(NativeKeyEvent.VC_F6, "F6");
-        keyCodeToName.put(NativeKeyEvent.VC_F7, "F7");
-        keyCodeToName.put(NativeKeyEvent.VC_F8, "F8");
-        keyCodeToName.put(NativeKeyEvent.VC_F9, "F9");
-        keyCodeToName.put(NativeKeyEvent.VC_F10, "F10");
-        keyCodeToName.put(NativeKeyEvent.VC_F11, "F11");
-        keyCodeToName.put(NativeKeyEvent.VC_F12, "F12");
-        keyCodeToName.put(NativeKeyEvent.VC_F13, "F13");
-        keyCodeToName.put(NativeKeyEvent.VC_F14, "F14");
-        keyCodeToName.put(NativeKeyEvent.VC_F15, "F15");
-        keyCodeToName.put(NativeKeyEvent.VC_F16, "F16");
-        keyCodeToName.put(NativeKeyEvent.VC_F17, "F17");
-        keyCodeToName.put(NativeKeyEvent.VC_F18, "F18");
-        keyCodeToName.put(NativeKeyEvent.VC_F19, "F19");
-        keyCodeToName.put(NativeKeyEvent.VC_F20, "F20");
-        keyCodeToName.put(NativeKeyEvent.VC_F21, "F21");
-        keyCodeToName.put(NativeKeyEvent.VC_F22, "F22");
-        keyCodeToName.put(NativeKeyEvent.VC_F23, "F23");
-        keyCodeToName.put(NativeKeyEvent.VC_F24, "F24");
-        keyCodeToName.put(NativeKeyEvent.VC_ENTER, "Enter");
-        keyCodeToName.put(NativeKeyEvent.VC_SPACE, "Space");
-        keyCodeToName.put(NativeKeyEvent.VC_TAB, "Tab");
-        keyCodeToName.put(NativeKeyEvent.VC_BACKSPACE, "Backspace");
-        keyCodeToName.put(NativeKeyEvent.VC_UP, "Up");
-        keyCodeToName.put(NativeKeyEvent.VC_DOWN, "Down");
-        keyCodeToName.put(NativeKeyEvent.VC_LEFT, "Left");
-        keyCodeToName.put(NativeKeyEvent.VC_RIGHT, "Right");
-        keyCodeToName.put(NativeKeyEvent.VC_DELETE, "Del");
-        keyCodeToName.put(NativeKeyEvent.VC_INSERT, "Ins");
-        keyCodeToName.put(NativeKeyEvent.VC_HOME, "Home");
-        keyCodeToName.put(NativeKeyEvent.VC_END, "End");
-        keyCodeToName.put(NativeKeyEvent.VC_PAGE_UP, "Page Up");
-        keyCodeToName.put(NativeKeyEvent.VC_PAGE_DOWN, "Page Down");
-        keyCodeToName.put(NativeKeyEvent.VC_CAPS_LOCK, "Caps Lock");
-        keyCodeToName.put(NativeKeyEvent.VC_NUM_LOCK, "Num Lock");
-        keyCodeToName.put(NativeKeyEvent.VC_SCROLL_LOCK, "Scroll Lock");
-        keyCodeToName.put(NativeKeyEvent.VC_PRINTSCREEN, "Print Screen");
-        keyCodeToName.put(NativeKeyEvent.VC_CONTEXT_MENU, "Context Menu");
-        keyCodeToName.put(NativeKeyEvent.VC_PAUSE, "Pause");
-        keyCodeToName.put(NativeKeyEvent.VC_SHIFT, "Shift");
-        keyCodeToName.put(NativeKeyEvent.VC_CONTROL, "Ctrl");
-        keyCodeToName.put(NativeKeyEvent.VC_ALT, "Alt");
-        keyCodeToName.put(NativeKeyEvent.VC_META, "Win");
-
-        keyCodeToName.put(NativeKeyEvent.VC_A, "A");
-        keyCodeToName.put(NativeKeyEvent.VC_B, "B");
-        keyCodeToName.put(NativeKeyEvent.VC_C, "C");
-        keyCodeToName.put(NativeKeyEvent.VC_D, "D");
-        keyCodeToName.put(NativeKeyEvent.VC_E, "E");
-        keyCodeToName.put(NativeKeyEvent.VC_F, "F");
-        keyCodeToName.put(NativeKeyEvent.VC_G, "G");
-        keyCodeToName.put(NativeKeyEvent.VC_H, "H");
-        keyCodeToName.put(NativeKeyEvent.VC_I, "I");
-        keyCodeToName.put(NativeKeyEvent.VC_J, "J");
-        keyCodeToName.put(NativeKeyEvent.VC_K, "K");
-        keyCodeToName.put(NativeKeyEvent.VC_L, "L");
-        keyCodeToName.put(NativeKeyEvent.VC_M, "M");
-        keyCodeToName.put(NativeKeyEvent.VC_N, "N");
-        keyCodeToName.put(NativeKeyEvent.VC_O, "O");
-        keyCodeToName.put(NativeKeyEvent.VC_P, "P");
-        keyCodeToName.put(NativeKeyEvent.VC_Q, "Q");
-        keyCodeToName.put(NativeKeyEvent.VC_R, "R");
-        keyCodeToName.put(NativeKeyEvent.VC_S, "S");
-        keyCodeToName.put(NativeKeyEvent.VC_T, "T");
-        keyCodeToName.put(NativeKeyEvent.VC_U, "U");
-        keyCodeToName.put(NativeKeyEvent.VC_V, "V");
-        keyCodeToName.put(NativeKeyEvent.VC_W, "W");
-        keyCodeToName.put(NativeKeyEvent.VC_X, "X");
-        keyCodeToName.put(NativeKeyEvent.VC_Y, "Y");
-        keyCodeToName.put(NativeKeyEvent.VC_Z, "Z");
-
-        keyCodeToName.put(NativeKeyEvent.VC_0, "0");
-        keyCodeToName.put(NativeKeyEvent.VC_1, "1");
-        keyCodeToName.put(NativeKeyEvent.VC_2, "2");
-        keyCodeToName.put(NativeKeyEvent.VC_3, "3");
-        keyCodeToName.put(NativeKeyEvent.VC_4, "4");
-        keyCodeToName.put(NativeKeyEvent.VC_5, "5");
-        keyCodeToName.put(NativeKeyEvent.VC_6, "6");
-        keyCodeToName.put(NativeKeyEvent.VC_7, "7");
-        keyCodeToName.put(NativeKeyEvent.VC_8, "8");
-        keyCodeToName.put(NativeKeyEvent.VC_9, "9");
-
-        keyCodeToName.put(NativeKeyEvent.VC_OPEN_BRACKET, "[");
-        keyCodeToName.put(NativeKeyEvent.VC_BACK_SLASH, "\\");
-        keyCodeToName.put(NativeKeyEvent.VC_CLOSE_BRACKET, "]");
-        keyCodeToName.put(NativeKeyEvent.VC_SEMICOLON, ";");
-        keyCodeToName.put(NativeKeyEvent.VC_QUOTE, "\"");
-        keyCodeToName.put(NativeKeyEvent.VC_COMMA, ",");
-        keyCodeToName.put(NativeKeyEvent.VC_PERIOD, ".");
-        keyCodeToName.put(NativeKeyEvent.VC_SLASH, "/");
-        keyCodeToName.put(NativeKeyEvent.VC_EQUALS, "=");
-        keyCodeToName.put(NativeKeyEvent.VC_MINUS, "-");
+    @Inject
+    public KeyListener(MetricsRegistry metricsRegistry) {
+        this(Platform::runLater, false, metricsRegistry, true);
     }
 
-    @Inject
-    public KeyListener() {
-        ThreadFactory daemonThreadFactory = runnable -> {
-            Thread t = Executors.defaultThreadFactory().newThread(runnable);
-            t.setName("KeyListener-HoldDetectorThread");
-            t.setDaemon(true);
-            return t;
-        };
-        this.keyHoldScheduler = Executors.newSingleThreadScheduledExecutor(daemonThreadFactory);
-
-        registerHook();
+    /**
+     * Processes the events on the calling thread, without an input ring.
+     *
+     * @param dispatcher Runs the notifications of every observer whatever its affinity
+     * @param registerHook Whether to listen to the global native hook; without it events are fed by the caller
+     */
+    public KeyListener(Executor dispatcher, boolean registerHook) {
+        this(dispatcher, true, new MetricsRegistry(), registerHook);
+    }
+
+    /**
+     * @param fxDispatcher Runs the notifications of the observers with {@link DispatchAffinity#FX_THREAD}
+     * @param sharedDispatcher Whether the other affinities use the same dispatcher instead of their own threads,
+     * and events are processed on the calling thread instead of being queued in an input ring
+     */
+    private KeyListener(Executor fxDispatcher, boolean sharedDispatcher, MetricsRegistry metricsRegistry, boolean registerHook) {
+        dispatchers[DispatchAffinity.FX_THREAD.ordinal()] = fxDispatcher;
+        if (sharedDispatcher) {
+            dispatchers[DispatchAffinity.INPUT_THREAD.ordinal()] = fxDispatcher;
+            dispatchers[DispatchAffinity.VIRTUAL_THREAD.ordinal()] = fxDispatcher;
+        } else {
+            ExecutorService inputDispatcher = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(INPUT_QUEUE_CAPACITY), this::newInputThread, this::rejectDispatch);
+            ExecutorService virtualDispatcher = Executors.newVirtualThreadPerTaskExecutor();
+            dispatchers[DispatchAffinity.INPUT_THREAD.ordinal()] = inputDispatcher;
+            dispatchers[DispatchAffinity.VIRTUAL_THREAD.ordinal()] = virtualDispatcher;
+            ownedDispatchers.add(inputDispatcher);
+            ownedDispatchers.add(virtualDispatcher);
+        }
+        for (DispatchAffinity affinity : AFFINITIES) {
+            String prefix = "keys.dispatch." + affinity.getMetricName();
+            dispatchLatencies[affinity.ordinal()] = metricsRegistry.histogram(prefix + ".latency");
+            metricsRegistry.gauge(prefix + ".queueDepth", () -> queuedDispatches.get(affinity.ordinal()));
+        }
+        this.rejectedDispatches = metricsRegistry.counter("keys.dispatch.rejected");
+        this.inputLatency = metricsRegistry.histogram("keys.input.latency");
+        this.holdDetector = new HoldDetector("KeyListener-HoldDetectorThread", (keyCode, inputId, pressEvent) ->
+                dispatch(inputId, keyCode, KeyOperation.KEY_HOLD, observers.get(keyCode), observers.getAllKeys(), pressEvent));
+        if (sharedDispatcher) {
+            this.inputRing = null;
+        } else {
+            this.inputRing = new InputEventRing(INPUT_RING_CAPACITY, "KeyListener-InputEventThread", new InputEventRing.Listener() {
+                @Override
+                public void onEvent(int id, int code, long receivedAt, NativeInputEvent nativeEvent) {
+                    process(id, code, receivedAt, nativeEvent);
+                }
+
+                @Override
+                public void onEventsDropped(long dropped) {
+                    resynchronize(dropped);
+                }
+            });
+            metricsRegistry.gauge("keys.input.queueDepth", inputRing::getDepth);
+            metricsRegistry.gauge("keys.input.dropped", inputRing::getDropped);
+            metricsRegistry.gauge("keys.input.overflows", inputRing::getOverflows);
+        }
+
+        if (registerHook) {
+            registerHook();
+        }
+    }
+
+    private Thread newInputThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "KeyListener-InputThread");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        inputThread = thread;
+        return thread;
+    }
+
+    private void rejectDispatch(Runnable runnable, ThreadPoolExecutor executor) {
+        if (runnable instanceof DispatchTask task) {
+            queuedDispatches.decrementAndGet(task.affinity.ordinal());
+            if (!executor.isShutdown()) {
+                log.warn("Input queue is full, dropping {} of {}", task.operation, task.keyCode);
+            }
+            task.release();
+        }
+        rejectedDispatches.increment();
     }
 
     private void registerHook() throws RuntimeException{
@@ -148,6 +164,7 @@ public class KeyListener implements NativeKeyListener, NativeMouseListener {
             }
             GlobalScreen.addNativeKeyListener(this);
             GlobalScreen.addNativeMouseListener(this);
+            hookRegistered = true;
         } catch (NativeHookException e) {
             log.error("Error registering native hook", e);
             throw new RuntimeException(e);
@@ -155,151 +172,335 @@ public class KeyListener implements NativeKeyListener, NativeMouseListener {
     }
 
     public void shutdown() {
+        // Without a hook GlobalScreen is never touched, since loading it loads the native library
         try {
-            if (GlobalScreen.isNativeHookRegistered()) {
+            if (hookRegistered && GlobalScreen.isNativeHookRegistered()) {
                 GlobalScreen.removeNativeKeyListener(this);
                 GlobalScreen.removeNativeMouseListener(this);
                 GlobalScreen.unregisterNativeHook();
+                hookRegistered = false;
             }
         } catch (Exception e) {
             log.error("Error during JNativeHook deregistration", e);
         }
 
-        if (keyHoldScheduler != null && !keyHoldScheduler.isShutdown()) {
-            keyHoldScheduler.shutdown();
-            try {
-                if (!keyHoldScheduler.awaitTermination(2, TimeUnit.SECONDS)) {
-                    log.warn("KeyHoldScheduler not terminated in time, forcing shutdown...");
-                    keyHoldScheduler.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                log.warn("KeyHoldScheduler interrupted during shutdown, forcing shutdown now...");
-                keyHoldScheduler.shutdownNow();
-                Thread.currentThread().interrupt();
-            }
+        if (inputRing != null) {
+            inputRing.shutdown();
+        }
+        holdDetector.shutdown();
+        ownedDispatchers.forEach(ExecutorService::shutdown);
+    }
+
+    /**
+     * Sets how long a key must stay pressed before its observers receive {@link KeyOperation#KEY_HOLD}.
+     *
+     * @param keyCode The key code
+     * @param delayMillis The hold delay in milliseconds
+     */
+    public synchronized void setHoldDelay(int keyCode, long delayMillis) {
+        HoldDelays current = holdDelays;
+        int index = Arrays.binarySearch(current.keyCodes(), keyCode);
+        if (index >= 0) {
+            long[] delays = current.delayNanos().clone();
+            delays[index] = TimeUnit.MILLISECONDS.toNanos(delayMillis);
+            holdDelays = new HoldDelays(current.keyCodes(), delays);
+            return;
         }
+        int insertion = -index - 1;
+        int[] keyCodes = new int[current.keyCodes().length + 1];
+        long[] delays = new long[keyCodes.length];
+        System.arraycopy(current.keyCodes(), 0, keyCodes, 0, insertion);
+        System.arraycopy(current.delayNanos(), 0, delays, 0, insertion);
+        keyCodes[insertion] = keyCode;
+        delays[insertion] = TimeUnit.MILLISECONDS.toNanos(delayMillis);
+        System.arraycopy(current.keyCodes(), insertion, keyCodes, insertion + 1, current.keyCodes().length - insertion);
+        System.arraycopy(current.delayNanos(), insertion, delays, insertion + 1, current.delayNanos().length - insertion);
+        holdDelays = new HoldDelays(keyCodes, delays);
+    }
+
+    /**
+     * @param keyCode The key code
+     * @return The hold delay of the key in milliseconds, {@link #DEFAULT_HOLD_DELAY_MS} unless set otherwise
+     */
+    public long getHoldDelay(int keyCode) {
+        return TimeUnit.NANOSECONDS.toMillis(holdDelayNanos(keyCode));
+    }
+
+    private long holdDelayNanos(int keyCode) {
+        HoldDelays current = holdDelays;
+        int index = Arrays.binarySearch(current.keyCodes(), keyCode);
+        return index >= 0 ? current.delayNanos()[index] : TimeUnit.MILLISECONDS.toNanos(DEFAULT_HOLD_DELAY_MS);
+    }
+
+    /**
+     * The keys with their own hold delay, sorted by key code, replaced as a whole when a delay changes.
+     */
+    private record HoldDelays(int[] keyCodes, long[] delayNanos) {
     }
 
     public void subscribe(int keyCode, IKeyObserver observer) {
-        observers.computeIfAbsent(keyCode, k -> new ArrayList<>()).add(observer);
+        observers.add(keyCode, observer);
     }
 
     public void unsubscribe(int keyCode, IKeyObserver observer) {
-        List<IKeyObserver> keyObservers = observers.get(keyCode);
-        if (keyObservers != null) {
-            keyObservers.remove(observer);
-            if (keyObservers.isEmpty()) {
-                 observers.remove(keyCode);
-             }
-        }
+        observers.remove(keyCode, observer);
     }
 
     @Override
     public void nativeKeyPressed(NativeKeyEvent nativeEvent){
-        final int keyCode = nativeEvent.getKeyCode();
+        receive(NativeKeyEvent.NATIVE_KEY_PRESSED, nativeEvent.getKeyCode(), nativeEvent);
+    }
+
+    @Override
+    public void nativeKeyReleased(NativeKeyEvent nativeEvent) {
+        receive(NativeKeyEvent.NATIVE_KEY_RELEASED, nativeEvent.getKeyCode(), nativeEvent);
+    }
+
+    @Override
+    public void nativeMousePressed(NativeMouseEvent nativeEvent){
+        receive(NativeMouseEvent.NATIVE_MOUSE_PRESSED, nativeEvent.getButton(), nativeEvent);
+    }
+
+    /**
+     * Hands an event received on the native hook thread over to the input ring, or processes it directly
+     * without one.
+     */
+    private void receive(int id, int code, NativeInputEvent nativeEvent) {
+        long receivedAt = System.nanoTime();
+        if (inputRing == null) {
+            process(id, code, receivedAt, nativeEvent);
+        } else {
+            inputRing.publish(id, code, receivedAt, nativeEvent);
+        }
+    }
+
+    private void process(int id, int code, long receivedAt, NativeInputEvent nativeEvent) {
+        inputLatency.record(System.nanoTime() - receivedAt);
+        switch (id) {
+            case NativeKeyEvent.NATIVE_KEY_PRESSED -> keyPressed(code, (NativeKeyEvent) nativeEvent);
+            case NativeKeyEvent.NATIVE_KEY_RELEASED -> keyReleased(code, (NativeKeyEvent) nativeEvent);
+            case NativeMouseEvent.NATIVE_MOUSE_PRESSED -> holdDetector.disarmAll();
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Forgets the pressed keys after input events have been lost, since a release may be among them:
+     * a key still down is then seen as pressed again on its next auto-repeat.
+     */
+    private void resynchronize(long dropped) {
+        log.warn("{} input events dropped, resetting the pressed keys", dropped);
+        currentlyPressedKeys.clear();
+        holdDetector.disarmAll();
+    }
+
+    private void keyPressed(int keyCode, NativeKeyEvent nativeEvent) {
         if (!currentlyPressedKeys.add(keyCode)) {
             return;
         }
 
-        cancelAllHoldTasks();
-        final List<IKeyObserver> observersList = observers.getOrDefault(keyCode, new ArrayList<>());
-        var allObserverList = observers.get(KEY_ALL);
-        if (allObserverList != null && !allObserverList.isEmpty()) {
-            observersList.addAll(allObserverList);
-        }
-        if (observersList == null || observersList.isEmpty()) {
+        holdDetector.disarmAll();
+        final IKeyObserver[] keyObservers = observers.get(keyCode);
+        final IKeyObserver[] allKeysObservers = observers.getAllKeys();
+        if (keyObservers.length == 0 && allKeysObservers.length == 0) {
             currentlyPressedKeys.remove(keyCode);
             return;
         }
-        List<IKeyObserver> observersToNotifyPress = new ArrayList<>(observersList);
-        Platform.runLater(() -> {
-            observersToNotifyPress.forEach(observer -> {
-                try {
-                    observer.update(keyCode, KeyOperation.KEY_PRESS, nativeEvent);
-                }
-                catch (Exception e) {
-                    log.error("Observer error {} during KEY_PRESS for {}", observer.getClass().getSimpleName(), keyCode, e);
-                }
-            });
-        });
-        Runnable holdTask = () -> {
-            try {
-                if (pendingHoldTasks.containsKey(keyCode)) {
-                    List<IKeyObserver> observersToNotifyHold = new ArrayList<>(observersList);
-                    Platform.runLater(() -> {
-                        observersToNotifyHold.forEach(observer -> {
-                            try { observer.update(keyCode, KeyOperation.KEY_HOLD, nativeEvent); }
-                            catch (Exception e) { log.error("Error in observer {} during KEY_HOLD for {}", observer.getClass().getSimpleName(), keyCode, e); }
-                        });
-                    });
-                    pendingHoldTasks.remove(keyCode);
-                }
-            } catch (Exception e) {
-                log.error("Error in task KEY_HOLD scheduled for {}", keyCode, e);
-            }
-        };
-        ScheduledFuture<?> future = keyHoldScheduler.schedule(holdTask, HOLD_DELAY_MS, TimeUnit.MILLISECONDS);
-        pendingHoldTasks.put(keyCode, future);
+        final long inputId = PipelineCorrelation.nextInputId();
+        dispatch(inputId, keyCode, KeyOperation.KEY_PRESS, keyObservers, allKeysObservers, nativeEvent);
+        holdDetector.arm(keyCode, holdDelayNanos(keyCode), inputId, nativeEvent);
     }
 
-    @Override
-    public void nativeKeyReleased(NativeKeyEvent nativeEvent) {
-        final int keyCode = nativeEvent.getKeyCode();
+    private void keyReleased(int keyCode, NativeKeyEvent nativeEvent) {
         boolean wasPressed = currentlyPressedKeys.remove(keyCode);
         if (!wasPressed) {
             return;
         }
-        final List<IKeyObserver> observersList = observers.getOrDefault(keyCode, new ArrayList<>());
-        var allObserverList = observers.get(KEY_ALL);
-        if (allObserverList != null && !allObserverList.isEmpty()) {
-            observersList.addAll(allObserverList);
+        holdDetector.disarm(keyCode);
+        IKeyObserver[] keyObservers = observers.get(keyCode);
+        IKeyObserver[] allKeysObservers = observers.getAllKeys();
+        if (keyObservers.length == 0 && allKeysObservers.length == 0) {
+            return;
         }
-        if (observersList == null || observersList.isEmpty()) {
+        dispatch(PipelineCorrelation.nextInputId(), keyCode, KeyOperation.KEY_RELEASE, keyObservers, allKeysObservers, nativeEvent);
+    }
+
+    /**
+     * Notifies an observer on the thread of its affinity; observers with {@link DispatchAffinity#INPUT_THREAD}
+     * are notified directly when called from the input thread. Lets observers running off the JavaFX
+     * application thread, like the global hotkey manager, hand their own notifications over to their observers.
+     * The input id being dispatched, if any, goes along with the notification.
+     *
+     * @param observer The observer
+     * @param keyCode The key code
+     * @param mode The operation
+     * @param nativeKeyEvent The native event
+     */
+    public void notifyObserver(IKeyObserver observer, int keyCode, KeyOperation mode, NativeKeyEvent nativeKeyEvent) {
+        DispatchAffinity affinity = observer.getDispatchAffinity();
+        if (affinity == DispatchAffinity.INPUT_THREAD && Thread.currentThread() == inputThread) {
+            try {
+                observer.update(keyCode, mode, nativeKeyEvent);
+            } catch (Exception e) {
+                log.error("Observer error {} during {} for {}", observer.getClass().getSimpleName(), mode, keyCode, e);
+            }
             return;
         }
-        cancelHoldTask(keyCode);
+        DispatchTask task = acquireTask(PipelineCorrelation.getDispatchingInputId(), keyCode, mode, affinity, nativeKeyEvent);
+        task.observer = observer;
+        submit(task);
+    }
 
-        List<IKeyObserver> observersToNotifyRelease = new ArrayList<>(observersList);
-        Platform.runLater(() -> {
-            observersToNotifyRelease.forEach(observer -> {
-                try {
-                    observer.update(keyCode, KeyOperation.KEY_RELEASE, nativeEvent);
-                }
-                catch (Exception e) {
-                    log.error("Error in observer {} during KEY_RELEASE for {}", observer.getClass().getSimpleName(), keyCode, e);
-                }
-            });
-        });
+    /**
+     * Hands the notification of the observers to the dispatcher of each affinity they have, through pooled tasks.
+     * The observer arrays are the immutable snapshots of the {@link KeyObserverTable}, so they are shared as they are.
+     */
+    private void dispatch(long inputId, int keyCode, KeyOperation operation, IKeyObserver[] keyObservers,
+                          IKeyObserver[] allKeysObservers, NativeKeyEvent nativeEvent) {
+        for (DispatchAffinity affinity : AFFINITIES) {
+            if (hasAffinity(keyObservers, affinity) || hasAffinity(allKeysObservers, affinity)) {
+                DispatchTask task = acquireTask(inputId, keyCode, operation, affinity, nativeEvent);
+                task.keyObservers = keyObservers;
+                task.allKeysObservers = allKeysObservers;
+                submit(task);
+            }
+        }
     }
 
-    private void cancelHoldTask(int keyCode) {
-        ScheduledFuture<?> existingTask = pendingHoldTasks.remove(keyCode);
-        if (existingTask != null) {
-            boolean cancelled = existingTask.cancel(false);
-            if (cancelled) log.trace("Cancelled pending task KEY_HOLD for {}", keyCode);
+    private static boolean hasAffinity(IKeyObserver[] observersToCheck, DispatchAffinity affinity) {
+        for (IKeyObserver observer : observersToCheck) {
+            if (observer.getDispatchAffinity() == affinity) {
+                return true;
+            }
         }
+        return false;
     }
 
-    @Override
-    public void nativeMousePressed(NativeMouseEvent nativeEvent){
-        cancelAllHoldTasks();
+    private DispatchTask acquireTask(long inputId, int keyCode, KeyOperation operation, DispatchAffinity affinity,
+                                     NativeKeyEvent nativeEvent) {
+        DispatchTask task = dispatchTasks.poll();
+        if (task == null) {
+            task = new DispatchTask();
+        }
+        task.inputId = inputId;
+        task.keyCode = keyCode;
+        task.operation = operation;
+        task.affinity = affinity;
+        task.nativeEvent = nativeEvent;
+        return task;
     }
 
-    private void cancelAllHoldTasks() {
-        if (pendingHoldTasks.isEmpty()) {
-            return;
+    private void submit(DispatchTask task) {
+        int index = task.affinity.ordinal();
+        queuedDispatches.incrementAndGet(index);
+        task.queuedAt = System.nanoTime();
+        dispatchers[index].execute(task);
+    }
+
+    /**
+     * A notification waiting for the dispatcher of an affinity: either of a single observer, or of the observers
+     * of a key having that affinity. Tasks go back to the pool once they have run, so that steady typing does
+     * not allocate; the pool only grows when the dispatchers fall behind.
+     */
+    private final class DispatchTask implements Runnable {
+        private static final IKeyObserver[] NONE = new IKeyObserver[0];
+
+        private long inputId;
+        private int keyCode;
+        private KeyOperation operation;
+        private DispatchAffinity affinity;
+        private IKeyObserver observer;
+        private IKeyObserver[] keyObservers = NONE;
+        private IKeyObserver[] allKeysObservers = NONE;
+        private NativeKeyEvent nativeEvent;
+        private long queuedAt;
+
+        /**
+         * Notifies the observers, recording a {@link KeyDispatchEvent} with the time spent in the dispatcher queue.
+         * The input id is published to the {@link PipelineCorrelation} while the observers run.
+         */
+        @Override
+        public void run() {
+            long queueDelay = System.nanoTime() - queuedAt;
+            queuedDispatches.decrementAndGet(affinity.ordinal());
+            dispatchLatencies[affinity.ordinal()].record(queueDelay);
+            KeyDispatchEvent event = DISPATCH_EVENT_TYPE.isEnabled() ? new KeyDispatchEvent() : null;
+            if (event != null) {
+                event.begin();
+            }
+            PipelineCorrelation.setDispatchingInputId(inputId);
+            int notified;
+            try {
+                if (observer != null) {
+                    deliver(observer);
+                    notified = 1;
+                } else {
+                    notified = notifyObservers(keyObservers) + notifyObservers(allKeysObservers);
+                }
+            } finally {
+                PipelineCorrelation.setDispatchingInputId(0);
+            }
+            if (event != null) {
+                commit(event, notified, queueDelay);
+            }
+            release();
         }
-        for (ScheduledFuture<?> future : pendingHoldTasks.values()) {
-            future.cancel(false);
+
+        private void commit(KeyDispatchEvent event, int notified, long queueDelay) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.correlationId = inputId;
+                event.keyCode = keyCode;
+                event.operation = operation.name();
+                event.observers = notified;
+                event.queueDelay = queueDelay;
+                event.commit();
+            }
+        }
+
+        private int notifyObservers(IKeyObserver[] observersToNotify) {
+            int notified = 0;
+            for (IKeyObserver candidate : observersToNotify) {
+                if (candidate.getDispatchAffinity() == affinity) {
+                    deliver(candidate);
+                    notified++;
+                }
+            }
+            return notified;
+        }
+
+        private void deliver(IKeyObserver observerToNotify) {
+            try {
+                observerToNotify.update(keyCode, operation, nativeEvent);
+            }
+            catch (Exception e) {
+                log.error("Observer error {} during {} for {}", observerToNotify.getClass().getSimpleName(), operation, keyCode, e);
+            }
+        }
+
+        private void release() {
+            observer = null;
+            keyObservers = NONE;
+            allKeysObservers = NONE;
+            nativeEvent = null;
+            dispatchTasks.offer(this);
         }
-        pendingHoldTasks.clear();
     }
 
+    /**
+     * @param keyCode The native key code
+     * @return The name of the key, or null if the key is not in {@link KeyNames}
+     */
     public static String getKeyName(int keyCode) {
-        return keyCodeToName.getForward(keyCode);
+        return KeyNames.NATIVE.nameOf(keyCode);
     }
 
+    /**
+     * @param keyName The name of the key or one of its aliases, in any case
+     * @return The native key code, or {@link it.arturoiafrate.shortcutbuddy.model.type.KeyNameTable#NO_CODE} if the name is unknown
+     */
     public static int getKeyCode(String keyName) {
-        return keyCodeToName.getReverse(keyName);
+        return KeyNames.NATIVE.codeOf(keyName);
     }
 }
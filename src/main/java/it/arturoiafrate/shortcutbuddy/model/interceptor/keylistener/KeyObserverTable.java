@@ -0,0 +1,68 @@
+package it.arturoiafrate.shortcutbuddy.model.interceptor.keylistener;
+
+import it.arturoiafrate.shortcutbuddy.model.type.KeyCodeTable;
+
+import java.util.Arrays;
+
+/**
+ * Copy-on-write table of the key observers, indexed by key code through a {@link KeyCodeTable}.
+ * Lookups are lock free and return the array stored for the key, which is never modified once published;
+ * subscriptions replace the array, they are rare compared to key events.
+ * The observers of {@link KeyListener#KEY_ALL} are kept apart, since they are notified for every key.
+ */
+final class KeyObserverTable {
+    static final IKeyObserver[] NONE = new IKeyObserver[0];
+
+    private final KeyCodeTable<IKeyObserver[]> observersByKey = new KeyCodeTable<>();
+    private volatile IKeyObserver[] allKeysObservers = NONE;
+
+    /**
+     * @param keyCode The key code
+     * @return The observers of the key, in subscription order, without those of {@link KeyListener#KEY_ALL}
+     */
+    IKeyObserver[] get(int keyCode) {
+        if (keyCode == KeyListener.KEY_ALL) {
+            return allKeysObservers;
+        }
+        IKeyObserver[] observers = observersByKey.get(keyCode);
+        return observers != null ? observers : NONE;
+    }
+
+    /**
+     * @return The observers of every key, in subscription order
+     */
+    IKeyObserver[] getAllKeys() {
+        return allKeysObservers;
+    }
+
+    synchronized void add(int keyCode, IKeyObserver observer) {
+        IKeyObserver[] current = get(keyCode);
+        IKeyObserver[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = observer;
+        set(keyCode, updated);
+    }
+
+    /**
+     * Removes the first subscription of the observer to the key, if any.
+     */
+    synchronized void remove(int keyCode, IKeyObserver observer) {
+        IKeyObserver[] current = get(keyCode);
+        for (int i = 0; i < current.length; i++) {
+            if (current[i].equals(observer)) {
+                IKeyObserver[] updated = new IKeyObserver[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                set(keyCode, updated);
+                return;
+            }
+        }
+    }
+
+    private void set(int keyCode, IKeyObserver[] observers) {
+        if (keyCode == KeyListener.KEY_ALL) {
+            allKeysObservers = observers.length == 0 ? NONE : observers;
+        } else {
+            observersByKey.put(keyCode, observers.length == 0 ? null : observers);
+        }
+    }
+}
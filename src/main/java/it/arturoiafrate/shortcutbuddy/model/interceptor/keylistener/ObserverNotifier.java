@@ -0,0 +1,12 @@
+package it.arturoiafrate.shortcutbuddy.model.interceptor.keylistener;
+
+import com.github.kwhat.jnativehook.keyboard.NativeKeyEvent;
+
+/**
+ * Delivers a key event to an observer, possibly on another thread, such as
+ * {@link KeyListener#notifyObserver(IKeyObserver, int, KeyOperation, NativeKeyEvent)}.
+ */
+@FunctionalInterface
+public interface ObserverNotifier {
+    void notify(IKeyObserver observer, int keyCode, KeyOperation mode, NativeKeyEvent nativeKeyEvent);
+}
@@ -50,6 +50,14 @@ public class ClipboardHistoryManager implements IClipboardChangedService {
         }
         clipboardMonitorService.subscribe(this);
         clipboardMonitorService.start();
+        loadHistory();
+    }
+
+    /**
+     * Reads the history size limit and loads the most recent entries from the database,
+     * without listening to the clipboard.
+     */
+    public void loadHistory() {
         try {
             this.historySizeLimit = Integer.parseInt(settingsManager.getSetting("clipboardHistorySize").getValue());
             log.debug("Clipboard history size limit set to: {}", historySizeLimit);
@@ -188,7 +196,8 @@ public class ClipboardHistoryManager implements IClipboardChangedService {
         }
 
         log.info("Saving {} new clipboard entries to the database...", entriesToSave.size());
-        boolean saved = repository.saveEntries(entriesToSave);
+        // Runs on the background scheduler or at shutdown, so waiting for the writer is fine here
+        boolean saved = repository.saveEntries(entriesToSave).join();
 
         if (saved) {
             log.debug("New entries saved successfully.");
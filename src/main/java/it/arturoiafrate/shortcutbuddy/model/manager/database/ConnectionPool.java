@@ -0,0 +1,196 @@
+package it.arturoiafrate.shortcutbuddy.model.manager.database;
+
+import it.arturoiafrate.shortcutbuddy.model.enumerator.StorageProfile;
+import lombok.extern.slf4j.Slf4j;
+import org.sqlite.SQLiteDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Small bounded pool of long-lived SQLite connections.
+ * It holds one dedicated writer connection and up to a fixed number of reader connections,
+ * created lazily on first demand. Connections idle for longer than the validation interval
+ * are health-checked before being handed out and replaced if they are no longer usable.
+ */
+@Slf4j
+class ConnectionPool {
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+    private static final long VALIDATION_INTERVAL_MS = 30_000;
+
+    private final SQLiteDataSource dataSource;
+    private final StorageProfile storageProfile;
+    private final int maxReaders;
+    private final long borrowTimeoutMs;
+    private final BlockingQueue<PooledConnection> idleReaders = new LinkedBlockingQueue<>();
+    private final AtomicInteger openReaders = new AtomicInteger(0);
+    private final Semaphore writerPermit = new Semaphore(1, true);
+    private PooledConnection writer;
+    private volatile boolean closed = false;
+
+    ConnectionPool(SQLiteDataSource dataSource, StorageProfile storageProfile, int maxReaders, long borrowTimeoutMs) {
+        this.dataSource = dataSource;
+        this.storageProfile = storageProfile;
+        this.maxReaders = Math.max(1, maxReaders);
+        this.borrowTimeoutMs = borrowTimeoutMs;
+    }
+
+    /**
+     * Borrows a reader connection, opening a new one if the pool has not reached its bound.
+     *
+     * @return A connection that returns to the pool when closed
+     * @throws SQLException If no connection becomes available within the borrow timeout
+     */
+    Connection borrowReader() throws SQLException {
+        ensureOpen();
+        PooledConnection pooled = idleReaders.poll();
+        if (pooled == null) {
+            if (openReaders.incrementAndGet() <= maxReaders) {
+                try {
+                    pooled = open("reader");
+                } catch (SQLException e) {
+                    openReaders.decrementAndGet();
+                    throw e;
+                }
+            } else {
+                openReaders.decrementAndGet();
+                pooled = awaitIdleReader();
+            }
+        }
+        PooledConnection reader = validate(pooled, "reader");
+        return reader.lease(() -> releaseReader(reader));
+    }
+
+    /**
+     * Borrows the dedicated writer connection. Only one caller at a time can hold it.
+     *
+     * @return A connection that returns to the pool when closed
+     * @throws SQLException If the writer does not become available within the borrow timeout
+     */
+    Connection borrowWriter() throws SQLException {
+        ensureOpen();
+        try {
+            if (!writerPermit.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLTimeoutException("Writer connection not available within " + borrowTimeoutMs + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the writer connection", e);
+        }
+        try {
+            writer = (writer == null) ? open("writer") : validate(writer, "writer");
+        } catch (SQLException e) {
+            writerPermit.release();
+            throw e;
+        }
+        PooledConnection current = writer;
+        return current.lease(() -> releaseWriter(current));
+    }
+
+    /**
+     * Closes idle connections and marks the pool as closed.
+     * Connections still borrowed are closed as soon as they are returned.
+     */
+    void shutdown() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        PooledConnection idle;
+        while ((idle = idleReaders.poll()) != null) {
+            idle.close();
+            openReaders.decrementAndGet();
+        }
+        try {
+            if (writerPermit.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                if (writer != null) {
+                    writer.close();
+                    writer = null;
+                }
+            } else {
+                log.warn("Writer connection still in use during pool shutdown");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while closing the writer connection");
+        }
+        log.info("Connection pool closed");
+    }
+
+    private PooledConnection awaitIdleReader() throws SQLException {
+        try {
+            PooledConnection pooled = idleReaders.poll(borrowTimeoutMs, TimeUnit.MILLISECONDS);
+            if (pooled == null) {
+                throw new SQLTimeoutException("No reader connection available within " + borrowTimeoutMs + " ms");
+            }
+            return pooled;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a reader connection", e);
+        }
+    }
+
+    private PooledConnection validate(PooledConnection pooled, String role) throws SQLException {
+        if (System.currentTimeMillis() - pooled.getLastUsedAt() < VALIDATION_INTERVAL_MS
+                || pooled.isHealthy(VALIDATION_TIMEOUT_SECONDS)) {
+            return pooled;
+        }
+        log.warn("Discarding unhealthy {} connection", role);
+        pooled.close();
+        return open(role);
+    }
+
+    private PooledConnection open(String role) throws SQLException {
+        log.debug("Opening new {} connection", role);
+        Connection connection = dataSource.getConnection();
+        try (Statement stmt = connection.createStatement()) {
+            for (String pragma : storageProfile.getConnectionPragmas()) {
+                stmt.execute(pragma);
+            }
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        return new PooledConnection(connection);
+    }
+
+    private void releaseReader(PooledConnection reader) {
+        if (!resetOrDiscard(reader) || closed) {
+            reader.close();
+            openReaders.decrementAndGet();
+            return;
+        }
+        idleReaders.offer(reader);
+    }
+
+    private void releaseWriter(PooledConnection current) {
+        if (!resetOrDiscard(current) || closed) {
+            current.close();
+            writer = null;
+        }
+        writerPermit.release();
+    }
+
+    private boolean resetOrDiscard(PooledConnection pooled) {
+        try {
+            pooled.reset();
+            return true;
+        } catch (SQLException e) {
+            log.warn("Cannot reset pooled connection, discarding it", e);
+            return false;
+        }
+    }
+
+    private void ensureOpen() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+    }
+}
@@ -1,22 +1,33 @@
 package it.arturoiafrate.shortcutbuddy.model.manager.database;
 
+import it.arturoiafrate.shortcutbuddy.model.enumerator.StorageProfile;
 import it.arturoiafrate.shortcutbuddy.model.manager.AbstractManager;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.flywaydb.core.Flyway;
 import org.sqlite.SQLiteDataSource;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 
 @Slf4j
 @Singleton
 public class DatabaseManager extends AbstractManager {
     private static final String DB_NAME = "shortcutbuddy.sqlite";
     private static final String DEV_DB_PATH = "shortcutbuddy_dev.sqlite";
+    private static final int READER_CONNECTIONS = 3;
+    private static final long BORROW_TIMEOUT_MS = 5000;
+    private static final String STORAGE_PROFILE_SQL = "SELECT value FROM settings WHERE key = 'storageProfile'";
     private final SQLiteDataSource dataSource;
+    private final ConnectionPool connectionPool;
+    @Getter
+    private final StorageProfile storageProfile;
 
     @Inject
     public DatabaseManager() {
@@ -33,6 +44,10 @@ public class DatabaseManager extends AbstractManager {
                 log.info("DataSource created successfully for DB URL: {}", dbUrl);
             }
             initDatabaseStructure();
+            this.storageProfile = loadStorageProfile();
+            applyJournalMode();
+            this.connectionPool = new ConnectionPool(this.dataSource, this.storageProfile, READER_CONNECTIONS, BORROW_TIMEOUT_MS);
+            log.info("Connection pool ready: 1 writer, up to {} readers, storage profile '{}'", READER_CONNECTIONS, this.storageProfile);
         } catch (Exception e) {
             log.error("CRITICAL ERROR during SQLite init '{}'.", dbUrl, e);
             throw new RuntimeException("Cannot create or configure SQLite DB", e);
@@ -40,11 +55,92 @@ public class DatabaseManager extends AbstractManager {
     }
 
 
+    /**
+     * Borrows a pooled reader connection. Closing the returned connection hands it back to the pool.
+     *
+     * @return A read connection
+     * @throws SQLException If the pool is not initialized or no connection is available in time
+     */
     public Connection getConnection() throws SQLException {
-        if(this.dataSource == null) {
+        if(this.connectionPool == null) {
             throw new SQLException("DataSource is not initialized");
         }
-        return this.dataSource.getConnection();
+        return this.connectionPool.borrowReader();
+    }
+
+    /**
+     * Borrows the dedicated writer connection. Closing the returned connection hands it back to the pool.
+     *
+     * @return The write connection
+     * @throws SQLException If the pool is not initialized or the writer is not released in time
+     */
+    public Connection getWriteConnection() throws SQLException {
+        if(this.connectionPool == null) {
+            throw new SQLException("DataSource is not initialized");
+        }
+        return this.connectionPool.borrowWriter();
+    }
+
+    /**
+     * Runs a passive WAL checkpoint on the writer connection, copying committed pages back into
+     * the database file without blocking readers. Does nothing when the profile does not use WAL.
+     */
+    public void checkpoint() {
+        checkpoint("PASSIVE");
+    }
+
+    /**
+     * Truncates the WAL file and closes the pooled connections and their cached statements.
+     */
+    public void shutdown() {
+        if(this.connectionPool != null) {
+            checkpoint("TRUNCATE");
+            log.info("Closing database connection pool");
+            this.connectionPool.shutdown();
+        }
+    }
+
+    private void checkpoint(String mode) {
+        if(this.storageProfile == null || !this.storageProfile.isWal()) {
+            return;
+        }
+        long startTime = System.nanoTime();
+        try (Connection conn = getWriteConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA wal_checkpoint(" + mode + ")")) {
+            if (rs.next()) {
+                log.debug("WAL checkpoint ({}) busy={}, log frames={}, checkpointed frames={} in {} ms",
+                        mode, rs.getInt(1), rs.getInt(2), rs.getInt(3), (System.nanoTime() - startTime) / 1_000_000);
+            }
+        } catch (SQLException e) {
+            log.warn("WAL checkpoint ({}) failed", mode, e);
+        }
+    }
+
+    private StorageProfile loadStorageProfile() {
+        try (Connection conn = this.dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(STORAGE_PROFILE_SQL);
+             ResultSet rs = pstmt.executeQuery()) {
+            if (rs.next()) {
+                return StorageProfile.fromString(rs.getString("value"));
+            }
+        } catch (SQLException e) {
+            log.warn("Cannot read storage profile setting, using default", e);
+        }
+        return StorageProfile.balanced;
+    }
+
+    private void applyJournalMode() throws SQLException {
+        try (Connection conn = this.dataSource.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(this.storageProfile.getJournalModePragma())) {
+            String journalMode = rs.next() ? rs.getString(1) : null;
+            if (!this.storageProfile.getJournalMode().equalsIgnoreCase(journalMode)) {
+                log.warn("Requested journal mode {} but SQLite is using {}", this.storageProfile.getJournalMode(), journalMode);
+            } else {
+                log.info("SQLite journal mode: {}", journalMode);
+            }
+        }
     }
 
     private void initDatabaseStructure(){
@@ -0,0 +1,181 @@
+package it.arturoiafrate.shortcutbuddy.model.manager.database;
+
+import it.arturoiafrate.shortcutbuddy.model.manager.metrics.MetricsRegistry;
+import it.arturoiafrate.shortcutbuddy.model.type.LatencyHistogram;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Single writer thread for all repository mutations.
+ * Callers submit {@link WriteCommand}s and receive a future; the writer drains the queue and
+ * runs everything it finds in one transaction on the pooled writer connection, isolating each
+ * command in a savepoint so that one failure does not discard the others.
+ * The queue is bounded: when it is full, submitters get a rejected future at once instead of
+ * piling up work, so that submitting from the FX thread never blocks it.
+ */
+@Slf4j
+@Singleton
+public class DatabaseWriter {
+    private static final int QUEUE_CAPACITY = 512;
+    private static final int MAX_COMMANDS_PER_TRANSACTION = 128;
+    private static final long POLL_TIMEOUT_MS = 250;
+    private static final long SHUTDOWN_TIMEOUT_MS = 5000;
+
+    private final DatabaseManager databaseManager;
+    private final BlockingQueue<PendingWrite<?>> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread writerThread;
+    private final LatencyHistogram transactionLatency;
+    private final LongAdder committedCommands;
+    private final LongAdder failedTransactions;
+    private volatile boolean running = true;
+
+    @Inject
+    public DatabaseWriter(DatabaseManager databaseManager, MetricsRegistry metricsRegistry) {
+        this.databaseManager = databaseManager;
+        this.transactionLatency = metricsRegistry.histogram("db.write.transaction");
+        this.committedCommands = metricsRegistry.counter("db.write.commands");
+        this.failedTransactions = metricsRegistry.counter("db.write.failures");
+        metricsRegistry.gauge("db.write.queueDepth", this::getQueueDepth);
+        this.writerThread = new Thread(this::drainLoop, "ShortcutBuddy-DatabaseWriter");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Queues a write command.
+     *
+     * @param command The command to execute
+     * @param <T> The result type of the command
+     * @return A future completed after the transaction containing the command has been committed
+     */
+    public <T> CompletableFuture<T> submit(WriteCommand<T> command) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        if (!running) {
+            future.completeExceptionally(new RejectedExecutionException("Database writer is shut down"));
+            return future;
+        }
+        PendingWrite<T> pending = new PendingWrite<>(command, future);
+        if (!queue.offer(pending)) {
+            log.warn("Database write queue is full, rejecting '{}'", command.name());
+            future.completeExceptionally(new RejectedExecutionException("Database write queue is full"));
+        } else if (!running && queue.remove(pending)) {
+            // Shutdown began after the check above: the writer may already have drained the queue for the
+            // last time, so the command is taken back unless the writer or the shutdown got it first
+            future.completeExceptionally(new RejectedExecutionException("Database writer is shut down"));
+        }
+        return future;
+    }
+
+    /**
+     * @return The number of commands waiting to be written
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Stops accepting commands, writes what is still queued and stops the writer thread.
+     */
+    public void shutdown() {
+        if (!running) {
+            return;
+        }
+        log.info("Shutting down database writer, {} commands pending", queue.size());
+        running = false;
+        try {
+            writerThread.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        PendingWrite<?> leftover;
+        while ((leftover = queue.poll()) != null) {
+            log.warn("Database write '{}' discarded at shutdown", leftover.command().name());
+            leftover.fail(new RejectedExecutionException("Database writer is shut down"));
+        }
+    }
+
+    private void drainLoop() {
+        List<PendingWrite<?>> batch = new ArrayList<>(MAX_COMMANDS_PER_TRANSACTION);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite<?> first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_COMMANDS_PER_TRANSACTION - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                log.warn("Database writer interrupted");
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("Unexpected error in database writer", e);
+            } finally {
+                batch.clear();
+            }
+        }
+        log.debug("Database writer stopped");
+    }
+
+    private void writeBatch(List<PendingWrite<?>> batch) {
+        long startTime = System.nanoTime();
+        List<Runnable> completions = new ArrayList<>(batch.size());
+        try (Connection conn = databaseManager.getWriteConnection()) {
+            conn.setAutoCommit(false);
+            for (PendingWrite<?> pending : batch) {
+                completions.add(pending.execute(conn));
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            failedTransactions.increment();
+            log.error("Database write transaction failed, {} commands rolled back", batch.size(), e);
+            batch.forEach(pending -> pending.fail(e));
+            return;
+        }
+        long elapsed = System.nanoTime() - startTime;
+        transactionLatency.record(elapsed);
+        committedCommands.add(batch.size());
+        log.debug("Committed {} write commands in {} ms", batch.size(), elapsed / 1_000_000);
+        completions.forEach(Runnable::run);
+    }
+
+    private record PendingWrite<T>(WriteCommand<T> command, CompletableFuture<T> future) {
+
+        /**
+         * Runs the command inside a savepoint.
+         *
+         * @return The completion to run once the enclosing transaction is committed
+         * @throws SQLException If the savepoint itself cannot be created or rolled back
+         */
+        Runnable execute(Connection conn) throws SQLException {
+            Savepoint savepoint = conn.setSavepoint();
+            try {
+                T result = command.work().execute(conn);
+                conn.releaseSavepoint(savepoint);
+                return () -> future.complete(result);
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback(savepoint);
+                log.warn("Database write '{}' rolled back", command.name());
+                return () -> future.completeExceptionally(e);
+            }
+        }
+
+        void fail(Throwable cause) {
+            future.completeExceptionally(cause);
+        }
+    }
+}
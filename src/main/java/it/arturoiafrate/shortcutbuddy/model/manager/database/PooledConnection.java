@@ -0,0 +1,204 @@
+package it.arturoiafrate.shortcutbuddy.model.manager.database;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A long-lived physical SQLite connection owned by the {@link ConnectionPool}.
+ * Every borrower receives a lightweight {@link Connection} proxy: closing the proxy hands the
+ * physical connection back to the pool, and single-argument {@code prepareStatement} calls
+ * are served from a per-connection statement cache.
+ */
+@Slf4j
+final class PooledConnection {
+    private static final int STATEMENT_CACHE_SIZE = 32;
+
+    private final Connection physical;
+    private final Map<String, PreparedStatement> statementCache;
+    private long lastUsedAt;
+
+    PooledConnection(Connection physical) {
+        this.physical = physical;
+        this.lastUsedAt = System.currentTimeMillis();
+        this.statementCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > STATEMENT_CACHE_SIZE) {
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Checks that the physical connection is still usable.
+     *
+     * @param timeoutSeconds The validation timeout
+     * @return True if the connection can be handed out, false otherwise
+     */
+    boolean isHealthy(int timeoutSeconds) {
+        try {
+            return !physical.isClosed() && physical.isValid(timeoutSeconds);
+        } catch (SQLException e) {
+            log.warn("Health check failed for pooled connection", e);
+            return false;
+        }
+    }
+
+    /**
+     * Wraps the physical connection for a single borrower.
+     *
+     * @param onRelease Callback invoked once when the borrower closes the returned connection
+     * @return A connection proxy bound to this physical connection
+     */
+    Connection lease(Runnable onRelease) {
+        lastUsedAt = System.currentTimeMillis();
+        return (Connection) Proxy.newProxyInstance(
+                PooledConnection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new LeaseHandler(onRelease));
+    }
+
+    /**
+     * Restores the default connection state before the connection goes back to the pool.
+     * Any transaction left open by the previous borrower is rolled back.
+     *
+     * @throws SQLException If the connection cannot be reset
+     */
+    void reset() throws SQLException {
+        if (!physical.getAutoCommit()) {
+            physical.rollback();
+            physical.setAutoCommit(true);
+        }
+    }
+
+    long getLastUsedAt() {
+        return lastUsedAt;
+    }
+
+    /**
+     * Closes all cached statements and the physical connection.
+     */
+    void close() {
+        statementCache.values().forEach(PooledConnection::closeQuietly);
+        statementCache.clear();
+        try {
+            physical.close();
+        } catch (SQLException e) {
+            log.warn("Error closing pooled connection", e);
+        }
+    }
+
+    private PreparedStatement cachedStatement(String sql) throws SQLException {
+        PreparedStatement statement = statementCache.get(sql);
+        if (statement == null || statement.isClosed()) {
+            statement = physical.prepareStatement(sql);
+            statementCache.put(sql, statement);
+        }
+        return (PreparedStatement) Proxy.newProxyInstance(
+                PooledConnection.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                new CachedStatementHandler(statement));
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            log.debug("Error closing cached statement", e);
+        }
+    }
+
+    private static Object invokeOn(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class LeaseHandler implements InvocationHandler {
+        private final Runnable onRelease;
+        private boolean released = false;
+
+        private LeaseHandler(Runnable onRelease) {
+            this.onRelease = onRelease;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!released) {
+                        released = true;
+                        onRelease.run();
+                    }
+                    return null;
+                case "isClosed":
+                    return released || physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + physical + "]";
+                default:
+                    break;
+            }
+            if (released) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            if ("prepareStatement".equals(method.getName()) && args != null && args.length == 1) {
+                return cachedStatement((String) args[0]);
+            }
+            return invokeOn(physical, method, args);
+        }
+    }
+
+    private static final class CachedStatementHandler implements InvocationHandler {
+        private final PreparedStatement statement;
+        private boolean closed = false;
+
+        private CachedStatementHandler(PreparedStatement statement) {
+            this.statement = statement;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        statement.clearParameters();
+                        statement.clearBatch();
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || statement.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + statement + "]";
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Statement has already been closed");
+            }
+            return invokeOn(statement, method, args);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package it.arturoiafrate.shortcutbuddy.model.manager.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * A single database mutation executed by the {@link DatabaseWriter}.
+ * The work runs inside the writer's transaction and must not commit, roll back
+ * or change the auto-commit mode of the connection it receives.
+ *
+ * @param name A short name used in logs
+ * @param work The statements to execute
+ * @param <T> The type of the result handed back to the caller
+ */
+public record WriteCommand<T>(String name, Work<T> work) {
+
+    @FunctionalInterface
+    public interface Work<T> {
+        T execute(Connection connection) throws SQLException;
+    }
+}
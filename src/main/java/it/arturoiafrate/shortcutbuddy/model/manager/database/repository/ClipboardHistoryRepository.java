@@ -3,6 +3,8 @@ package it.arturoiafrate.shortcutbuddy.model.manager.database.repository;
 import it.arturoiafrate.shortcutbuddy.model.bean.ClipboardEntry;
 import it.arturoiafrate.shortcutbuddy.model.enumerator.ClipboardContentType;
 import it.arturoiafrate.shortcutbuddy.model.manager.database.DatabaseManager;
+import it.arturoiafrate.shortcutbuddy.model.manager.database.DatabaseWriter;
+import it.arturoiafrate.shortcutbuddy.model.manager.database.WriteCommand;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
@@ -11,12 +13,14 @@ import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Singleton
 @Slf4j
 public class ClipboardHistoryRepository {
 
     private final DatabaseManager databaseManager;
+    private final DatabaseWriter databaseWriter;
 
     private static final String INSERT_ENTRY_SQL = "INSERT INTO clipboard_history (content_type, content, timestamp) VALUES (?, ?, ?)";
     private static final String LOAD_RECENT_SQL = "SELECT id, content_type, content, timestamp FROM clipboard_history ORDER BY timestamp DESC LIMIT ?";
@@ -25,8 +29,9 @@ public class ClipboardHistoryRepository {
 
 
     @Inject
-    public ClipboardHistoryRepository(DatabaseManager databaseManager) {
+    public ClipboardHistoryRepository(DatabaseManager databaseManager, DatabaseWriter databaseWriter) {
         this.databaseManager = databaseManager;
+        this.databaseWriter = databaseWriter;
     }
 
     public List<ClipboardEntry> loadRecentEntries(int limit) {
@@ -49,58 +54,55 @@ public class ClipboardHistoryRepository {
         return entries;
     }
 
-    public boolean saveEntries(List<ClipboardEntry> entries) {
+    public CompletableFuture<Boolean> saveEntries(List<ClipboardEntry> entries) {
         if (entries == null || entries.isEmpty()) {
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
         log.debug("Saving {} new clipboard entries to DB", entries.size());
         String sql = INSERT_ENTRY_SQL;
-        int insertedCount = 0;
-
-        try (Connection conn = databaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-            conn.setAutoCommit(false);
-
-            for (ClipboardEntry entry : entries) {
-                pstmt.setString(1, entry.getContentType().name());
-                pstmt.setString(2, entry.getContent());
-                pstmt.setLong(3, entry.getTimestamp());
-                pstmt.addBatch();
-            }
+        return databaseWriter.submit(new WriteCommand<Boolean>("saveClipboardEntries", conn -> {
+            int insertedCount = 0;
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                for (ClipboardEntry entry : entries) {
+                    pstmt.setString(1, entry.getContentType().name());
+                    pstmt.setString(2, entry.getContent());
+                    pstmt.setLong(3, entry.getTimestamp());
+                    pstmt.addBatch();
+                }
 
-            int[] results = pstmt.executeBatch();
-            conn.commit();
+                int[] results = pstmt.executeBatch();
 
-            for (int result : results) {
-                if (result >= 0 || result == Statement.SUCCESS_NO_INFO) {
-                    insertedCount++;
-                } else if (result == Statement.EXECUTE_FAILED) {
-                    log.warn("A batch insert failed for a clipboard entry.");
+                for (int result : results) {
+                    if (result >= 0 || result == Statement.SUCCESS_NO_INFO) {
+                        insertedCount++;
+                    } else if (result == Statement.EXECUTE_FAILED) {
+                        log.warn("A batch insert failed for a clipboard entry.");
+                    }
                 }
+                log.debug("Successfully inserted {} clipboard entries", insertedCount);
             }
-            log.debug("Successfully inserted {} clipboard entries", insertedCount);
-
-        } catch (SQLException e) {
+            return insertedCount > 0;
+        })).exceptionally(e -> {
             log.error("Database error saving clipboard entries", e);
             return false;
-        }
-        return insertedCount > 0;
+        });
     }
 
-    public boolean deleteOldEntries(int keepCount) {
+    public CompletableFuture<Boolean> deleteOldEntries(int keepCount) {
         log.debug("Deleting old clipboard entries, keeping the latest {}", keepCount);
         String sql = DELETE_OLDEST_SQL;
-        try (Connection conn = databaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, keepCount);
-            int deletedRows = pstmt.executeUpdate();
-            log.debug("Deleted {} old clipboard entries", deletedRows);
-            return true;
-        } catch (SQLException e) {
+        return databaseWriter.submit(new WriteCommand<Boolean>("deleteOldClipboardEntries", conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, keepCount);
+                int deletedRows = pstmt.executeUpdate();
+                log.debug("Deleted {} old clipboard entries", deletedRows);
+                return true;
+            }
+        })).exceptionally(e -> {
             log.error("Database error deleting old clipboard entries", e);
             return false;
-        }
+        });
     }
 
     /**
@@ -2,6 +2,8 @@ package it.arturoiafrate.shortcutbuddy.model.manager.database.repository;
 
 import it.arturoiafrate.shortcutbuddy.model.bean.Setting;
 import it.arturoiafrate.shortcutbuddy.model.manager.database.DatabaseManager;
+import it.arturoiafrate.shortcutbuddy.model.manager.database.DatabaseWriter;
+import it.arturoiafrate.shortcutbuddy.model.manager.database.WriteCommand;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
@@ -13,6 +15,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Repository class for managing settings in the database.
@@ -27,16 +30,19 @@ public class SettingsRepository {
     private static final String UPDATE_SETTING_SQL = "UPDATE settings SET value = ? WHERE key = ?";
 
     private final DatabaseManager databaseManager;
+    private final DatabaseWriter databaseWriter;
 
     /**
      * Constructs a new SettingsRepository with the provided DatabaseManager.
      * 
-     * @param databaseManager The database manager to use for database operations
+     * @param databaseManager The database manager to use for read operations
+     * @param databaseWriter The writer that serializes all mutations
      */
     @Inject
-    public SettingsRepository(DatabaseManager databaseManager) {
+    public SettingsRepository(DatabaseManager databaseManager, DatabaseWriter databaseWriter) {
         log.debug("Initializing SettingsRepository");
         this.databaseManager = databaseManager;
+        this.databaseWriter = databaseWriter;
         log.debug("SettingsRepository initialized");
     }
 
@@ -107,31 +113,33 @@ public class SettingsRepository {
      * Updates a setting in the database.
      * 
      * @param setting The setting to update
-     * @return True if the update was successful, false otherwise
+     * @return A future completed with true if the update was successful, false otherwise
      */
-    public boolean updateSetting(Setting setting) {
+    public CompletableFuture<Boolean> updateSetting(Setting setting) {
         if (setting == null || StringUtils.isEmpty(setting.getKey())) {
             log.debug("Invalid setting provided, update failed");
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
 
         log.debug("Updating setting with key: {}", setting.getKey());
-        try (Connection conn = databaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(UPDATE_SETTING_SQL)) {
-
-            pstmt.setString(1, setting.getValue());
-            pstmt.setString(2, setting.getKey());
-            boolean result = pstmt.executeUpdate() > 0;
-            if (result) {
-                log.debug("Successfully updated setting with key: {}", setting.getKey());
-            } else {
-                log.warn("Failed to update setting with key: {}", setting.getKey());
+        String key = setting.getKey();
+        String value = setting.getValue();
+        return databaseWriter.submit(new WriteCommand<Boolean>("updateSetting", conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(UPDATE_SETTING_SQL)) {
+                pstmt.setString(1, value);
+                pstmt.setString(2, key);
+                boolean result = pstmt.executeUpdate() > 0;
+                if (result) {
+                    log.debug("Successfully updated setting with key: {}", key);
+                } else {
+                    log.warn("Failed to update setting with key: {}", key);
+                }
+                return result;
             }
-            return result;
-        } catch (SQLException e) {
-            log.error("Database error updating setting with key: {}", setting.getKey(), e);
+        })).exceptionally(e -> {
+            log.error("Database error updating setting with key: {}", key, e);
             return false;
-        }
+        });
     }
 
     /**
@@ -5,7 +5,14 @@ import com.google.gson.JsonSyntaxException;
 import com.google.gson.reflect.TypeToken;
 import it.arturoiafrate.shortcutbuddy.model.bean.AppShortcuts;
 import it.arturoiafrate.shortcutbuddy.model.bean.Shortcut;
+import it.arturoiafrate.shortcutbuddy.model.bean.ShortcutSearchResult;
 import it.arturoiafrate.shortcutbuddy.model.manager.database.DatabaseManager;
+import it.arturoiafrate.shortcutbuddy.model.manager.database.DatabaseWriter;
+import it.arturoiafrate.shortcutbuddy.model.manager.database.WriteCommand;
+import it.arturoiafrate.shortcutbuddy.model.manager.metrics.MetricsRegistry;
+import it.arturoiafrate.shortcutbuddy.model.type.LatencyHistogram;
+import it.arturoiafrate.shortcutbuddy.model.type.KeyComboCodec;
+import it.arturoiafrate.shortcutbuddy.model.type.UsageScore;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
@@ -16,9 +23,11 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -30,33 +39,63 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class ShortcutRepository {
 
     private static final String FIND_APP_SQL = "SELECT app_id, app_description, usage_count, user_defined FROM applications WHERE app_name = ?";
-    private static final String FIND_SHORTCUTS_SQL = "SELECT shortcut_id, keys_storage, description, category, default_value, starred, usage_count FROM shortcuts WHERE app_id = ? ORDER BY usage_count DESC";
-    private static final String FIND_MOST_USED_APPS_SQL = "SELECT app_id, app_name, app_description, usage_count, user_defined FROM applications ORDER BY usage_count DESC LIMIT ?";
-    private static final String UPDATE_APP_USAGE_SQL = "UPDATE applications SET usage_count = usage_count + ? WHERE app_name = ?";
+    private static final String FIND_SHORTCUTS_SQL = "SELECT shortcut_id, keys_packed, default_packed, CASE WHEN keys_packed IS NULL THEN keys_storage END AS keys_storage, description, category, "
+            + "CASE WHEN default_packed IS NULL THEN default_value END AS default_value, starred, usage_count FROM shortcuts WHERE app_id = ? ORDER BY usage_count DESC";
+    private static final String FIND_MOST_USED_APPS_WITH_SHORTCUTS_SQL = "SELECT a.app_id, a.app_name, a.app_description, a.usage_count AS app_usage_count, a.user_defined, "
+            + "s.shortcut_id, s.keys_packed, s.default_packed, CASE WHEN s.keys_packed IS NULL THEN s.keys_storage END AS keys_storage, s.description, s.category, "
+            + "CASE WHEN s.default_packed IS NULL THEN s.default_value END AS default_value, s.starred, s.usage_count "
+            + "FROM (SELECT app_id, app_name, app_description, usage_count, usage_score, user_defined FROM applications ORDER BY usage_score DESC, usage_count DESC LIMIT ?) a "
+            + "LEFT JOIN shortcuts s ON s.app_id = a.app_id "
+            + "ORDER BY a.usage_score DESC, a.usage_count DESC, a.app_id, s.usage_count DESC";
+    private static final String FIND_APP_USAGE_SCORE_SQL = "SELECT usage_score FROM applications WHERE app_name = ?";
+    private static final String UPDATE_APP_USAGE_SQL = "UPDATE applications SET usage_count = usage_count + ?, usage_score = ? WHERE app_name = ?";
     private static final String UPDATE_SHORTCUT_USAGE_SQL = "UPDATE shortcuts SET usage_count = usage_count + ? WHERE shortcut_id = ?";
     private static final String GET_ALL_APPS_SQL = "SELECT app_id, app_name, app_description, usage_count, user_defined FROM applications";
-    private static final String INSERT_SHORTCUT_SQL = "INSERT INTO shortcuts (app_id, keys_storage, description, category, user_defined, default_value, starred, usage_count) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-    private static final String UPDATE_SHORTCUT_SQL = "UPDATE shortcuts SET keys_storage = ?, description = ?, category = ? WHERE shortcuts.shortcut_id = ?";
-    private static final String RESTORE_DEFAULT_SHORTCUT_SQL = "UPDATE shortcuts SET keys_storage = default_value WHERE shortcuts.shortcut_id = ?";
+    private static final String INSERT_SHORTCUT_SQL = "INSERT INTO shortcuts (app_id, keys_storage, description, category, user_defined, default_value, starred, usage_count, keys_packed, default_packed) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_SHORTCUT_SQL = "UPDATE shortcuts SET keys_storage = ?, keys_packed = ?, description = ?, category = ? WHERE shortcuts.shortcut_id = ?";
+    private static final String RESTORE_DEFAULT_SHORTCUT_SQL = "UPDATE shortcuts SET keys_storage = default_value, keys_packed = default_packed WHERE shortcuts.shortcut_id = ?";
     private static final String DELETE_SHORTCUT_SQL = "DELETE FROM shortcuts WHERE shortcuts.shortcut_id = ?";
     private static final String INSERT_APP_SQL = "INSERT INTO applications (app_name, app_description, user_defined) VALUES (?, ?, ?)";
     private static final String UPDATE_SHORTCUT_STARRED_SQL = "UPDATE shortcuts SET starred = ? WHERE shortcuts.shortcut_id = ?";
+    private static final String GET_KEY_NAMES_SQL = "SELECT key_id, name FROM key_names";
+    private static final String INSERT_KEY_NAME_SQL = "INSERT OR IGNORE INTO key_names (name) VALUES (?)";
+    private static final String FIND_KEY_ID_SQL = "SELECT key_id FROM key_names WHERE name = ?";
+    private static final String SEARCH_SHORTCUTS_SQL = "SELECT s.shortcut_id, s.app_id, a.app_name, a.app_description, s.keys_packed, s.default_packed, "
+            + "CASE WHEN s.keys_packed IS NULL THEN s.keys_storage END AS keys_storage, s.description, s.category, "
+            + "CASE WHEN s.default_packed IS NULL THEN s.default_value END AS default_value, s.starred, s.usage_count, "
+            + "bm25(shortcuts_fts, 10.0, 2.0) AS rank "
+            + "FROM shortcuts_fts JOIN shortcuts s ON s.shortcut_id = shortcuts_fts.rowid JOIN applications a ON a.app_id = s.app_id "
+            + "WHERE shortcuts_fts MATCH ? AND (? IS NULL OR a.app_name = ?) "
+            + "ORDER BY rank LIMIT ?";
 
     private final Gson gson;
     private final Type stringListType;
+    private final KeyComboCodec keyComboCodec;
     private final DatabaseManager databaseManager;
+    private final DatabaseWriter databaseWriter;
+    private final LatencyHistogram appQueryLatency;
+    private final LatencyHistogram preloadQueryLatency;
+    private final LatencyHistogram searchQueryLatency;
 
     /**
      * Constructs a new ShortcutRepository with the provided DatabaseManager.
      * 
-     * @param databaseManager The database manager to use for database operations
+     * @param databaseManager The database manager to use for read operations
+     * @param databaseWriter The writer that serializes all mutations
+     * @param metricsRegistry The registry of the query timings
      */
     @Inject
-    public ShortcutRepository(DatabaseManager databaseManager) {
+    public ShortcutRepository(DatabaseManager databaseManager, DatabaseWriter databaseWriter, MetricsRegistry metricsRegistry) {
         log.debug("Initializing ShortcutRepository");
         this.databaseManager = databaseManager;
+        this.databaseWriter = databaseWriter;
+        this.appQueryLatency = metricsRegistry.histogram("db.query.app");
+        this.preloadQueryLatency = metricsRegistry.histogram("db.query.preload");
+        this.searchQueryLatency = metricsRegistry.histogram("db.query.search");
         this.gson = new Gson();
         this.stringListType = new TypeToken<List<String>>() {}.getType();
+        this.keyComboCodec = new KeyComboCodec();
+        loadKeyNames();
         log.debug("ShortcutRepository initialized");
     }
 
@@ -96,7 +135,10 @@ public class ShortcutRepository {
     }
 
     /**
-     * Finds the most frequently used applications.
+     * Finds the applications with the highest time-decayed usage score, see {@link UsageScore};
+     * applications not used since the score was introduced follow, by lifetime usage count.
+     * Applications and their shortcuts are streamed from a single ordered join and grouped
+     * as the cursor advances, so the preload costs one round trip regardless of the limit.
      * 
      * @param limit The maximum number of applications to return
      * @return A list of the most used applications with their shortcuts
@@ -104,34 +146,39 @@ public class ShortcutRepository {
     public List<AppShortcuts> findMostUsedApps(int limit) {
         log.debug("Finding {} most used applications", limit);
         List<AppShortcuts> appShortcutsList = new ArrayList<>();
+        long startTime = System.nanoTime();
+        int rowCount = 0;
 
         try (Connection conn = databaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(FIND_MOST_USED_APPS_SQL)) {
+             PreparedStatement pstmt = conn.prepareStatement(FIND_MOST_USED_APPS_WITH_SHORTCUTS_SQL)) {
 
             pstmt.setInt(1, limit);
             try (ResultSet rs = pstmt.executeQuery()) {
+                long currentAppId = -1;
+                List<Shortcut> shortcutList = null;
                 while (rs.next()) {
+                    rowCount++;
                     long appId = rs.getLong("app_id");
-                    String appName = rs.getString("app_name");
-                    String appDescription = rs.getString("app_description");
-                    long usageCount = rs.getLong("usage_count");
-                    boolean userDefined = rs.getBoolean("user_defined");
-
-                    log.debug("Loading shortcuts for app: {}", appName);
-                    List<Shortcut> shortcutList = new ArrayList<>();
-                    try (PreparedStatement pstmtShortcuts = conn.prepareStatement(FIND_SHORTCUTS_SQL)) {
-                        pstmtShortcuts.setLong(1, appId);
-                        try (ResultSet rsShortcuts = pstmtShortcuts.executeQuery()) {
-                            while (rsShortcuts.next()) {
-                                shortcutList.add(mapRowToShortcut(rsShortcuts, appId));
-                            }
-                        }
+                    if (shortcutList == null || appId != currentAppId) {
+                        currentAppId = appId;
+                        shortcutList = new ArrayList<>();
+                        String appName = rs.getString("app_name");
+                        String appDescription = rs.getString("app_description");
+                        long usageCount = rs.getLong("app_usage_count");
+                        boolean userDefined = rs.getBoolean("user_defined");
+                        log.debug("Loading shortcuts for app: {}", appName);
+                        appShortcutsList.add(new AppShortcuts(appName, appDescription, shortcutList, usageCount, userDefined));
+                    }
+                    rs.getLong("shortcut_id");
+                    if (!rs.wasNull()) {
+                        shortcutList.add(mapRowToShortcut(rs, appId));
                     }
-                    log.debug("Loaded {} shortcuts for app: {}", shortcutList.size(), appName);
-                    appShortcutsList.add(new AppShortcuts(appName, appDescription, shortcutList, usageCount, userDefined));
                 }
             }
-            log.debug("Found {} most used applications", appShortcutsList.size());
+            long elapsed = System.nanoTime() - startTime;
+            preloadQueryLatency.record(elapsed);
+            log.info("Preloaded {} most used applications ({} rows) in {} ms",
+                    appShortcutsList.size(), rowCount, elapsed / 1_000_000);
         } catch (SQLException e) {
             log.error("Database error fetching most used apps", e);
         }
@@ -152,6 +199,7 @@ public class ShortcutRepository {
         }
 
         log.debug("Finding application shortcuts for: {}", appName);
+        long startTime = System.nanoTime();
         try (Connection conn = databaseManager.getConnection()) {
 
             long appId = -1;
@@ -186,6 +234,7 @@ public class ShortcutRepository {
                     }
                 }
             }
+            appQueryLatency.record(System.nanoTime() - startTime);
             log.debug("Found {} shortcuts for application: {}", shortcutList.size(), appName);
             return new AppShortcuts(appName, appDescription, shortcutList, usageCount, userDefined);
 
@@ -196,73 +245,150 @@ public class ShortcutRepository {
     }
 
     /**
-     * Batch updates the usage count for multiple applications.
+     * Searches shortcut descriptions and categories through the full-text index.
+     * Every word of the query is matched as a prefix and results are ranked with BM25,
+     * descriptions weighing more than categories.
      * 
-     * @param increments A map of application names to their usage count increments
-     * @return True if the update was successful, false otherwise
+     * @param query The text typed by the user
+     * @param appFilter The application name to restrict the search to, or null to search all applications
+     * @param limit The maximum number of results
+     * @return The matching shortcuts, best match first
      */
-    public boolean batchIncrementUsageCount(Map<String, AtomicInteger> increments){
-        log.debug("Batch incrementing usage count for {} applications", increments.size());
-
+    public List<ShortcutSearchResult> search(String query, String appFilter, int limit) {
+        List<ShortcutSearchResult> results = new ArrayList<>();
+        String matchExpression = toMatchExpression(query);
+        if (matchExpression == null) {
+            return results;
+        }
+        log.debug("Searching shortcuts for '{}' (app: {})", matchExpression, appFilter);
+        long startTime = System.nanoTime();
+        String app = StringUtils.isEmpty(appFilter) ? null : appFilter.toLowerCase();
         try (Connection conn = databaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(UPDATE_APP_USAGE_SQL)) {
-            conn.setAutoCommit(false);
+             PreparedStatement pstmt = conn.prepareStatement(SEARCH_SHORTCUTS_SQL)) {
 
-            for (Map.Entry<String, AtomicInteger> entry : increments.entrySet()) {
-                String appName = entry.getKey();
-                int increment = entry.getValue().get();
+            pstmt.setString(1, matchExpression);
+            pstmt.setString(2, app);
+            pstmt.setString(3, app);
+            pstmt.setInt(4, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    results.add(new ShortcutSearchResult(
+                            rs.getString("app_name"),
+                            rs.getString("app_description"),
+                            mapRowToShortcut(rs, rs.getLong("app_id")),
+                            rs.getDouble("rank")));
+                }
+            }
+            long elapsed = System.nanoTime() - startTime;
+            searchQueryLatency.record(elapsed);
+            log.debug("Found {} shortcuts for '{}' in {} ms", results.size(), matchExpression, elapsed / 1_000_000);
+        } catch (SQLException e) {
+            log.error("Database error searching shortcuts for: {}", query, e);
+        }
+        return results;
+    }
 
-                log.debug("Incrementing usage count for {} by {}", appName, increment);
-                pstmt.setInt(1, increment);
-                pstmt.setString(2, appName);
-                pstmt.addBatch();
+    /**
+     * Turns user input into an FTS5 query where every word is a quoted prefix term,
+     * so that operators and punctuation typed by the user are never interpreted.
+     * 
+     * @param query The text typed by the user
+     * @return The FTS5 match expression, or null if the query has no searchable words
+     */
+    private String toMatchExpression(String query) {
+        if (StringUtils.isBlank(query)) {
+            return null;
+        }
+        StringBuilder expression = new StringBuilder();
+        for (String term : query.trim().split("\\s+")) {
+            String cleaned = term.replace("\"", "");
+            if (cleaned.isEmpty()) {
+                continue;
+            }
+            if (!expression.isEmpty()) {
+                expression.append(' ');
             }
+            expression.append('"').append(cleaned).append("\"*");
+        }
+        return expression.isEmpty() ? null : expression.toString();
+    }
 
-            int[] updateCounts = pstmt.executeBatch();
-            conn.commit();
-            log.debug("Successfully updated usage counts for {} applications", updateCounts.length);
-            return true;
-        } catch (SQLException e) {
+    /**
+     * Batch updates the usage count and the time-decayed usage score for multiple applications.
+     * 
+     * @param increments A map of application names to their usage count increments
+     * @return A future completed with true if the update was successful, false otherwise
+     */
+    public CompletableFuture<Boolean> batchIncrementUsageCount(Map<String, AtomicInteger> increments){
+        log.debug("Batch incrementing usage count for {} applications", increments.size());
+
+        return databaseWriter.submit(new WriteCommand<Boolean>("batchIncrementUsageCount", conn -> {
+            long now = System.currentTimeMillis();
+            try (PreparedStatement scoreStmt = conn.prepareStatement(FIND_APP_USAGE_SCORE_SQL);
+                 PreparedStatement pstmt = conn.prepareStatement(UPDATE_APP_USAGE_SQL)) {
+                for (Map.Entry<String, AtomicInteger> entry : increments.entrySet()) {
+                    String appName = entry.getKey();
+                    int increment = entry.getValue().get();
+
+                    double score = 0;
+                    scoreStmt.setString(1, appName);
+                    try (ResultSet rs = scoreStmt.executeQuery()) {
+                        if (rs.next()) {
+                            score = rs.getDouble("usage_score");
+                        }
+                    }
+                    log.debug("Incrementing usage count for {} by {}", appName, increment);
+                    pstmt.setInt(1, increment);
+                    pstmt.setDouble(2, UsageScore.add(score, increment, now));
+                    pstmt.setString(3, appName);
+                    pstmt.addBatch();
+                }
+
+                int[] updateCounts = pstmt.executeBatch();
+                log.debug("Successfully updated usage counts for {} applications", updateCounts.length);
+                return true;
+            }
+        })).exceptionally(e -> {
             log.error("Database error updating usage count", e);
             return false;
-        }
+        });
     }
 
     /**
      * Batch updates the usage count for multiple shortcuts.
      * 
      * @param increments A map of shortcut IDs to their usage count increments
-     * @return True if the update was successful, false otherwise
+     * @return A future completed with true if the update was successful, false otherwise
      */
-    public boolean batchIncrementShortcutUsageCount(Map<Long, AtomicInteger> increments){
+    public CompletableFuture<Boolean> batchIncrementShortcutUsageCount(Map<Long, AtomicInteger> increments){
         log.debug("Batch incrementing usage count for {} shortcuts", increments.size());
 
-        try (Connection conn = databaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(UPDATE_SHORTCUT_USAGE_SQL)) {
-            conn.setAutoCommit(false);
+        return databaseWriter.submit(new WriteCommand<Boolean>("batchIncrementShortcutUsageCount", conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(UPDATE_SHORTCUT_USAGE_SQL)) {
+                for (Map.Entry<Long, AtomicInteger> entry : increments.entrySet()) {
+                    Long shortcutId = entry.getKey();
+                    int increment = entry.getValue().get();
 
-            for (Map.Entry<Long, AtomicInteger> entry : increments.entrySet()) {
-                Long shortcutId = entry.getKey();
-                int increment = entry.getValue().get();
+                    log.debug("Incrementing usage count for shortcut ID {} by {}", shortcutId, increment);
+                    pstmt.setInt(1, increment);
+                    pstmt.setLong(2, shortcutId);
+                    pstmt.addBatch();
+                }
 
-                log.debug("Incrementing usage count for shortcut ID {} by {}", shortcutId, increment);
-                pstmt.setInt(1, increment);
-                pstmt.setLong(2, shortcutId);
-                pstmt.addBatch();
+                int[] updateCounts = pstmt.executeBatch();
+                log.debug("Successfully updated usage counts for {} shortcuts", updateCounts.length);
+                return true;
             }
-
-            int[] updateCounts = pstmt.executeBatch();
-            conn.commit();
-            log.debug("Successfully updated usage counts for {} shortcuts", updateCounts.length);
-            return true;
-        } catch (SQLException e) {
+        })).exceptionally(e -> {
             log.error("Database error updating shortcut usage count", e);
             return false;
-        }
+        });
     }
 
     /**
      * Maps a database row to a Shortcut object.
+     * Packed key combos are decoded through the shared key-name table; the JSON columns are only
+     * read for rows that could not be packed.
      * 
      * @param rs The ResultSet containing the shortcut data
      * @param appId The ID of the application this shortcut belongs to
@@ -270,22 +396,108 @@ public class ShortcutRepository {
      * @throws SQLException If there is an error accessing the ResultSet
      */
     private Shortcut mapRowToShortcut(ResultSet rs, long appId) throws SQLException {
-        String defaultValue = rs.getString("default_value");
         boolean starred = rs.getBoolean("starred");
         int usageCount = rs.getInt("usage_count");
         Shortcut shortcut = new Shortcut(
                 rs.getLong("shortcut_id"),
                 appId,
                 rs.getString("description"),
-                deserializeKeys(rs.getString("keys_storage")),
+                readKeys(rs, "keys_packed", "keys_storage"),
                 rs.getString("category"),
-                deserializeKeys(defaultValue),
+                readKeys(rs, "default_packed", "default_value"),
                 starred
         );
         shortcut.setUsageCount(usageCount);
         return shortcut;
     }
 
+    /**
+     * Reads a key combination, preferring the packed column over the JSON one.
+     * 
+     * @param rs The ResultSet positioned on the row
+     * @param packedColumn The name of the packed column
+     * @param jsonColumn The name of the JSON fallback column
+     * @return The list of keys
+     * @throws SQLException If there is an error accessing the ResultSet
+     */
+    private List<String> readKeys(ResultSet rs, String packedColumn, String jsonColumn) throws SQLException {
+        long packed = rs.getLong(packedColumn);
+        if (rs.wasNull()) {
+            return deserializeKeys(rs.getString(jsonColumn));
+        }
+        List<String> keys = keyComboCodec.decode(packed);
+        if (keys == null) {
+            // A key name was added after the table was loaded
+            loadKeyNames(rs.getStatement().getConnection());
+            keys = keyComboCodec.decode(packed);
+        }
+        return keys != null ? keys : new ArrayList<>();
+    }
+
+    /**
+     * Loads the interned key names used to decode packed key combos.
+     */
+    private void loadKeyNames() {
+        try (Connection conn = databaseManager.getConnection()) {
+            loadKeyNames(conn);
+        } catch (SQLException e) {
+            log.error("Database error loading key names", e);
+        }
+    }
+
+    private void loadKeyNames(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(GET_KEY_NAMES_SQL);
+             ResultSet rs = pstmt.executeQuery()) {
+            int count = 0;
+            while (rs.next()) {
+                keyComboCodec.register(rs.getInt("key_id"), rs.getString("name"));
+                count++;
+            }
+            log.debug("Loaded {} key names", count);
+        }
+    }
+
+    /**
+     * Packs a key combination, adding any key name not yet in the {@code key_names} table.
+     * Must run inside a write command: new names become visible to readers once the transaction commits.
+     * 
+     * @param conn The writer connection
+     * @param keys The keys to pack
+     * @return The packed combination, or {@link KeyComboCodec#NOT_PACKABLE} if it does not fit
+     * @throws SQLException If a key name cannot be stored
+     */
+    private long packKeys(Connection conn, List<String> keys) throws SQLException {
+        if (keys == null || keys.isEmpty() || keys.size() > KeyComboCodec.MAX_KEYS) {
+            return KeyComboCodec.NOT_PACKABLE;
+        }
+        int[] keyIds = new int[keys.size()];
+        for (int i = 0; i < keyIds.length; i++) {
+            String key = keys.get(i);
+            int keyId = keyComboCodec.idOf(key);
+            if (keyId == 0) {
+                try (PreparedStatement insert = conn.prepareStatement(INSERT_KEY_NAME_SQL);
+                     PreparedStatement find = conn.prepareStatement(FIND_KEY_ID_SQL)) {
+                    insert.setString(1, key);
+                    insert.executeUpdate();
+                    find.setString(1, key);
+                    try (ResultSet rs = find.executeQuery()) {
+                        keyId = rs.next() ? rs.getInt("key_id") : 0;
+                    }
+                }
+            }
+            keyIds[i] = keyId;
+        }
+        return KeyComboCodec.pack(keyIds);
+    }
+
+    private static void setPacked(PreparedStatement pstmt, int index, long packed) throws SQLException {
+        if (packed == KeyComboCodec.NOT_PACKABLE) {
+            pstmt.setNull(index, Types.INTEGER);
+        } else {
+            pstmt.setLong(index, packed);
+        }
+    }
+
     /**
      * Deserializes a JSON string into a list of keys.
      * 
@@ -331,113 +543,118 @@ public class ShortcutRepository {
      * Inserts a new application into the database.
      * 
      * @param app The application to insert
-     * @return True if the insertion was successful, false otherwise
+     * @return A future completed with true if the insertion was successful, false otherwise
      */
-    public boolean insertApp(AppShortcuts app) {
+    public CompletableFuture<Boolean> insertApp(AppShortcuts app) {
         log.debug("Inserting new application: {}", app.getAppName());
-        try (Connection conn = databaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(INSERT_APP_SQL)) {
-
-            pstmt.setString(1, app.getAppName());
-            pstmt.setString(2, app.getAppDescription());
-            pstmt.setBoolean(3, true);
-            boolean result = pstmt.executeUpdate() > 0;
-            if (result) {
-                log.debug("Successfully inserted application: {}", app.getAppName());
-            } else {
-                log.warn("Failed to insert application: {}", app.getAppName());
+        return databaseWriter.submit(new WriteCommand<Boolean>("insertApp", conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(INSERT_APP_SQL)) {
+                pstmt.setString(1, app.getAppName());
+                pstmt.setString(2, app.getAppDescription());
+                pstmt.setBoolean(3, true);
+                boolean result = pstmt.executeUpdate() > 0;
+                if (result) {
+                    log.debug("Successfully inserted application: {}", app.getAppName());
+                } else {
+                    log.warn("Failed to insert application: {}", app.getAppName());
+                }
+                return result;
             }
-            return result;
-        } catch (SQLException e) {
+        })).exceptionally(e -> {
             log.error("Database error inserting application: {}", app.getAppName(), e);
             return false;
-        }
+        });
     }
 
     /**
      * Inserts a new shortcut into the database.
      * 
      * @param shortcut The shortcut to insert
-     * @return True if the insertion was successful, false otherwise
+     * @return A future completed with true if the insertion was successful, false otherwise
      */
-    public boolean insertShortcut(Shortcut shortcut) {
+    public CompletableFuture<Boolean> insertShortcut(Shortcut shortcut) {
         log.debug("Inserting new shortcut: {} for app ID: {}", shortcut.getDescription(), shortcut.getAppId());
-        try (Connection conn = databaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(INSERT_SHORTCUT_SQL)) {
-
-            String keysJson = serializeKeys(shortcut.getKeys());
-            pstmt.setLong(1, shortcut.getAppId());
-            pstmt.setString(2, keysJson);
-            pstmt.setString(3, shortcut.getDescription());
-            pstmt.setString(4, shortcut.getCategory());
-            pstmt.setBoolean(5, true);
-            pstmt.setString(6, keysJson);
-            pstmt.setBoolean(7, shortcut.isStarred());
-            pstmt.setInt(8, 0);
-
-            boolean result = pstmt.executeUpdate() > 0;
-            if (result) {
-                log.debug("Successfully inserted shortcut: {}", shortcut.getDescription());
-            } else {
-                log.warn("Failed to insert shortcut: {}", shortcut.getDescription());
+        String keysJson = serializeKeys(shortcut.getKeys());
+        return databaseWriter.submit(new WriteCommand<Boolean>("insertShortcut", conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(INSERT_SHORTCUT_SQL)) {
+                pstmt.setLong(1, shortcut.getAppId());
+                pstmt.setString(2, keysJson);
+                pstmt.setString(3, shortcut.getDescription());
+                pstmt.setString(4, shortcut.getCategory());
+                pstmt.setBoolean(5, true);
+                pstmt.setString(6, keysJson);
+                pstmt.setBoolean(7, shortcut.isStarred());
+                pstmt.setInt(8, 0);
+                long packed = packKeys(conn, shortcut.getKeys());
+                setPacked(pstmt, 9, packed);
+                setPacked(pstmt, 10, packed);
+
+                boolean result = pstmt.executeUpdate() > 0;
+                if (result) {
+                    log.debug("Successfully inserted shortcut: {}", shortcut.getDescription());
+                } else {
+                    log.warn("Failed to insert shortcut: {}", shortcut.getDescription());
+                }
+                return result;
             }
-            return result;
-        } catch (SQLException e) {
+        })).exceptionally(e -> {
             log.error("Database error inserting shortcut: {}", shortcut.getDescription(), e);
             return false;
-        }
+        });
     }
 
     /**
      * Restores a shortcut to its default key configuration.
      * 
      * @param shortcutId The ID of the shortcut to restore
-     * @return True if the restoration was successful, false otherwise
+     * @return A future completed with true if the restoration was successful, false otherwise
      */
-    public boolean restoreDefaultShortcut(long shortcutId) {
+    public CompletableFuture<Boolean> restoreDefaultShortcut(long shortcutId) {
         log.debug("Restoring default keys for shortcut ID: {}", shortcutId);
-        try (Connection conn = databaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(RESTORE_DEFAULT_SHORTCUT_SQL)) {
-
-            pstmt.setLong(1, shortcutId);
-            boolean result = pstmt.executeUpdate() > 0;
-            if (result) {
-                log.debug("Successfully restored default keys for shortcut ID: {}", shortcutId);
-            } else {
-                log.warn("Failed to restore default keys for shortcut ID: {}", shortcutId);
+        return databaseWriter.submit(new WriteCommand<Boolean>("restoreDefaultShortcut", conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(RESTORE_DEFAULT_SHORTCUT_SQL)) {
+                pstmt.setLong(1, shortcutId);
+                boolean result = pstmt.executeUpdate() > 0;
+                if (result) {
+                    log.debug("Successfully restored default keys for shortcut ID: {}", shortcutId);
+                } else {
+                    log.warn("Failed to restore default keys for shortcut ID: {}", shortcutId);
+                }
+                return result;
             }
-            return result;
-        } catch (SQLException e) {
+        })).exceptionally(e -> {
             log.error("Database error restoring default shortcut ID: {}", shortcutId, e);
             return false;
-        }
+        });
     }
 
-    public boolean updateShortcut(Shortcut shortcut) {
-        try (Connection conn = databaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(UPDATE_SHORTCUT_SQL)) {
-
-            pstmt.setString(1, serializeKeys(shortcut.getKeys()));
-            pstmt.setString(2, shortcut.getDescription());
-            pstmt.setString(3, shortcut.getCategory());
-            pstmt.setLong(4, shortcut.getId());
-            return pstmt.executeUpdate() > 0;
-        } catch (SQLException e) {
+    public CompletableFuture<Boolean> updateShortcut(Shortcut shortcut) {
+        String keysJson = serializeKeys(shortcut.getKeys());
+        return databaseWriter.submit(new WriteCommand<Boolean>("updateShortcut", conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(UPDATE_SHORTCUT_SQL)) {
+                pstmt.setString(1, keysJson);
+                setPacked(pstmt, 2, packKeys(conn, shortcut.getKeys()));
+                pstmt.setString(3, shortcut.getDescription());
+                pstmt.setString(4, shortcut.getCategory());
+                pstmt.setLong(5, shortcut.getId());
+                return pstmt.executeUpdate() > 0;
+            }
+        })).exceptionally(e -> {
             log.error("Database error updating shortcut", e);
             return false;
-        }
+        });
     }
 
-    public boolean deleteShortcut(long shortcutId) {
-        try (Connection conn = databaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(DELETE_SHORTCUT_SQL)) {
-
-            pstmt.setLong(1, shortcutId);
-            return pstmt.executeUpdate() > 0;
-        } catch (SQLException e) {
+    public CompletableFuture<Boolean> deleteShortcut(long shortcutId) {
+        return databaseWriter.submit(new WriteCommand<Boolean>("deleteShortcut", conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(DELETE_SHORTCUT_SQL)) {
+                pstmt.setLong(1, shortcutId);
+                return pstmt.executeUpdate() > 0;
+            }
+        })).exceptionally(e -> {
             log.error("Database error deleting shortcut", e);
             return false;
-        }
+        });
     }
 
     /**
@@ -445,25 +662,25 @@ public class ShortcutRepository {
      * 
      * @param shortcutId The ID of the shortcut to update
      * @param starred The new starred status
-     * @return True if the update was successful, false otherwise
+     * @return A future completed with true if the update was successful, false otherwise
      */
-    public boolean updateShortcutStarred(long shortcutId, boolean starred) {
+    public CompletableFuture<Boolean> updateShortcutStarred(long shortcutId, boolean starred) {
         log.debug("Updating starred status to {} for shortcut ID: {}", starred, shortcutId);
-        try (Connection conn = databaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(UPDATE_SHORTCUT_STARRED_SQL)) {
-
-            pstmt.setBoolean(1, starred);
-            pstmt.setLong(2, shortcutId);
-            boolean result = pstmt.executeUpdate() > 0;
-            if (result) {
-                log.debug("Successfully updated starred status to {} for shortcut ID: {}", starred, shortcutId);
-            } else {
-                log.warn("Failed to update starred status for shortcut ID: {}", shortcutId);
+        return databaseWriter.submit(new WriteCommand<Boolean>("updateShortcutStarred", conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(UPDATE_SHORTCUT_STARRED_SQL)) {
+                pstmt.setBoolean(1, starred);
+                pstmt.setLong(2, shortcutId);
+                boolean result = pstmt.executeUpdate() > 0;
+                if (result) {
+                    log.debug("Successfully updated starred status to {} for shortcut ID: {}", starred, shortcutId);
+                } else {
+                    log.warn("Failed to update starred status for shortcut ID: {}", shortcutId);
+                }
+                return result;
             }
-            return result;
-        } catch (SQLException e) {
+        })).exceptionally(e -> {
             log.error("Database error updating starred status for shortcut ID: {}", shortcutId, e);
             return false;
-        }
+        });
     }
 }
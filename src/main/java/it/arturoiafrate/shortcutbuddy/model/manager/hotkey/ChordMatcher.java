@@ -0,0 +1,118 @@
+package it.arturoiafrate.shortcutbuddy.model.manager.hotkey;
+
+import it.arturoiafrate.shortcutbuddy.model.interceptor.keylistener.IKeyObserver;
+import it.arturoiafrate.shortcutbuddy.model.type.KeyCodeSet;
+import it.arturoiafrate.shortcutbuddy.model.type.KeyCodeTable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The registered chords, each compiled to a {@link KeyCodeSet.Mask} and indexed under every key it contains,
+ * so that a key event only checks the chords of its own key. A chord matches when all of its keys are pressed.
+ * Subscriptions are copy-on-write: the arrays returned by {@link #candidates(int)} are never modified, so
+ * matching needs no lock and does not allocate.
+ */
+final class ChordMatcher {
+    private static final Chord[] NONE = new Chord[0];
+
+    /**
+     * @param keyCodes The keys of the chord
+     * @param mask The compiled keys
+     * @param observers The observers of the chord, in subscription order
+     */
+    record Chord(Set<Integer> keyCodes, KeyCodeSet.Mask mask, IKeyObserver[] observers) {
+    }
+
+    private final Map<Set<Integer>, Chord> chords = new HashMap<>();
+    private final KeyCodeTable<Chord[]> chordsByKey = new KeyCodeTable<>();
+
+    /**
+     * @param keyCodes The keys of the chord
+     * @param observer The observer to add
+     * @throws IllegalArgumentException If a key code is out of range
+     */
+    synchronized void subscribe(Set<Integer> keyCodes, IKeyObserver observer) {
+        Set<Integer> chordKeys = Set.copyOf(keyCodes);
+        Chord current = chords.get(chordKeys);
+        if (current == null) {
+            int[] codes = chordKeys.stream().mapToInt(Integer::intValue).toArray();
+            replace(chordKeys, null, new Chord(chordKeys, KeyCodeSet.Mask.of(codes), new IKeyObserver[]{observer}));
+        } else {
+            IKeyObserver[] observers = Arrays.copyOf(current.observers(), current.observers().length + 1);
+            observers[observers.length - 1] = observer;
+            replace(chordKeys, current, new Chord(chordKeys, current.mask(), observers));
+        }
+    }
+
+    /**
+     * Removes the first subscription of the observer to the chord, if any.
+     *
+     * @return True if the observer was subscribed
+     */
+    synchronized boolean unsubscribe(Set<Integer> keyCodes, IKeyObserver observer) {
+        Set<Integer> chordKeys = Set.copyOf(keyCodes);
+        Chord current = chords.get(chordKeys);
+        if (current == null) {
+            return false;
+        }
+        IKeyObserver[] observers = current.observers();
+        for (int i = 0; i < observers.length; i++) {
+            if (observers[i].equals(observer)) {
+                IKeyObserver[] updated = new IKeyObserver[observers.length - 1];
+                System.arraycopy(observers, 0, updated, 0, i);
+                System.arraycopy(observers, i + 1, updated, i, observers.length - i - 1);
+                replace(chordKeys, current, updated.length == 0 ? null : new Chord(chordKeys, current.mask(), updated));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param keyCode The key of an event
+     * @return The chords containing the key
+     */
+    Chord[] candidates(int keyCode) {
+        Chord[] candidates = chordsByKey.get(keyCode);
+        return candidates != null ? candidates : NONE;
+    }
+
+    synchronized void clear() {
+        chords.clear();
+        chordsByKey.clear();
+    }
+
+    /**
+     * Swaps a chord for its updated version in the registry and under each of its keys.
+     *
+     * @param current The registered chord, or null for a new chord
+     * @param updated The updated chord, or null to remove the chord
+     */
+    private void replace(Set<Integer> chordKeys, Chord current, Chord updated) {
+        if (updated != null) {
+            chords.put(chordKeys, updated);
+        } else {
+            chords.remove(chordKeys);
+        }
+        for (int keyCode : chordKeys) {
+            Chord[] indexed = candidates(keyCode);
+            Chord[] result;
+            int position = current != null ? Arrays.asList(indexed).indexOf(current) : -1;
+            if (position < 0) {
+                result = Arrays.copyOf(indexed, indexed.length + 1);
+                result[indexed.length] = updated;
+            } else if (updated != null) {
+                result = indexed.clone();
+                result[position] = updated;
+            } else {
+                result = new Chord[indexed.length - 1];
+                System.arraycopy(indexed, 0, result, 0, position);
+                System.arraycopy(indexed, position + 1, result, position, indexed.length - position - 1);
+            }
+            chordsByKey.put(keyCode, result.length == 0 ? null : result);
+        }
+    }
+}
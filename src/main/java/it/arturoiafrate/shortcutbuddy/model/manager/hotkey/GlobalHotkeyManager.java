@@ -1,40 +1,55 @@
 package it.arturoiafrate.shortcutbuddy.model.manager.hotkey;
 
-import com.github.kwhat.jnativehook.NativeInputEvent;
 import com.github.kwhat.jnativehook.keyboard.NativeKeyEvent;
+import it.arturoiafrate.shortcutbuddy.model.interceptor.keylistener.DispatchAffinity;
 import it.arturoiafrate.shortcutbuddy.model.interceptor.keylistener.IKeyObserver;
 import it.arturoiafrate.shortcutbuddy.model.interceptor.keylistener.KeyListener;
 import it.arturoiafrate.shortcutbuddy.model.interceptor.keylistener.KeyOperation;
+import it.arturoiafrate.shortcutbuddy.model.type.KeyCodeSet;
+import it.arturoiafrate.shortcutbuddy.model.type.KeyCodeTable;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
 
-import java.lang.reflect.Field;
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Arrays;
+import java.util.Set;
 
 /**
  * GlobalHotkeyManager allows other classes to subscribe to specific key combinations
  * and notifies them when these combinations are detected.
+ * The pressed keys are tracked in a {@link KeyCodeSet} and each shortcut is compiled to a mask, indexed under
+ * its own keys: a key event only checks the shortcuts containing that key, with a few word comparisons each.
+ * Key sequences, typed one stroke after the other, are recognized by a {@link KeySequenceEngine}.
+ * The key state is tracked on the input thread of the {@link KeyListener}; subscribers are notified on the
+ * thread of their own {@link DispatchAffinity}, so only the ones touching the UI hop to the JavaFX thread.
  */
 @Singleton
 @Slf4j
 public class GlobalHotkeyManager implements IKeyObserver {
+    private static final IKeyObserver[] NO_OBSERVERS = new IKeyObserver[0];
 
     private final KeyListener keyListener;
 
-    private final Set<Integer> pressedKeys = ConcurrentHashMap.newKeySet();
+    // Only touched by update, which the key listener calls from its input thread
+    private final KeyCodeSet pressedKeys = new KeyCodeSet();
 
-    private final Map<Set<Integer>, List<IKeyObserver>> shortcutSubscribers = new ConcurrentHashMap<>();
-    private final Map<Integer, List<IKeyObserver>> keyHoldSubscribers = new ConcurrentHashMap<>();
-    private final Map<Integer, List<IKeyObserver>> keyPressSubscribers = new ConcurrentHashMap<>();
+    private final ChordMatcher shortcutSubscribers = new ChordMatcher();
+    private final KeyCodeTable<IKeyObserver[]> keyHoldSubscribers = new KeyCodeTable<>();
+    private final KeyCodeTable<IKeyObserver[]> keyPressSubscribers = new KeyCodeTable<>();
+    private final KeySequenceEngine sequenceSubscribers;
 
     @Inject
     public GlobalHotkeyManager(KeyListener keyListener) {
         this.keyListener = keyListener;
+        this.sequenceSubscribers = new KeySequenceEngine(System::nanoTime, keyListener::notifyObserver);
         this.keyListener.subscribe(KeyListener.KEY_ALL, this);
     }
 
+    @Override
+    public DispatchAffinity getDispatchAffinity() {
+        return DispatchAffinity.INPUT_THREAD;
+    }
+
     /**
      * Subscribe to a specific key combination.
      * @param keyCodes Set of key codes that form the shortcut
@@ -45,31 +60,55 @@ public class GlobalHotkeyManager implements IKeyObserver {
             return;
         }
 
-        shortcutSubscribers.computeIfAbsent(keyCodes, k -> new ArrayList<>()).add(observer);
+        try {
+            shortcutSubscribers.subscribe(keyCodes, observer);
+        } catch (IllegalArgumentException e) {
+            log.error("Cannot subscribe observer {} to shortcut {}", observer.getClass().getSimpleName(), keyCodes, e);
+            return;
+        }
         log.debug("Observer {} subscribed to shortcut {}", observer.getClass().getSimpleName(), keyCodes);
     }
 
+    /**
+     * Subscribe to a sequence of key strokes, such as Ctrl+K followed by Ctrl+C.
+     * @param sequence The sequence to be typed
+     * @param observer Observer to be notified when the sequence is typed
+     */
+    public void subscribeSequence(KeySequence sequence, IKeyObserver observer) {
+        if (sequence == null || observer == null) {
+            return;
+        }
+
+        try {
+            sequenceSubscribers.subscribe(sequence, observer);
+        } catch (IllegalArgumentException e) {
+            log.error("Cannot subscribe observer {} to key sequence {}", observer.getClass().getSimpleName(), sequence, e);
+            return;
+        }
+        log.debug("Observer {} subscribed to key sequence {}", observer.getClass().getSimpleName(), sequence);
+    }
+
     /**
      * Subscribe to a specific key hold event.
      * @param keyCode Key code of the key to be held
      * @param observer Observer to be notified when the key is held
      */
     public void subscribeKeyHold(int keyCode, IKeyObserver observer) {
-        if (keyCode == KeyListener.KEY_ALL || observer == null) {
+        if (!isValidKey(keyCode) || observer == null) {
             return;
         }
 
-        keyHoldSubscribers.computeIfAbsent(keyCode, k -> new ArrayList<>()).add(observer);
+        add(keyHoldSubscribers, keyCode, observer);
         log.debug("Observer {} subscribed to key hold {}", observer.getClass().getSimpleName(), keyCode);
     }
 
 
     public void subscribeKeyEvent(int keyCode, IKeyObserver observer) {
-        if (keyCode == KeyListener.KEY_ALL || observer == null) {
+        if (!isValidKey(keyCode) || observer == null) {
             return;
         }
 
-        keyPressSubscribers.computeIfAbsent(keyCode, k -> new ArrayList<>()).add(observer);
+        add(keyPressSubscribers, keyCode, observer);
         log.debug("Observer {} subscribed to key press {}", observer.getClass().getSimpleName(), keyCode);
     }
 
@@ -83,42 +122,37 @@ public class GlobalHotkeyManager implements IKeyObserver {
             return;
         }
 
-        List<IKeyObserver> observers = shortcutSubscribers.get(keyCodes);
-        if (observers != null) {
-            observers.remove(observer);
-            if (observers.isEmpty()) {
-                shortcutSubscribers.remove(keyCodes);
-            }
+        if (shortcutSubscribers.unsubscribe(keyCodes, observer)) {
             log.debug("Observer {} unsubscribed from shortcut {}", observer.getClass().getSimpleName(), keyCodes);
         }
     }
 
+    public void unsubscribeSequence(KeySequence sequence, IKeyObserver observer) {
+        if (sequence == null || observer == null) {
+            return;
+        }
+
+        if (sequenceSubscribers.unsubscribe(sequence, observer)) {
+            log.debug("Observer {} unsubscribed from key sequence {}", observer.getClass().getSimpleName(), sequence);
+        }
+    }
+
     public void unsubscribeKeyPress(int keyCode, IKeyObserver observer) {
-        if (keyCode == KeyListener.KEY_ALL || observer == null) {
+        if (!isValidKey(keyCode) || observer == null) {
             return;
         }
 
-        List<IKeyObserver> observers = keyPressSubscribers.get(keyCode);
-        if (observers != null) {
-            observers.remove(observer);
-            if (observers.isEmpty()) {
-                keyPressSubscribers.remove(keyCode);
-            }
+        if (remove(keyPressSubscribers, keyCode, observer)) {
             log.debug("Observer {} unsubscribed from key press {}", observer.getClass().getSimpleName(), keyCode);
         }
     }
 
     public void unsubscribeKeyHold(int keyCode, IKeyObserver observer) {
-        if (keyCode == KeyListener.KEY_ALL || observer == null) {
+        if (!isValidKey(keyCode) || observer == null) {
             return;
         }
 
-        List<IKeyObserver> observers = keyHoldSubscribers.get(keyCode);
-        if (observers != null) {
-            observers.remove(observer);
-            if (observers.isEmpty()) {
-                keyHoldSubscribers.remove(keyCode);
-            }
+        if (remove(keyHoldSubscribers, keyCode, observer)) {
             log.debug("Observer {} unsubscribed from key hold {}", observer.getClass().getSimpleName(), keyCode);
         }
     }
@@ -133,12 +167,12 @@ public class GlobalHotkeyManager implements IKeyObserver {
         }
         if(mode == KeyOperation.KEY_PRESS || mode == KeyOperation.KEY_RELEASE) {
             // Notify all observers interested in key press
-            List<IKeyObserver> observers = keyPressSubscribers.get(keyCode);
+            IKeyObserver[] observers = keyPressSubscribers.get(keyCode);
             if (observers != null) {
                 for (IKeyObserver observer : observers) {
                     try {
                         // Pass the key code that triggered this update and the operation mode
-                        observer.update(keyCode, mode, nativeKeyEvent);
+                        keyListener.notifyObserver(observer, keyCode, mode, nativeKeyEvent);
                     } catch (Exception e) {
                         log.error("Error notifying observer {} about key press {}",
                                 observer.getClass().getSimpleName(), keyCode, e);
@@ -147,12 +181,12 @@ public class GlobalHotkeyManager implements IKeyObserver {
             }
         } else if(mode == KeyOperation.KEY_HOLD) {
             // Notify all observers interested in key hold
-            List<IKeyObserver> observers = keyHoldSubscribers.get(keyCode);
+            IKeyObserver[] observers = keyHoldSubscribers.get(keyCode);
             if (observers != null) {
                 for (IKeyObserver observer : observers) {
                     try {
                         // Pass the key code that triggered this update and the operation mode
-                        observer.update(keyCode, mode, nativeKeyEvent);
+                        keyListener.notifyObserver(observer, keyCode, mode, nativeKeyEvent);
                     } catch (Exception e) {
                         log.error("Error notifying observer {} about key hold {}",
                                 observer.getClass().getSimpleName(), keyCode, e);
@@ -161,24 +195,24 @@ public class GlobalHotkeyManager implements IKeyObserver {
             }
         }
 
-        // Check if any registered shortcut is active
-        for (Map.Entry<Set<Integer>, List<IKeyObserver>> entry : shortcutSubscribers.entrySet()) {
-            Set<Integer> shortcut = entry.getKey();
-
+        // Check the shortcuts containing the key: the others cannot have changed state
+        for (ChordMatcher.Chord shortcut : shortcutSubscribers.candidates(keyCode)) {
             // Check if all keys in the shortcut are currently pressed
-            if (pressedKeys.containsAll(shortcut)) {
+            if (pressedKeys.containsAll(shortcut.mask())) {
                 // Notify all observers interested in this shortcut
-                for (IKeyObserver observer : entry.getValue()) {
+                for (IKeyObserver observer : shortcut.observers()) {
                     try {
                         // Pass the key code that triggered this update and the operation mode
-                        observer.update(keyCode, mode, nativeKeyEvent);
+                        keyListener.notifyObserver(observer, keyCode, mode, nativeKeyEvent);
                     } catch (Exception e) {
                         log.error("Error notifying observer {} about shortcut {}",
-                                observer.getClass().getSimpleName(), shortcut, e);
+                                observer.getClass().getSimpleName(), shortcut.keyCodes(), e);
                     }
                 }
             }
         }
+
+        sequenceSubscribers.update(keyCode, mode, nativeKeyEvent);
     }
 
     public void shutdown() {
@@ -186,8 +220,47 @@ public class GlobalHotkeyManager implements IKeyObserver {
         shortcutSubscribers.clear();
         keyHoldSubscribers.clear();
         keyPressSubscribers.clear();
-        pressedKeys.clear();
+        sequenceSubscribers.clear();
+        // The pressed keys belong to the input thread and are not cleared here: once unsubscribed they are never read again
         keyListener.shutdown();
     }
 
+    private static boolean isValidKey(int keyCode) {
+        return keyCode >= 0 && keyCode < KeyCodeTable.CAPACITY;
+    }
+
+    private static void add(KeyCodeTable<IKeyObserver[]> subscribers, int keyCode, IKeyObserver observer) {
+        synchronized (subscribers) {
+            IKeyObserver[] current = subscribers.get(keyCode);
+            if (current == null) {
+                current = NO_OBSERVERS;
+            }
+            IKeyObserver[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = observer;
+            subscribers.put(keyCode, updated);
+        }
+    }
+
+    /**
+     * @return True if the observer was subscribed to the key
+     */
+    private static boolean remove(KeyCodeTable<IKeyObserver[]> subscribers, int keyCode, IKeyObserver observer) {
+        synchronized (subscribers) {
+            IKeyObserver[] current = subscribers.get(keyCode);
+            if (current == null) {
+                return false;
+            }
+            for (int i = 0; i < current.length; i++) {
+                if (current[i].equals(observer)) {
+                    IKeyObserver[] updated = new IKeyObserver[current.length - 1];
+                    System.arraycopy(current, 0, updated, 0, i);
+                    System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                    subscribers.put(keyCode, updated.length == 0 ? null : updated);
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
 }
@@ -0,0 +1,80 @@
+package it.arturoiafrate.shortcutbuddy.model.manager.hotkey;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A sequence of key strokes to be typed one after the other, such as Ctrl+K followed by Ctrl+C.
+ * Each stroke is a set of keys pressed together and, apart from the first, has a timeout: the longest
+ * time allowed since the previous stroke.
+ *
+ * @param strokes The strokes, in typing order
+ */
+public record KeySequence(List<Stroke> strokes) {
+    public static final Duration DEFAULT_STROKE_TIMEOUT = Duration.ofMillis(1500);
+
+    /**
+     * @param keyCodes The keys pressed together
+     * @param timeout The longest time allowed since the previous stroke, ignored for the first stroke
+     */
+    public record Stroke(Set<Integer> keyCodes, Duration timeout) {
+        public Stroke {
+            if (keyCodes == null || keyCodes.isEmpty()) {
+                throw new IllegalArgumentException("A stroke needs at least one key");
+            }
+            if (timeout == null || timeout.isNegative() || timeout.isZero()) {
+                throw new IllegalArgumentException("Invalid stroke timeout: " + timeout);
+            }
+            keyCodes = Set.copyOf(keyCodes);
+        }
+    }
+
+    public KeySequence {
+        if (strokes == null || strokes.isEmpty()) {
+            throw new IllegalArgumentException("A key sequence needs at least one stroke");
+        }
+        strokes = List.copyOf(strokes);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public String toString() {
+        return strokes.stream().map(stroke -> stroke.keyCodes().toString()).collect(Collectors.joining(", "));
+    }
+
+    public static final class Builder {
+        private final List<Stroke> strokes = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Appends a stroke with the {@link #DEFAULT_STROKE_TIMEOUT default timeout}.
+         *
+         * @param keyCodes The keys pressed together
+         */
+        public Builder stroke(int... keyCodes) {
+            return stroke(DEFAULT_STROKE_TIMEOUT, keyCodes);
+        }
+
+        /**
+         * @param timeout The longest time allowed since the previous stroke
+         * @param keyCodes The keys pressed together
+         */
+        public Builder stroke(Duration timeout, int... keyCodes) {
+            strokes.add(new Stroke(Arrays.stream(keyCodes).boxed().collect(Collectors.toSet()), timeout));
+            return this;
+        }
+
+        public KeySequence build() {
+            return new KeySequence(strokes);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package it.arturoiafrate.shortcutbuddy.model.manager.hotkey;
+
+import it.arturoiafrate.shortcutbuddy.model.interceptor.keylistener.IKeyObserver;
+import it.arturoiafrate.shortcutbuddy.model.type.KeyCodeSet;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The registered key sequences compiled to an immutable trie. States are numbered, {@link #ROOT} being the
+ * state where no stroke has been typed yet, and sequences sharing their first strokes share their states.
+ * The transitions are indexed by state and key code in an open addressing table, so that finding the strokes
+ * a key event may complete takes a single probe sequence whatever the number of sequences.
+ */
+final class KeySequenceAutomaton {
+    static final int ROOT = 0;
+    static final KeySequenceAutomaton EMPTY = compile(List.of());
+
+    private static final Transition[] NO_TRANSITIONS = new Transition[0];
+    private static final IKeyObserver[] NO_OBSERVERS = new IKeyObserver[0];
+
+    /**
+     * @param sequence The subscribed sequence
+     * @param observer The observer notified when the sequence is typed
+     */
+    record Subscription(KeySequence sequence, IKeyObserver observer) {
+    }
+
+    /**
+     * A stroke leading from a state to the next one.
+     *
+     * @param target The state reached
+     * @param mask The keys of the stroke
+     * @param keyCount The number of keys of the stroke
+     * @param timeoutNanos The longest time allowed since the previous stroke
+     */
+    record Transition(int target, KeyCodeSet.Mask mask, int keyCount, long timeoutNanos) {
+    }
+
+    // Slot keys are (state << 16 | keyCode) + 1, so that 0 marks an empty slot
+    private final long[] slotKeys;
+    private final Transition[][] slotTransitions;
+    private final int slotMask;
+    private final IKeyObserver[][] observers;
+    private final boolean[] hasTransitions;
+    private final long[] maxTimeoutNanos;
+
+    private KeySequenceAutomaton(long[] slotKeys, Transition[][] slotTransitions, IKeyObserver[][] observers,
+                                 boolean[] hasTransitions, long[] maxTimeoutNanos) {
+        this.slotKeys = slotKeys;
+        this.slotTransitions = slotTransitions;
+        this.slotMask = slotKeys.length - 1;
+        this.observers = observers;
+        this.hasTransitions = hasTransitions;
+        this.maxTimeoutNanos = maxTimeoutNanos;
+    }
+
+    /**
+     * @param state The current state
+     * @param keyCode The pressed key
+     * @return The strokes from the state containing the key, the ones with the most keys first
+     */
+    Transition[] transitions(int state, int keyCode) {
+        if (keyCode < 0 || keyCode >= KeyCodeSet.CAPACITY) {
+            return NO_TRANSITIONS;
+        }
+        long key = slotKey(state, keyCode);
+        for (int slot = hash(key) & slotMask; ; slot = (slot + 1) & slotMask) {
+            long slotKey = slotKeys[slot];
+            if (slotKey == key) {
+                return slotTransitions[slot];
+            }
+            if (slotKey == 0) {
+                return NO_TRANSITIONS;
+            }
+        }
+    }
+
+    /**
+     * @return The observers of the sequences ending in the state, in subscription order
+     */
+    IKeyObserver[] observers(int state) {
+        return observers[state];
+    }
+
+    /**
+     * @return True if some sequence continues after the state
+     */
+    boolean hasTransitions(int state) {
+        return hasTransitions[state];
+    }
+
+    /**
+     * @return The longest time the state may wait for its next stroke
+     */
+    long maxTimeoutNanos(int state) {
+        return maxTimeoutNanos[state];
+    }
+
+    /**
+     * Builds the trie of the sequences. When the same stroke follows the same strokes in several sequences
+     * with different timeouts, the longest one applies.
+     *
+     * @param subscriptions The subscriptions, in subscription order
+     * @return The compiled automaton
+     */
+    static KeySequenceAutomaton compile(List<Subscription> subscriptions) {
+        List<Map<Set<Integer>, Integer>> children = new ArrayList<>();
+        List<Long> timeouts = new ArrayList<>();
+        List<List<IKeyObserver>> stateObservers = new ArrayList<>();
+        children.add(new LinkedHashMap<>());
+        timeouts.add(0L);
+        stateObservers.add(new ArrayList<>());
+
+        for (Subscription subscription : subscriptions) {
+            int state = ROOT;
+            for (KeySequence.Stroke stroke : subscription.sequence().strokes()) {
+                Integer next = children.get(state).get(stroke.keyCodes());
+                if (next == null) {
+                    next = children.size();
+                    children.get(state).put(stroke.keyCodes(), next);
+                    children.add(new LinkedHashMap<>());
+                    timeouts.add(0L);
+                    stateObservers.add(new ArrayList<>());
+                }
+                timeouts.set(next, Math.max(timeouts.get(next), stroke.timeout().toNanos()));
+                state = next;
+            }
+            stateObservers.get(state).add(subscription.observer());
+        }
+
+        int stateCount = children.size();
+        IKeyObserver[][] observers = new IKeyObserver[stateCount][];
+        boolean[] hasTransitions = new boolean[stateCount];
+        long[] maxTimeoutNanos = new long[stateCount];
+        Map<Long, List<Transition>> index = new HashMap<>();
+        for (int state = 0; state < stateCount; state++) {
+            List<IKeyObserver> ending = stateObservers.get(state);
+            observers[state] = ending.isEmpty() ? NO_OBSERVERS : ending.toArray(IKeyObserver[]::new);
+            hasTransitions[state] = !children.get(state).isEmpty();
+            for (Map.Entry<Set<Integer>, Integer> child : children.get(state).entrySet()) {
+                Set<Integer> keyCodes = child.getKey();
+                long timeoutNanos = timeouts.get(child.getValue());
+                Transition transition = new Transition(child.getValue(),
+                        KeyCodeSet.Mask.of(keyCodes.stream().mapToInt(Integer::intValue).toArray()),
+                        keyCodes.size(), timeoutNanos);
+                maxTimeoutNanos[state] = Math.max(maxTimeoutNanos[state], timeoutNanos);
+                for (int keyCode : keyCodes) {
+                    index.computeIfAbsent(slotKey(state, keyCode), k -> new ArrayList<>()).add(transition);
+                }
+            }
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(1, index.size()) * 2) << 1;
+        long[] slotKeys = new long[capacity];
+        Transition[][] slotTransitions = new Transition[capacity][];
+        for (Map.Entry<Long, List<Transition>> entry : index.entrySet()) {
+            long key = entry.getKey();
+            int slot = hash(key) & (capacity - 1);
+            while (slotKeys[slot] != 0) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            List<Transition> transitions = entry.getValue();
+            transitions.sort(Comparator.comparingInt(Transition::keyCount).reversed());
+            slotKeys[slot] = key;
+            slotTransitions[slot] = transitions.toArray(Transition[]::new);
+        }
+        return new KeySequenceAutomaton(slotKeys, slotTransitions, observers, hasTransitions, maxTimeoutNanos);
+    }
+
+    private static long slotKey(int state, int keyCode) {
+        return (((long) state << 16) | keyCode) + 1;
+    }
+
+    private static int hash(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32);
+    }
+}
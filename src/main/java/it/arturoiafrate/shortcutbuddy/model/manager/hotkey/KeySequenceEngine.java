@@ -0,0 +1,174 @@
+package it.arturoiafrate.shortcutbuddy.model.manager.hotkey;
+
+import com.github.kwhat.jnativehook.keyboard.NativeKeyEvent;
+import it.arturoiafrate.shortcutbuddy.model.interceptor.keylistener.IKeyObserver;
+import it.arturoiafrate.shortcutbuddy.model.interceptor.keylistener.KeyOperation;
+import it.arturoiafrate.shortcutbuddy.model.interceptor.keylistener.ObserverNotifier;
+import it.arturoiafrate.shortcutbuddy.model.type.KeyCodeSet;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Recognizes {@link KeySequence key sequences}, such as Ctrl+K followed by Ctrl+C, in a stream of key events.
+ * The subscribed sequences are compiled to a {@link KeySequenceAutomaton} and the engine only remembers the
+ * state reached and when, so each key press costs one table lookup and a few mask comparisons however many
+ * sequences are subscribed. A stroke is typed when the last of its keys is pressed; a press that belongs to
+ * no stroke expected next, or that comes after the stroke timed out, restarts the recognition from that key.
+ * A sequence that is also the beginning of a longer one is notified as soon as it is typed.
+ * <p>
+ * Subscriptions may change from any thread; key events must come from a single thread at a time, like the
+ * dispatcher of the key listener. Events can be fed directly through {@link #accept(NativeKeyEvent)}, without
+ * a native hook, with the clock given to the constructor deciding the timeouts.
+ */
+@Slf4j
+public class KeySequenceEngine implements IKeyObserver {
+
+    private final LongSupplier nanoClock;
+    private final ObserverNotifier notifier;
+    private final List<KeySequenceAutomaton.Subscription> subscriptions = new ArrayList<>();
+    private volatile KeySequenceAutomaton automaton = KeySequenceAutomaton.EMPTY;
+
+    // Recognition state, only touched by the thread delivering the key events
+    private final KeyCodeSet pressedKeys = new KeyCodeSet();
+    private KeySequenceAutomaton stateAutomaton = KeySequenceAutomaton.EMPTY;
+    private int state = KeySequenceAutomaton.ROOT;
+    private long stateEnteredAt;
+
+    public KeySequenceEngine() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * @param nanoClock The clock measuring the time between strokes, in nanoseconds
+     */
+    public KeySequenceEngine(LongSupplier nanoClock) {
+        this(nanoClock, (observer, keyCode, mode, nativeKeyEvent) -> observer.update(keyCode, mode, nativeKeyEvent));
+    }
+
+    /**
+     * @param nanoClock The clock measuring the time between strokes, in nanoseconds
+     * @param notifier Delivers the notifications of the observers, which otherwise run on the calling thread
+     */
+    public KeySequenceEngine(LongSupplier nanoClock, ObserverNotifier notifier) {
+        this.nanoClock = nanoClock;
+        this.notifier = notifier;
+    }
+
+    /**
+     * @param sequence The sequence to recognize
+     * @param observer Observer notified, with the last key pressed, when the sequence is typed
+     * @throws IllegalArgumentException If a key code of the sequence is out of range
+     */
+    public synchronized void subscribe(KeySequence sequence, IKeyObserver observer) {
+        subscriptions.add(new KeySequenceAutomaton.Subscription(sequence, observer));
+        try {
+            automaton = KeySequenceAutomaton.compile(subscriptions);
+        } catch (IllegalArgumentException e) {
+            subscriptions.removeLast();
+            throw e;
+        }
+    }
+
+    /**
+     * Removes the first subscription of the observer to the sequence, if any.
+     *
+     * @return True if the observer was subscribed
+     */
+    public synchronized boolean unsubscribe(KeySequence sequence, IKeyObserver observer) {
+        boolean removed = subscriptions.remove(new KeySequenceAutomaton.Subscription(sequence, observer));
+        if (removed) {
+            automaton = KeySequenceAutomaton.compile(subscriptions);
+        }
+        return removed;
+    }
+
+    public synchronized void clear() {
+        subscriptions.clear();
+        automaton = KeySequenceAutomaton.EMPTY;
+    }
+
+    /**
+     * Feeds a native key event; key typed events are ignored.
+     *
+     * @param nativeKeyEvent The event, as delivered by the native hook or built by hand
+     */
+    public void accept(NativeKeyEvent nativeKeyEvent) {
+        switch (nativeKeyEvent.getID()) {
+            case NativeKeyEvent.NATIVE_KEY_PRESSED ->
+                    update(nativeKeyEvent.getKeyCode(), KeyOperation.KEY_PRESS, nativeKeyEvent);
+            case NativeKeyEvent.NATIVE_KEY_RELEASED ->
+                    update(nativeKeyEvent.getKeyCode(), KeyOperation.KEY_RELEASE, nativeKeyEvent);
+            default -> {
+            }
+        }
+    }
+
+    @Override
+    public void update(int keyCode, KeyOperation mode, NativeKeyEvent nativeKeyEvent) {
+        if (mode == KeyOperation.KEY_RELEASE) {
+            pressedKeys.remove(keyCode);
+            return;
+        }
+        if (mode != KeyOperation.KEY_PRESS) {
+            return;
+        }
+        pressedKeys.add(keyCode);
+        long now = nanoClock.getAsLong();
+        KeySequenceAutomaton current = automaton;
+        if (current != stateAutomaton) {
+            // The subscriptions changed: the states of the previous automaton mean nothing in the new one
+            stateAutomaton = current;
+            state = KeySequenceAutomaton.ROOT;
+        } else if (state != KeySequenceAutomaton.ROOT && now - stateEnteredAt > current.maxTimeoutNanos(state)) {
+            state = KeySequenceAutomaton.ROOT;
+        }
+        if (!advance(current, keyCode, now, nativeKeyEvent) && state != KeySequenceAutomaton.ROOT) {
+            state = KeySequenceAutomaton.ROOT;
+            advance(current, keyCode, now, nativeKeyEvent);
+        }
+    }
+
+    /**
+     * Follows the stroke completed by a key press, if any, notifying the sequences ending there.
+     *
+     * @return False if the key cannot be part of the next stroke, true if it completed one or may still do
+     * so together with other keys
+     */
+    private boolean advance(KeySequenceAutomaton current, int keyCode, long now, NativeKeyEvent nativeKeyEvent) {
+        KeySequenceAutomaton.Transition[] transitions = current.transitions(state, keyCode);
+        boolean timedOut = false;
+        for (KeySequenceAutomaton.Transition transition : transitions) {
+            if (!pressedKeys.containsAll(transition.mask())) {
+                continue;
+            }
+            if (state != KeySequenceAutomaton.ROOT && now - stateEnteredAt > transition.timeoutNanos()) {
+                timedOut = true;
+                continue;
+            }
+            int target = transition.target();
+            if (current.hasTransitions(target)) {
+                state = target;
+                stateEnteredAt = now;
+            } else {
+                state = KeySequenceAutomaton.ROOT;
+            }
+            notifyObservers(current.observers(target), keyCode, nativeKeyEvent);
+            return true;
+        }
+        return transitions.length > 0 && !timedOut;
+    }
+
+    private void notifyObservers(IKeyObserver[] observers, int keyCode, NativeKeyEvent nativeKeyEvent) {
+        for (IKeyObserver observer : observers) {
+            try {
+                notifier.notify(observer, keyCode, KeyOperation.KEY_PRESS, nativeKeyEvent);
+            } catch (Exception e) {
+                log.error("Error notifying observer {} about key sequence",
+                        observer.getClass().getSimpleName(), e);
+            }
+        }
+    }
+}
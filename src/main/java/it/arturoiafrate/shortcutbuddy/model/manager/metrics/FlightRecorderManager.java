@@ -0,0 +1,117 @@
+package it.arturoiafrate.shortcutbuddy.model.manager.metrics;
+
+import it.arturoiafrate.shortcutbuddy.model.manager.metrics.jfr.AppLoadEvent;
+import it.arturoiafrate.shortcutbuddy.model.manager.metrics.jfr.KeyDispatchEvent;
+import it.arturoiafrate.shortcutbuddy.model.manager.metrics.jfr.KeyEmulationEvent;
+import it.arturoiafrate.shortcutbuddy.model.manager.metrics.jfr.PopupShowEvent;
+import it.arturoiafrate.shortcutbuddy.model.manager.settings.SettingsManager;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Keeps a continuous JDK Flight Recorder recording when the {@code enableFlightRecorder} setting is on.
+ * The recording uses the low-overhead {@code default} configuration plus the ShortcutBuddy pipeline events,
+ * keeps the last {@link #MAX_AGE} on disk and is dumped on demand to {@code ~/.shortcutbuddy/recordings}.
+ * Being named {@value #RECORDING_NAME}, it can also be dumped with {@code jcmd <pid> JFR.dump name=ShortcutBuddy}.
+ */
+@Slf4j
+@Singleton
+public class FlightRecorderManager {
+    public static final String RECORDING_NAME = "ShortcutBuddy";
+    private static final Duration MAX_AGE = Duration.ofMinutes(30);
+    private static final long MAX_SIZE_BYTES = 64L * 1024 * 1024;
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final SettingsManager settingsManager;
+    private Recording recording;
+
+    @Inject
+    public FlightRecorderManager(SettingsManager settingsManager) {
+        this.settingsManager = settingsManager;
+    }
+
+    /**
+     * Starts the recording if the setting is enabled and the JVM supports the flight recorder.
+     *
+     * @return True if the recording is running
+     */
+    public synchronized boolean start() {
+        if (recording != null) {
+            return true;
+        }
+        if (!settingsManager.isEnabled("enableFlightRecorder")) {
+            return false;
+        }
+        if (!FlightRecorder.isAvailable()) {
+            log.warn("Flight recorder not available in this JVM");
+            return false;
+        }
+        try {
+            Recording newRecording = new Recording(Configuration.getConfiguration("default"));
+            newRecording.setName(RECORDING_NAME);
+            newRecording.setToDisk(true);
+            newRecording.setMaxAge(MAX_AGE);
+            newRecording.setMaxSize(MAX_SIZE_BYTES);
+            newRecording.enable(KeyDispatchEvent.class).withoutThreshold();
+            newRecording.enable(PopupShowEvent.class).withoutThreshold();
+            newRecording.enable(AppLoadEvent.class).withoutThreshold();
+            newRecording.enable(KeyEmulationEvent.class).withoutThreshold();
+            newRecording.start();
+            recording = newRecording;
+            log.info("Flight recording '{}' started, keeping the last {} minutes", RECORDING_NAME, MAX_AGE.toMinutes());
+            return true;
+        } catch (IOException | ParseException | IllegalStateException e) {
+            log.error("Error starting the flight recording", e);
+            return false;
+        }
+    }
+
+    public synchronized boolean isRecording() {
+        return recording != null;
+    }
+
+    /**
+     * Writes the content of the running recording to a new file.
+     *
+     * @return The written file, or null if nothing is recording or the dump failed
+     */
+    public synchronized Path dump() {
+        if (recording == null) {
+            return null;
+        }
+        try {
+            Path recordingsDir = Paths.get(System.getProperty("user.home"), ".shortcutbuddy", "recordings");
+            Files.createDirectories(recordingsDir);
+            Path file = recordingsDir.resolve("shortcutbuddy-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr");
+            recording.dump(file);
+            log.info("Flight recording dumped to {}", file);
+            return file;
+        } catch (IOException e) {
+            log.error("Error dumping the flight recording", e);
+            return null;
+        }
+    }
+
+    /**
+     * Stops the recording and deletes its temporary data.
+     */
+    public synchronized void stop() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package it.arturoiafrate.shortcutbuddy.model.manager.metrics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import it.arturoiafrate.shortcutbuddy.model.type.LatencyHistogram;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * In-process registry of counters, gauges and latency histograms, looked up by name.
+ * Metrics are cheap to update from any thread; {@link #dump()} writes a snapshot of all of them to
+ * the {@value #METRICS_LOGGER} logger, which goes to its own rolling file.
+ */
+@Slf4j
+@Singleton
+public class MetricsRegistry {
+    public static final String METRICS_LOGGER = "it.arturoiafrate.shortcutbuddy.metrics";
+    private static final Logger metricsLog = LoggerFactory.getLogger(METRICS_LOGGER);
+
+    private final Map<String, LongAdder> counters = new ConcurrentSkipListMap<>();
+    private final Map<String, Supplier<?>> gauges = new ConcurrentSkipListMap<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentSkipListMap<>();
+
+    @Inject
+    public MetricsRegistry() {
+    }
+
+    /**
+     * @param name The name of the counter
+     * @return The counter with the given name, created on first use
+     */
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    /**
+     * Registers a value read at dump time, replacing any gauge with the same name.
+     *
+     * @param name The name of the gauge
+     * @param value Supplies the current value, must be thread safe
+     */
+    public void gauge(String name, Supplier<?> value) {
+        gauges.put(name, value);
+    }
+
+    /**
+     * @param name The name of the histogram
+     * @return The histogram with the given name, created on first use
+     */
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, LatencyHistogram::new);
+    }
+
+    /**
+     * Registers a histogram owned by another component under its own name.
+     *
+     * @param histogram The histogram
+     */
+    public void register(LatencyHistogram histogram) {
+        histograms.put(histogram.getName(), histogram);
+    }
+
+    /**
+     * Registers gauges for the statistics of a cache built with {@code recordStats()}.
+     *
+     * @param name The prefix of the gauges
+     * @param cache The cache
+     */
+    public void registerCache(String name, Cache<?, ?> cache) {
+        gauge(name + ".size", cache::estimatedSize);
+        gauge(name + ".hits", () -> cache.stats().hitCount());
+        gauge(name + ".misses", () -> cache.stats().missCount());
+        gauge(name + ".hitRate", () -> String.format("%.3f", cache.stats().hitRate()));
+        gauge(name + ".evictions", () -> cache.stats().evictionCount());
+        gauge(name + ".loadMeanMicros", () -> cache.stats().averageLoadPenalty() / 1_000);
+        gauge(name + ".loadFailures", () -> cache.stats().loadFailureCount());
+    }
+
+    /**
+     * @return The current value of every metric, sorted by name
+     */
+    public Map<String, String> snapshot() {
+        Map<String, String> snapshot = new ConcurrentSkipListMap<>();
+        counters.forEach((name, counter) -> snapshot.put(name, String.valueOf(counter.sum())));
+        gauges.forEach((name, gauge) -> {
+            try {
+                snapshot.put(name, String.valueOf(gauge.get()));
+            } catch (Exception e) {
+                log.warn("Cannot read gauge {}", name, e);
+            }
+        });
+        histograms.forEach((name, histogram) -> snapshot.put(name, String.format("count=%d mean=%dus p50<%dus p90<%dus p99<%dus",
+                histogram.getCount(), histogram.getMeanMicros(), histogram.getPercentileMicros(50),
+                histogram.getPercentileMicros(90), histogram.getPercentileMicros(99))));
+        return snapshot;
+    }
+
+    /**
+     * Writes the current value of every metric to the metrics log, one line per metric.
+     */
+    public void dump() {
+        Map<String, String> snapshot = snapshot();
+        metricsLog.info("--- {} metrics ---", snapshot.size());
+        snapshot.forEach((name, value) -> metricsLog.info("{} {}", name, value));
+    }
+}
@@ -0,0 +1,29 @@
+package it.arturoiafrate.shortcutbuddy.model.manager.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The shortcuts of an application loaded from the database on a cache miss or a prefetch.
+ */
+@Name("shortcutbuddy.AppLoad")
+@Label("Application Shortcuts Load")
+@Category({"ShortcutBuddy", "Cache"})
+@Description("The shortcuts of an application loaded into the cache")
+public class AppLoadEvent extends Event {
+    @Label("Correlation Id")
+    @Description("The popup session current when the load started")
+    public long correlationId;
+
+    @Label("Application")
+    public String appName;
+
+    @Label("Found")
+    public boolean found;
+
+    @Label("Shortcuts")
+    public int shortcutCount;
+}
@@ -0,0 +1,35 @@
+package it.arturoiafrate.shortcutbuddy.model.manager.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * A key event going from the native hook to the key observers; the duration covers the notification of
+ * the observers, the queue delay the hop from the native hook to the dispatcher thread.
+ */
+@Name("shortcutbuddy.KeyDispatch")
+@Label("Key Dispatch")
+@Category({"ShortcutBuddy", "Input"})
+@Description("A native key event dispatched to the key observers")
+public class KeyDispatchEvent extends Event {
+    @Label("Correlation Id")
+    public long correlationId;
+
+    @Label("Key Code")
+    public int keyCode;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Observers")
+    public int observers;
+
+    @Label("Queue Delay")
+    @Description("Time spent waiting for the dispatcher thread")
+    @Timespan(Timespan.NANOSECONDS)
+    public long queueDelay;
+}
@@ -0,0 +1,31 @@
+package it.arturoiafrate.shortcutbuddy.model.manager.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * A shortcut typed by the key emulator, from the end of the initial delay to the last key release.
+ */
+@Name("shortcutbuddy.KeyEmulation")
+@Label("Key Emulation")
+@Category({"ShortcutBuddy", "Input"})
+@Description("A shortcut emulated with the AWT robot")
+public class KeyEmulationEvent extends Event {
+    @Label("Correlation Id")
+    public long correlationId;
+
+    @Label("Keys")
+    public String keys;
+
+    @Label("Initial Delay")
+    @Timespan(Timespan.MILLISECONDS)
+    public long initialDelay;
+
+    @Label("Emulated")
+    @Description("False when a key has no virtual key code")
+    public boolean emulated;
+}
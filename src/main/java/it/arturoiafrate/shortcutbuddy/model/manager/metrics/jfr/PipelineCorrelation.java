@@ -0,0 +1,60 @@
+package it.arturoiafrate.shortcutbuddy.model.manager.metrics.jfr;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Correlation ids tying together the flight recorder events of the hotkey → popup → emulate pipeline.
+ * Every native key press gets a new input id, which the {@code KeyListener} publishes to the notifying thread
+ * while it notifies the observers; notifications run concurrently on several threads, so each thread sees
+ * only the input id it is dispatching. When the popup opens, the input id of the held key becomes the id of the popup session,
+ * carried by the shortcut loads and key emulations that follow it.
+ */
+public final class PipelineCorrelation {
+    private static final AtomicLong inputIds = new AtomicLong();
+    // A mutable holder per thread, so that publishing an id never boxes it
+    private static final ThreadLocal<long[]> dispatchingInputId = ThreadLocal.withInitial(() -> new long[1]);
+    private static volatile long sessionId;
+
+    private PipelineCorrelation() {
+    }
+
+    /**
+     * @return A new input id, unique for the lifetime of the application
+     */
+    public static long nextInputId() {
+        return inputIds.incrementAndGet();
+    }
+
+    /**
+     * Publishes the input id whose observers are being notified by the calling thread.
+     *
+     * @param inputId The input id, 0 once the notification is over
+     */
+    public static void setDispatchingInputId(long inputId) {
+        dispatchingInputId.get()[0] = inputId;
+    }
+
+    /**
+     * @return The input id whose observers are being notified by the calling thread, 0 outside of a notification
+     */
+    public static long getDispatchingInputId() {
+        return dispatchingInputId.get()[0];
+    }
+
+    /**
+     * Starts a popup session correlated with the input being dispatched by the calling thread.
+     *
+     * @return The id of the session
+     */
+    public static long startSession() {
+        sessionId = getDispatchingInputId();
+        return sessionId;
+    }
+
+    /**
+     * @return The id of the last popup session, 0 before the first one
+     */
+    public static long getSessionId() {
+        return sessionId;
+    }
+}
@@ -0,0 +1,32 @@
+package it.arturoiafrate.shortcutbuddy.model.manager.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The shortcut popup opening after a hold of the Ctrl key, from the hold to the stage being shown.
+ */
+@Name("shortcutbuddy.PopupShow")
+@Label("Popup Show")
+@Category({"ShortcutBuddy", "Popup"})
+@Description("The shortcut popup shown after a key hold")
+public class PopupShowEvent extends Event {
+    @Label("Correlation Id")
+    public long correlationId;
+
+    @Label("Application")
+    public String appName;
+
+    @Label("Cached")
+    @Description("Whether the shortcuts were ready when the popup opened")
+    public boolean cached;
+
+    @Label("Cells Created")
+    public long cellsCreated;
+
+    @Label("Cells Reused")
+    public long cellsReused;
+}
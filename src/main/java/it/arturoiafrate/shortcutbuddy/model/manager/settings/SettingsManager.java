@@ -8,6 +8,7 @@ import it.arturoiafrate.shortcutbuddy.model.bean.Setting;
 import it.arturoiafrate.shortcutbuddy.model.manager.AbstractManager;
 import it.arturoiafrate.shortcutbuddy.model.manager.IFileSystemManager;
 import it.arturoiafrate.shortcutbuddy.model.manager.database.repository.SettingsRepository;
+import it.arturoiafrate.shortcutbuddy.model.manager.metrics.MetricsRegistry;
 import it.arturoiafrate.shortcutbuddy.utility.AppInfo;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
@@ -20,6 +21,8 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -28,15 +31,17 @@ public class SettingsManager extends AbstractManager implements IFileSystemManag
     private final String currentAppVersion;
     private final SettingsRepository settingsRepository;
     private final Cache<String, Setting> settingsCache;
+    private final ConcurrentMap<String, Integer> intSettings = new ConcurrentHashMap<>();
 
     @Getter private boolean appVersionUpdated = false;
     @Getter private boolean devMode = false;
 
     @Inject
-    public SettingsManager(SettingsRepository settingsRepository) {
+    public SettingsManager(SettingsRepository settingsRepository, MetricsRegistry metricsRegistry) {
         this.settingsRepository = settingsRepository;
         this.currentAppVersion = AppInfo.getVersion();
         this.settingsCache = Caffeine.newBuilder().maximumSize(50).recordStats().build();
+        metricsRegistry.registerCache("settings.cache", settingsCache);
     }
 
 
@@ -44,6 +49,7 @@ public class SettingsManager extends AbstractManager implements IFileSystemManag
     public void load() {
         var settings = settingsRepository.getAllSettings();
         settingsCache.invalidateAll();
+        intSettings.clear();
         settingsCache.putAll(settings.stream()
                 .collect(Collectors.toMap(Setting::getKey, setting -> setting)));
         Setting appVersionSetting = settingsCache.getIfPresent("app.internal.lastVersion");
@@ -71,6 +77,17 @@ public class SettingsManager extends AbstractManager implements IFileSystemManag
         return settingsCache.get(key, this::getSettingFromRepository);
     }
 
+    /**
+     * Returns a numeric setting, parsed once and cached until the setting is saved again.
+     *
+     * @param key The setting key
+     * @return The value of the setting
+     * @throws NumberFormatException If the value is not an integer
+     */
+    public int getIntSetting(String key) {
+        return intSettings.computeIfAbsent(key, k -> Integer.parseInt(getSetting(k).getValue()));
+    }
+
     public boolean isEnabled(String key) {
         Setting setting = getSetting(key);
         return setting != null && "y".equals(setting.getValue());
@@ -80,11 +97,19 @@ public class SettingsManager extends AbstractManager implements IFileSystemManag
         return new ArrayList<>(settingsCache.getAllPresent(settingsCache.asMap().keySet()).values());
     }
 
+    /**
+     * Updates the cached settings and queues their persistence.
+     * The database writes complete asynchronously; failures are logged by the repository.
+     *
+     * @param settings The settings to save
+     * @return Always true, the cache is updated immediately
+     */
     public boolean save(List<Setting> settings) {
         settings.forEach(setting -> {
             settingsCache.invalidate(setting.getKey());
             settingsRepository.updateSetting(setting);
             settingsCache.put(setting.getKey(), setting);
+            intSettings.remove(setting.getKey());
         });
         return true;
     }
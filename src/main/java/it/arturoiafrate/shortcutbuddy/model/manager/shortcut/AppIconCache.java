@@ -0,0 +1,52 @@
+package it.arturoiafrate.shortcutbuddy.model.manager.shortcut;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import it.arturoiafrate.shortcutbuddy.model.manager.settings.SettingsManager;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import javafx.scene.image.Image;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+
+/**
+ * Decoded application icons, keyed by application name. Icons are decoded synchronously by the
+ * calling thread, so that they can be warmed up off the JavaFX application thread.
+ */
+@Slf4j
+@Singleton
+public class AppIconCache {
+    private static final int MAX_ICONS = 64;
+
+    private final SettingsManager settingsManager;
+    private final LoadingCache<String, Image> icons;
+
+    @Inject
+    public AppIconCache(SettingsManager settingsManager) {
+        this.settingsManager = settingsManager;
+        this.icons = Caffeine.newBuilder().maximumSize(MAX_ICONS).build(this::loadIcon);
+    }
+
+    /**
+     * @param appName The name of the application
+     * @return The icon of the application, or null if it has none
+     */
+    public Image getIcon(String appName) {
+        return icons.get(appName.toLowerCase());
+    }
+
+    private Image loadIcon(String appName) {
+        File imageFile = new File(settingsManager.getAppImagePath(appName));
+        if (!imageFile.exists()) {
+            // Not cached, an icon copied later is picked up on the next lookup
+            return null;
+        }
+        Image icon = new Image(imageFile.toURI().toString());
+        if (icon.isError()) {
+            log.error("Cannot decode the icon of '{}'", appName, icon.getException());
+            return null;
+        }
+        return icon;
+    }
+}
@@ -0,0 +1,87 @@
+package it.arturoiafrate.shortcutbuddy.model.manager.shortcut;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import it.arturoiafrate.shortcutbuddy.model.bean.AppShortcuts;
+import it.arturoiafrate.shortcutbuddy.model.bean.Shortcut;
+
+import java.util.List;
+
+/**
+ * Estimates the heap retained by a cached application, in bytes, so that the cache can be bounded by
+ * memory rather than by number of applications. Popup view models are estimated on their own, for their
+ * cache. The estimate assumes compressed oops and Latin-1 strings; it only has to rank an application with
+ * a handful of shortcuts below one with hundreds.
+ */
+public class AppShortcutsWeigher implements Weigher<String, AppShortcuts> {
+    private static final int OBJECT_OVERHEAD = 16;
+    private static final int REFERENCE_SIZE = 4;
+    private static final int STRING_OVERHEAD = 40;
+    private static final int SHORTCUT_OVERHEAD = 48;
+    private static final int APP_OVERHEAD = 56;
+    private static final int ENTRY_OVERHEAD = 32;
+    private static final int MATCH_OVERHEAD = 32;
+
+    @Override
+    public int weigh(String appKey, AppShortcuts appShortcuts) {
+        return (int) Math.min(Integer.MAX_VALUE, estimateBytes(appShortcuts));
+    }
+
+    /**
+     * @param appShortcuts The application
+     * @return The estimated size of the application and its shortcuts, in bytes, without their view model
+     */
+    public static long estimateBytes(AppShortcuts appShortcuts) {
+        if (appShortcuts == null) {
+            return APP_OVERHEAD;
+        }
+        long bytes = APP_OVERHEAD + stringBytes(appShortcuts.getAppName()) + stringBytes(appShortcuts.getAppDescription());
+        List<Shortcut> shortcuts = appShortcuts.getShortcuts();
+        if (shortcuts != null) {
+            long shortcutBytes = listBytes(shortcuts.size());
+            for (Shortcut shortcut : shortcuts) {
+                shortcutBytes += SHORTCUT_OVERHEAD + stringBytes(shortcut.getDescription()) + stringBytes(shortcut.getCategory())
+                        + keysBytes(shortcut.getKeys()) + keysBytes(shortcut.getDefaultKeys());
+            }
+            bytes += shortcutBytes;
+        }
+        return bytes;
+    }
+
+    /**
+     * The shortcuts of a view model are shared with its application and not counted again.
+     *
+     * @param viewModel The popup view model
+     * @return The estimated size of the view model and its search engine, in bytes
+     */
+    public static long estimateBytes(PopupViewModel viewModel) {
+        int shortcutCount = viewModel.shortcuts().size();
+        long bytes = APP_OVERHEAD + listBytes(shortcutCount) + listBytes(viewModel.starred().size())
+                + listBytes(viewModel.remaining().size());
+        // The search engine keeps an entry and a match for each shortcut, with description and category folded
+        bytes += OBJECT_OVERHEAD + 2 * listBytes(shortcutCount);
+        for (Shortcut shortcut : viewModel.shortcuts()) {
+            bytes += ENTRY_OVERHEAD + MATCH_OVERHEAD + charsBytes(shortcut.getDescription()) + charsBytes(shortcut.getCategory());
+        }
+        return bytes;
+    }
+
+    private static long keysBytes(List<String> keys) {
+        if (keys == null) {
+            return 0;
+        }
+        // Key names are shared through the key name table, only the list is owned by the shortcut
+        return listBytes(keys.size());
+    }
+
+    private static long listBytes(int size) {
+        return OBJECT_OVERHEAD + OBJECT_OVERHEAD + (long) size * REFERENCE_SIZE;
+    }
+
+    private static long charsBytes(String value) {
+        return OBJECT_OVERHEAD + (value == null ? 0 : 2L * value.length());
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : STRING_OVERHEAD + value.length();
+    }
+}
@@ -0,0 +1,74 @@
+package it.arturoiafrate.shortcutbuddy.model.manager.shortcut;
+
+import it.arturoiafrate.shortcutbuddy.model.bean.AppShortcuts;
+import it.arturoiafrate.shortcutbuddy.model.bean.Shortcut;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What the shortcut popup shows for an application, derived once from its {@link AppShortcuts} and
+ * cached by the {@link ShortcutManager} until the application is invalidated.
+ *
+ * @param appName The name of the application
+ * @param appDescription The description of the application, empty if the application is not supported
+ * @param shortcuts All the shortcuts, in display order
+ * @param starred The starred shortcuts shown in the top row, at most {@link #MAX_STARRED}
+ * @param remaining The shortcuts shown in the main grid
+ * @param columns The number of columns of the main grid
+ * @param searchEngine The search engine over the shortcuts, with descriptions and categories already folded
+ */
+public record PopupViewModel(String appName, String appDescription, List<Shortcut> shortcuts,
+                             List<Shortcut> starred, List<Shortcut> remaining, int columns,
+                             ShortcutSearchEngine searchEngine) {
+    public static final int MAX_STARRED = 5;
+    private static final int MAX_ITEMS_FOR_TWO_COLUMNS = 20;
+
+    /**
+     * Builds the view model of an application.
+     *
+     * @param appShortcuts The application and its shortcuts
+     * @return The view model
+     */
+    public static PopupViewModel of(AppShortcuts appShortcuts) {
+        List<Shortcut> shortcuts = appShortcuts.getShortcuts() != null ? List.copyOf(appShortcuts.getShortcuts()) : List.of();
+        List<Shortcut> starred = new ArrayList<>(MAX_STARRED);
+        List<Shortcut> remaining = new ArrayList<>(shortcuts.size());
+        split(shortcuts, starred, remaining);
+        return new PopupViewModel(appShortcuts.getAppName(), appShortcuts.getAppDescription(), shortcuts,
+                List.copyOf(starred), List.copyOf(remaining), columnsFor(remaining.size()), new ShortcutSearchEngine(shortcuts));
+    }
+
+    /**
+     * @param appName The name of an application without shortcuts
+     * @return An empty view model
+     */
+    public static PopupViewModel empty(String appName) {
+        return new PopupViewModel(appName, "", List.of(), List.of(), List.of(), columnsFor(0), new ShortcutSearchEngine(List.of()));
+    }
+
+    /**
+     * Splits shortcuts between the starred row and the main grid in a single pass, keeping their order.
+     *
+     * @param shortcuts The shortcuts to split
+     * @param starred Receives the first {@link #MAX_STARRED} starred shortcuts
+     * @param remaining Receives all the other shortcuts
+     */
+    public static void split(List<Shortcut> shortcuts, List<Shortcut> starred, List<Shortcut> remaining) {
+        for (Shortcut shortcut : shortcuts) {
+            if (shortcut.isStarred() && starred.size() < MAX_STARRED) {
+                starred.add(shortcut);
+            } else {
+                remaining.add(shortcut);
+            }
+        }
+    }
+
+    /**
+     * @param itemCount The number of shortcuts in the main grid
+     * @return The number of columns of the main grid
+     */
+    public static int columnsFor(int itemCount) {
+        return (itemCount <= MAX_ITEMS_FOR_TWO_COLUMNS) ? 2 : 3;
+    }
+}
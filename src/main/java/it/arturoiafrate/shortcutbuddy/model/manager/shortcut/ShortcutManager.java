@@ -1,16 +1,25 @@
 package it.arturoiafrate.shortcutbuddy.model.manager.shortcut;
 
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import it.arturoiafrate.shortcutbuddy.model.bean.AppShortcuts;
 import it.arturoiafrate.shortcutbuddy.model.bean.Shortcut;
 import it.arturoiafrate.shortcutbuddy.model.bean.ShortcutEditLists;
+import it.arturoiafrate.shortcutbuddy.model.bean.ShortcutSearchResult;
 import it.arturoiafrate.shortcutbuddy.model.manager.AbstractManager;
 import it.arturoiafrate.shortcutbuddy.model.manager.IFileSystemManager;
 import it.arturoiafrate.shortcutbuddy.model.manager.database.repository.ShortcutRepository;
+import it.arturoiafrate.shortcutbuddy.model.manager.metrics.MetricsRegistry;
+import it.arturoiafrate.shortcutbuddy.model.manager.metrics.jfr.AppLoadEvent;
+import it.arturoiafrate.shortcutbuddy.model.manager.metrics.jfr.PipelineCorrelation;
 import it.arturoiafrate.shortcutbuddy.model.manager.settings.SettingsManager;
+import it.arturoiafrate.shortcutbuddy.model.type.LatencyHistogram;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
@@ -18,10 +27,13 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -29,19 +41,56 @@ import java.util.stream.Collectors;
 public class ShortcutManager extends AbstractManager implements IFileSystemManager {
     private final SettingsManager settingsManager;
     private final ShortcutRepository shortcutRepository;
-    private final Cache<String, AppShortcuts> appShortcutsCache;
+    private static final Duration APP_REFRESH_AFTER_WRITE = Duration.ofMinutes(15);
+    private static final String AUTO_CACHE_SIZE = "auto";
+    // In auto mode the cache may use 1% of the maximum heap, within these bounds
+    private static final long MIN_CACHE_WEIGHT = 2L * 1024 * 1024;
+    private static final long MAX_CACHE_WEIGHT = 32L * 1024 * 1024;
+    private final AsyncLoadingCache<String, AppShortcuts> appShortcutsCache;
+    private final Cache<AppShortcuts, PopupViewModel> popupViewModelCache;
+    @Getter
+    private final LatencyHistogram appLoadLatency = new LatencyHistogram("shortcuts.app.load");
+    private final LatencyHistogram usageFlushLatency;
     private final ConcurrentMap<String, AtomicInteger> appUsageIncrements;
     private final ConcurrentMap<Long, AtomicInteger> shortcutUsageIncrements;
+    private final ConcurrentMap<Long, String> appKeyByShortcutId;
 
     @Inject
-    public ShortcutManager(SettingsManager settingsManager, ShortcutRepository shortcutRepository) {
+    public ShortcutManager(SettingsManager settingsManager, ShortcutRepository shortcutRepository, MetricsRegistry metricsRegistry) {
         this.settingsManager = settingsManager;
         this.shortcutRepository = shortcutRepository;
-        int cacheSize = Integer.parseInt(this.settingsManager.getSetting("cacheSize").getValue());
+        this.usageFlushLatency = metricsRegistry.histogram("shortcuts.usage.flush");
+        String cacheSizeSetting = this.settingsManager.getSetting("cacheSize").getValue();
         this.appUsageIncrements = new ConcurrentHashMap<>();
         this.shortcutUsageIncrements = new ConcurrentHashMap<>();
-        this.appShortcutsCache = Caffeine.newBuilder().maximumSize(cacheSize).recordStats().build();
-        log.info("Cache size: {}", cacheSize);
+        this.appKeyByShortcutId = new ConcurrentHashMap<>();
+        // The eviction listener runs synchronously, so the reverse index never outlives an evicted app.
+        // Once refreshAfterWrite has elapsed, the next lookup gets the current value and reloads it in the background.
+        Caffeine<String, AppShortcuts> appCacheBuilder = Caffeine.newBuilder()
+                .refreshAfterWrite(APP_REFRESH_AFTER_WRITE)
+                .evictionListener((String appKey, AppShortcuts appShortcuts, RemovalCause cause) -> unindexShortcuts(appKey, appShortcuts))
+                .recordStats();
+        // Weak keys compare by identity: a view model belongs to one loaded instance of the app
+        Caffeine<Object, Object> viewModelCacheBuilder = Caffeine.newBuilder().weakKeys();
+        if (AUTO_CACHE_SIZE.equals(cacheSizeSetting)) {
+            // Bounded by estimated heap: many small apps fit where a few huge ones would not.
+            // The budget is shared: each cache weighs only what it holds and gets half of it.
+            long maxWeight = Math.clamp(Runtime.getRuntime().maxMemory() / 100, MIN_CACHE_WEIGHT, MAX_CACHE_WEIGHT);
+            appCacheBuilder.maximumWeight(maxWeight / 2).weigher(new AppShortcutsWeigher());
+            viewModelCacheBuilder.maximumWeight(maxWeight / 2)
+                    .weigher((Object app, Object viewModel) -> (int) Math.min(Integer.MAX_VALUE, AppShortcutsWeigher.estimateBytes((PopupViewModel) viewModel)));
+            log.info("Cache size: auto, {} KB for shortcuts and view models", maxWeight / 1024);
+        } else {
+            int cacheSize = Integer.parseInt(cacheSizeSetting);
+            appCacheBuilder.maximumSize(cacheSize);
+            viewModelCacheBuilder.maximumSize(cacheSize);
+            log.info("Cache size: {}", cacheSize);
+        }
+        this.appShortcutsCache = appCacheBuilder.buildAsync(this::getAppShortcutsFromRepository);
+        this.popupViewModelCache = viewModelCacheBuilder.build();
+        metricsRegistry.registerCache("shortcuts.app.cache", appShortcutsCache.synchronous());
+        metricsRegistry.register(appLoadLatency);
+        metricsRegistry.gauge("shortcuts.viewModel.cache.size", popupViewModelCache::estimatedSize);
         copyAppImages();
     }
 
@@ -50,8 +99,10 @@ public class ShortcutManager extends AbstractManager implements IFileSystemManag
         String preloadAppsSettings = this.settingsManager.getSetting("preloadAppsNumber").getValue();
         if(!"disabled".equals(preloadAppsSettings)){
             var mostUsedApps = shortcutRepository.findMostUsedApps(Integer.parseInt(preloadAppsSettings));
-            appShortcutsCache.putAll(mostUsedApps.stream()
-                    .collect(Collectors.toMap(appShortcuts -> appShortcuts.getAppName().toLowerCase(), appShortcuts -> appShortcuts)));
+            Map<String, AppShortcuts> preloadedApps = mostUsedApps.stream()
+                    .collect(Collectors.toMap(appShortcuts -> appShortcuts.getAppName().toLowerCase(), appShortcuts -> appShortcuts));
+            preloadedApps.forEach(this::indexShortcuts);
+            appShortcutsCache.synchronous().putAll(preloadedApps);
         }
     }
 
@@ -60,30 +111,239 @@ public class ShortcutManager extends AbstractManager implements IFileSystemManag
     }
 
 
+    /**
+     * Returns the shortcuts of an application, waiting for it to be loaded if it is not cached.
+     * The popup uses {@link #getPopupViewModel(String)} instead, which never blocks.
+     *
+     * @param appName The name of the application
+     * @return The shortcuts, empty if the application is not supported
+     */
     public List<Shortcut> getShortcutsForApp(String appName) {
-        var singleAppShortcut = Optional.ofNullable(appShortcutsCache.get(appName.toLowerCase(), this::getAppShortcutsFromRepository));
+        var singleAppShortcut = Optional.ofNullable(appShortcutsCache.get(appName.toLowerCase()).join());
         if(singleAppShortcut.isPresent()) {
             appUsageIncrements.computeIfAbsent(appName.toLowerCase(), k -> new AtomicInteger(0)).incrementAndGet();
         }
         return singleAppShortcut.isPresent() ? singleAppShortcut.get().getShortcuts() : Collections.emptyList();
     }
 
+    /**
+     * Returns what the popup shows for an application. The view model is derived from the cached
+     * application once and reused until the application is invalidated or refreshed.
+     * A cached application, even a stale one being refreshed, gives an already completed future;
+     * a cold one completes once it has been loaded in the background, so the caller never blocks.
+     *
+     * @param appName The name of the application
+     * @return A future completed with the view model, empty if the application has no shortcuts
+     */
+    public CompletableFuture<PopupViewModel> getPopupViewModel(String appName) {
+        String key = appName.toLowerCase();
+        return appShortcutsCache.get(key).thenApply(appShortcuts -> {
+            if (appShortcuts == null) {
+                return PopupViewModel.empty(appName);
+            }
+            appUsageIncrements.computeIfAbsent(key, k -> new AtomicInteger(0)).incrementAndGet();
+            return popupViewModelCache.get(appShortcuts, PopupViewModel::of);
+        });
+    }
+
+    /**
+     * Returns the view model of an application already loaded, deriving it if needed. Unlike
+     * {@link #getPopupViewModel(String)}, does not count as a use and never waits for a load.
+     *
+     * @param appName The name of the application
+     * @return The view model, or null if the application is not loaded or has no shortcuts
+     */
+    public PopupViewModel peekPopupViewModel(String appName) {
+        AppShortcuts appShortcuts = getLoadedApp(appName.toLowerCase());
+        return appShortcuts != null ? popupViewModelCache.get(appShortcuts, PopupViewModel::of) : null;
+    }
+
+    /**
+     * Loads an application and its popup view model in the background, so that the popup opened
+     * right after finds both cached. Unlike {@link #getPopupViewModel(String)}, does not count as a use.
+     *
+     * @param appName The name of the application
+     * @return A future completed once the application is cached, with false if it is not supported
+     */
+    public CompletableFuture<Boolean> prefetch(String appName) {
+        return appShortcutsCache.get(appName.toLowerCase()).thenApply(appShortcuts -> {
+            if (appShortcuts == null) {
+                return false;
+            }
+            popupViewModelCache.get(appShortcuts, PopupViewModel::of);
+            return true;
+        });
+    }
+
+    /**
+     * Searches shortcuts through the full-text index without loading applications into the cache.
+     * 
+     * @param query The text typed by the user
+     * @param appName The application to restrict the search to, or null to search all applications
+     * @param limit The maximum number of results
+     * @return The matching shortcuts, best match first
+     */
+    public List<ShortcutSearchResult> searchShortcuts(String query, String appName, int limit) {
+        return shortcutRepository.search(query, appName, limit);
+    }
+
     private AppShortcuts getAppShortcutsFromRepository(String appName) {
-        return shortcutRepository.findAppShortcutsByName(appName.toLowerCase());
+        long startTime = System.nanoTime();
+        AppLoadEvent event = new AppLoadEvent();
+        event.begin();
+        AppShortcuts appShortcuts = shortcutRepository.findAppShortcutsByName(appName.toLowerCase());
+        indexShortcuts(appName.toLowerCase(), appShortcuts);
+        long elapsed = System.nanoTime() - startTime;
+        appLoadLatency.record(elapsed);
+        event.end();
+        if (event.shouldCommit()) {
+            event.correlationId = PipelineCorrelation.getSessionId();
+            event.appName = appName;
+            event.found = appShortcuts != null;
+            event.shortcutCount = appShortcuts != null && appShortcuts.getShortcuts() != null ? appShortcuts.getShortcuts().size() : 0;
+            event.commit();
+        }
+        log.debug("Loaded shortcuts of '{}' in {} ms", appName, elapsed / 1_000_000);
+        return appShortcuts;
+    }
+
+    /**
+     * @param appKey The lower-case application name
+     * @return The cached application if it has finished loading, without waiting for it
+     */
+    private AppShortcuts getLoadedApp(String appKey) {
+        CompletableFuture<AppShortcuts> future = appShortcutsCache.getIfPresent(appKey);
+        if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+            return null;
+        }
+        return future.join();
+    }
+
+    private void indexShortcuts(String appKey, AppShortcuts appShortcuts) {
+        if (appShortcuts == null || appShortcuts.getShortcuts() == null) {
+            return;
+        }
+        for (Shortcut shortcut : appShortcuts.getShortcuts()) {
+            appKeyByShortcutId.put(shortcut.getId(), appKey);
+        }
+    }
+
+    private void unindexShortcuts(String appKey, AppShortcuts appShortcuts) {
+        if (appShortcuts == null || appShortcuts.getShortcuts() == null) {
+            return;
+        }
+        for (Shortcut shortcut : appShortcuts.getShortcuts()) {
+            appKeyByShortcutId.remove(shortcut.getId(), appKey);
+        }
+    }
+
+    /**
+     * Replaces the cached application owning a shortcut with a copy where only that shortcut is patched.
+     * Cached applications are shared with the popup and read on the FX thread, so they are never modified:
+     * the patched copy is published through the cache instead. If the application is reloaded or patched
+     * concurrently, the patch is applied again to the newer instance.
+     * A patch the popup does not show keeps the view model already derived, which moves to the new instance.
+     *
+     * @param shortcutId The ID of the shortcut
+     * @param patch Applied to a copy of the cached shortcut
+     * @param shownByPopup False if the patch leaves what the popup shows unchanged
+     * @return True if the cached application has been replaced, false if it is not cached
+     */
+    private boolean patchCachedShortcut(long shortcutId, Consumer<Shortcut> patch, boolean shownByPopup) {
+        String appKey = appKeyByShortcutId.get(shortcutId);
+        if (appKey == null) {
+            return false;
+        }
+        ConcurrentMap<String, CompletableFuture<AppShortcuts>> cachedApps = appShortcutsCache.asMap();
+        while (true) {
+            CompletableFuture<AppShortcuts> future = cachedApps.get(appKey);
+            if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+                return false;
+            }
+            AppShortcuts appShortcuts = future.join();
+            if (appShortcuts == null || appShortcuts.getShortcuts() == null) {
+                return false;
+            }
+            List<Shortcut> shortcuts = new ArrayList<>(appShortcuts.getShortcuts());
+            int index = -1;
+            for (int i = 0; i < shortcuts.size() && index < 0; i++) {
+                if (shortcuts.get(i).getId() == shortcutId) {
+                    index = i;
+                }
+            }
+            if (index < 0) {
+                return false;
+            }
+            Shortcut patched = new Shortcut(shortcuts.get(index));
+            patch.accept(patched);
+            shortcuts.set(index, patched);
+            AppShortcuts patchedApp = new AppShortcuts(appShortcuts.getAppId(), appShortcuts.getAppName(),
+                    appShortcuts.getAppDescription(), shortcuts, appShortcuts.getUsageCount(),
+                    appShortcuts.isUserDefined(), appShortcuts.getAppIconPath());
+            if (cachedApps.replace(appKey, future, CompletableFuture.completedFuture(patchedApp))) {
+                PopupViewModel viewModel = shownByPopup ? null : popupViewModelCache.getIfPresent(appShortcuts);
+                if (viewModel != null) {
+                    popupViewModelCache.put(patchedApp, viewModel);
+                }
+                // The view model of the replaced instance is never looked up again
+                popupViewModelCache.invalidate(appShortcuts);
+                return true;
+            }
+        }
     }
 
     public String getAppDescription(String appName) {
-        var singleAppShortcut = Optional.ofNullable(appShortcutsCache.get(appName.toLowerCase(), this::getAppShortcutsFromRepository));
+        var singleAppShortcut = Optional.ofNullable(appShortcutsCache.get(appName.toLowerCase()).join());
         return singleAppShortcut.isPresent() ? singleAppShortcut.get().getAppDescription() : "";
     }
 
+    /**
+     * Drops the cached shortcuts of an application and the popup view model derived from them,
+     * so that the next lookup loads the application again from the database.
+     *
+     * @param appName The name of the application
+     */
+    public void invalidateApp(String appName) {
+        String appKey = appName.toLowerCase();
+        AppShortcuts appShortcuts = getLoadedApp(appKey);
+        appShortcutsCache.synchronous().invalidate(appKey);
+        unindexShortcuts(appKey, appShortcuts);
+        if (appShortcuts != null) {
+            popupViewModelCache.invalidate(appShortcuts);
+        }
+    }
+
+    /**
+     * @return The statistics of the application cache since startup
+     */
+    public CacheStats getCacheStats() {
+        return appShortcutsCache.synchronous().stats();
+    }
+
+    /**
+     * @return A one-line summary of the application cache: hit rate, hits, misses, cached applications and weight
+     */
+    public String getCacheStatsSummary() {
+        CacheStats stats = getCacheStats();
+        String weight = appShortcutsCache.synchronous().policy().eviction()
+                .filter(eviction -> eviction.isWeighted())
+                .map(eviction -> String.format(", %d/%d KB", eviction.weightedSize().orElse(0) / 1024, eviction.getMaximum() / 1024))
+                .orElse("");
+        return String.format("hit rate %.1f%% (%d hits, %d misses, %d evictions), %d apps%s", stats.hitRate() * 100,
+                stats.hitCount(), stats.missCount(), stats.evictionCount(), appShortcutsCache.synchronous().estimatedSize(), weight);
+    }
+
     public void flushUsageCount(){
         Map<String, AtomicInteger> appCountsToFlush = new HashMap<>(appUsageIncrements);
         appUsageIncrements.clear();
 
         if (!appCountsToFlush.isEmpty()) {
-            shortcutRepository.batchIncrementUsageCount(appCountsToFlush);
+            // Measured until committed, the writer queue included
+            long startTime = System.nanoTime();
+            shortcutRepository.batchIncrementUsageCount(appCountsToFlush)
+                    .whenComplete((updated, e) -> usageFlushLatency.record(System.nanoTime() - startTime));
         }
+        log.info("Shortcut cache: {}", getCacheStatsSummary());
 
         // Also flush shortcut usage counts
         flushShortcutUsageCount();
@@ -91,12 +351,15 @@ public class ShortcutManager extends AbstractManager implements IFileSystemManag
 
     /**
      * Increments the usage count for a shortcut.
+     * The cached application is replaced at once by a patched copy, the database is updated on the next flush.
      * 
      * @param shortcutId The ID of the shortcut
      */
     public void incrementShortcutUsageCount(long shortcutId) {
         log.debug("Incrementing usage count for shortcut ID: {}", shortcutId);
         shortcutUsageIncrements.computeIfAbsent(shortcutId, k -> new AtomicInteger(0)).incrementAndGet();
+        // The popup does not show usage counts: its view model is kept
+        patchCachedShortcut(shortcutId, shortcut -> shortcut.setUsageCount(shortcut.getUsageCount() + 1), false);
     }
 
     /**
@@ -113,9 +376,9 @@ public class ShortcutManager extends AbstractManager implements IFileSystemManag
         shortcutRepository.batchIncrementShortcutUsageCount(countsToFlush);
     }
 
-    public boolean addAppShortcuts(AppShortcuts appShortcuts) {
+    public CompletableFuture<Boolean> addAppShortcuts(AppShortcuts appShortcuts) {
         if (StringUtils.isBlank(appShortcuts.getAppName())) {
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
         return shortcutRepository.insertApp(appShortcuts);
     }
@@ -142,73 +405,75 @@ public class ShortcutManager extends AbstractManager implements IFileSystemManag
         }
     }
 
-    public boolean batchModifyShortcuts(String appName, ShortcutEditLists shortcutEditLists) {
-        boolean added = false;
-        boolean updated = false;
-        boolean removed = false;
+    public CompletableFuture<Boolean> batchModifyShortcuts(String appName, ShortcutEditLists shortcutEditLists) {
+        List<CompletableFuture<Boolean>> writes = new ArrayList<>();
         if(shortcutEditLists.getAdded() != null) {
             for (Shortcut shortcut : shortcutEditLists.getAdded()) {
-                added = shortcutRepository.insertShortcut(shortcut);
+                writes.add(shortcutRepository.insertShortcut(shortcut));
             }
         }
         if(shortcutEditLists.getUpdated() != null) {
             for (Shortcut shortcut : shortcutEditLists.getUpdated()) {
-                updated = shortcutRepository.updateShortcut(shortcut);
+                writes.add(shortcutRepository.updateShortcut(shortcut));
             }
         }
         if(shortcutEditLists.getRemoved() != null) {
             for (Shortcut shortcut : shortcutEditLists.getRemoved()) {
-                removed = shortcutRepository.deleteShortcut(shortcut.getId());
+                writes.add(shortcutRepository.deleteShortcut(shortcut.getId()));
             }
         }
-        if (appShortcutsCache.asMap().containsKey(appName.toLowerCase())) {
-            appShortcutsCache.invalidate(appName.toLowerCase());
-            appShortcutsCache.put(appName.toLowerCase(), shortcutRepository.findAppShortcutsByName(appName.toLowerCase()));
-        }
+        return CompletableFuture.allOf(writes.toArray(new CompletableFuture[0]))
+                .thenApply(v -> {
+                    invalidateApp(appName.toLowerCase());
+                    return writes.stream().anyMatch(CompletableFuture::join);
+                });
+    }
 
-        return added || updated || removed;
+    public CompletableFuture<Boolean> restoreDefaultShortcut(String appName, long shortcutId) {
+        return shortcutRepository.restoreDefaultShortcut(shortcutId)
+                .thenApply(restored -> {
+                    if (restored && !patchCachedShortcut(shortcutId, this::restoreDefaultKeys, true)) {
+                        invalidateApp(appName.toLowerCase());
+                    }
+                    return restored;
+                });
     }
 
-    public boolean restoreDefaultShortcut(String appName, long shortcutId) {
-        boolean restored = shortcutRepository.restoreDefaultShortcut(shortcutId);
-        if (restored && appShortcutsCache.asMap().containsKey(appName.toLowerCase())) {
-            appShortcutsCache.invalidate(appName.toLowerCase());
-            appShortcutsCache.put(appName.toLowerCase(), shortcutRepository.findAppShortcutsByName(appName.toLowerCase()));
+    /**
+     * Resets the keys of a shortcut to its default ones; without default keys the shortcut is left as it is.
+     */
+    private void restoreDefaultKeys(Shortcut shortcut) {
+        if (shortcut.getDefaultKeys() != null) {
+            shortcut.setKeys(shortcut.getDefaultKeys());
         }
-        return restored;
     }
 
     /**
      * Updates the starred status of a shortcut.
+     * Once the change is committed the cached application is replaced by a patched copy, whose view model is
+     * derived again on the next {@link #getPopupViewModel(String)} or {@link #peekPopupViewModel(String)};
+     * if the update fails the owning application is dropped from the cache, so that the next lookup reloads it.
      * 
      * @param shortcutId The ID of the shortcut to update
      * @param starred The new starred status
-     * @return True if the update was successful, false otherwise
+     * @return A future completed with true if the update was successful, false otherwise
      */
-    public boolean updateShortcutStarred(long shortcutId, boolean starred) {
+    public CompletableFuture<Boolean> updateShortcutStarred(long shortcutId, boolean starred) {
         log.debug("Updating starred status to {} for shortcut ID: {}", starred, shortcutId);
-        boolean updated = shortcutRepository.updateShortcutStarred(shortcutId, starred);
-
-        // Find which app this shortcut belongs to and invalidate its cache
-        if (updated) {
-            for (Map.Entry<String, AppShortcuts> entry : appShortcutsCache.asMap().entrySet()) {
-                String appName = entry.getKey();
-                AppShortcuts appShortcuts = entry.getValue();
-
-                // Check if this app contains the shortcut
-                boolean containsShortcut = appShortcuts.getShortcuts().stream()
-                        .anyMatch(shortcut -> shortcut.getId() == shortcutId);
-
-                if (containsShortcut) {
-                    log.debug("Invalidating cache for app: {} after updating shortcut starred status", appName);
-                    appShortcutsCache.invalidate(appName);
-                    appShortcutsCache.put(appName, shortcutRepository.findAppShortcutsByName(appName));
-                    break;
-                }
-            }
-        }
-
-        return updated;
+        return shortcutRepository.updateShortcutStarred(shortcutId, starred)
+                .thenApply(updated -> {
+                    String ownerKey = appKeyByShortcutId.get(shortcutId);
+                    if (ownerKey == null) {
+                        return updated;
+                    }
+                    if (updated) {
+                        patchCachedShortcut(shortcutId, shortcut -> shortcut.setStarred(starred), true);
+                    } else {
+                        log.debug("Invalidating cache for app: {} after failing to update shortcut starred status", ownerKey);
+                        invalidateApp(ownerKey);
+                    }
+                    return updated;
+                });
     }
 
 }
@@ -0,0 +1,97 @@
+package it.arturoiafrate.shortcutbuddy.model.manager.shortcut;
+
+import it.arturoiafrate.shortcutbuddy.model.interceptor.foreground.IForegroundAppSource;
+import it.arturoiafrate.shortcutbuddy.model.manager.metrics.MetricsRegistry;
+import it.arturoiafrate.shortcutbuddy.model.type.LatencyHistogram;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms the shortcuts, popup view model and icon of an application as soon as it comes to the
+ * foreground, so that the popup opened on it finds everything cached. Changes are debounced: while
+ * the user is alt-tabbing through windows only the one that stays in front is prefetched.
+ */
+@Slf4j
+@Singleton
+public class ShortcutPrefetcher {
+    private static final long DEBOUNCE_MILLIS = 150;
+
+    private final IForegroundAppSource foregroundAppSource;
+    private final ShortcutManager shortcutManager;
+    private final AppIconCache appIconCache;
+    private final LatencyHistogram prefetchLatency;
+    private ScheduledExecutorService executor;
+    private ScheduledFuture<?> pendingPrefetch;
+    private String lastAppName;
+
+    @Inject
+    public ShortcutPrefetcher(IForegroundAppSource foregroundAppSource, ShortcutManager shortcutManager, AppIconCache appIconCache,
+                              MetricsRegistry metricsRegistry) {
+        this.foregroundAppSource = foregroundAppSource;
+        this.shortcutManager = shortcutManager;
+        this.appIconCache = appIconCache;
+        this.prefetchLatency = metricsRegistry.histogram("shortcuts.prefetch");
+    }
+
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "ShortcutBuddy-Prefetcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        foregroundAppSource.start(this::onForegroundChanged);
+        log.info("Shortcut prefetcher started");
+    }
+
+    /**
+     * Stops prefetching. The source is stopped outside the monitor: it may wait for its own thread,
+     * which could be blocked delivering a change to {@link #onForegroundChanged(String)}.
+     */
+    public void stop() {
+        synchronized (this) {
+            if (executor == null) {
+                return;
+            }
+            executor.shutdownNow();
+            executor = null;
+            pendingPrefetch = null;
+            lastAppName = null;
+        }
+        foregroundAppSource.stop();
+    }
+
+    private synchronized void onForegroundChanged(String appName) {
+        if (executor == null || StringUtils.isBlank(appName) || appName.equalsIgnoreCase(lastAppName)) {
+            return;
+        }
+        lastAppName = appName;
+        if (pendingPrefetch != null) {
+            pendingPrefetch.cancel(false);
+        }
+        pendingPrefetch = executor.schedule(() -> prefetch(appName), DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private void prefetch(String appName) {
+        long startTime = System.nanoTime();
+        shortcutManager.prefetch(appName).whenComplete((supported, e) -> {
+            if (e != null) {
+                log.error("Cannot prefetch the shortcuts of '{}'", appName, e);
+                return;
+            }
+            appIconCache.getIcon(supported ? appName : "openjdk");
+            long elapsed = System.nanoTime() - startTime;
+            prefetchLatency.record(elapsed);
+            log.debug("Prefetched '{}' in {} ms", appName, elapsed / 1_000_000);
+        });
+    }
+}
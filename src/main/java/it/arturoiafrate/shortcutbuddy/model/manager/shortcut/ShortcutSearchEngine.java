@@ -0,0 +1,186 @@
+package it.arturoiafrate.shortcutbuddy.model.manager.shortcut;
+
+import it.arturoiafrate.shortcutbuddy.model.bean.Shortcut;
+import lombok.extern.slf4j.Slf4j;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * In-memory fuzzy search over the shortcuts of a single application, built once when the app is loaded.
+ * Descriptions and categories are case- and accent-folded up front, keeping a one-to-one mapping with the
+ * original characters so that match positions can be highlighted in the displayed text.
+ * When a query extends the previous one, only the previous matches are scored again.
+ */
+@Slf4j
+public class ShortcutSearchEngine {
+    private static final int SUBSTRING_SCORE = 1000;
+    private static final int WORD_START_BONUS = 200;
+    private static final int CONSECUTIVE_BONUS = 15;
+    private static final int WORD_CHAR_BONUS = 15;
+    private static final int CHAR_SCORE = 10;
+    private static final int GAP_PENALTY = 1;
+    private static final int[] NO_HIGHLIGHTS = new int[0];
+
+    private final List<Entry> entries;
+    private final List<Match> allMatches;
+    private String lastQuery = "";
+    private List<Entry> lastCandidates;
+
+    /**
+     * A shortcut matching the query.
+     *
+     * @param shortcut The matching shortcut
+     * @param score The match score, higher is better
+     * @param descriptionHighlights The positions of the matched characters in the description, in ascending order
+     */
+    public record Match(Shortcut shortcut, int score, int[] descriptionHighlights) {
+    }
+
+    public ShortcutSearchEngine(List<Shortcut> shortcuts) {
+        this.entries = new ArrayList<>(shortcuts.size());
+        this.allMatches = new ArrayList<>(shortcuts.size());
+        for (Shortcut shortcut : shortcuts) {
+            Entry entry = new Entry(shortcut, fold(shortcut.getDescription()), fold(shortcut.getCategory()));
+            entries.add(entry);
+            allMatches.add(new Match(shortcut, 0, NO_HIGHLIGHTS));
+        }
+        this.lastCandidates = entries;
+    }
+
+    /**
+     * Searches the shortcuts.
+     *
+     * @param query The text typed by the user
+     * @return The matches, best first; all shortcuts in their original order when the query is blank
+     */
+    public synchronized List<Match> search(String query) {
+        char[] folded = fold(query == null ? "" : query.strip());
+        String foldedQuery = new String(folded);
+        if (folded.length == 0) {
+            lastQuery = "";
+            lastCandidates = entries;
+            return allMatches;
+        }
+        List<Entry> candidates = (!lastQuery.isEmpty() && foldedQuery.startsWith(lastQuery)) ? lastCandidates : entries;
+
+        List<Entry> matchedEntries = new ArrayList<>(candidates.size());
+        List<Match> matches = new ArrayList<>(candidates.size());
+        for (Entry entry : candidates) {
+            Match match = score(entry, folded);
+            if (match != null) {
+                matchedEntries.add(entry);
+                matches.add(match);
+            }
+        }
+        log.trace("Query '{}' scored {} of {} shortcuts, {} matches", foldedQuery, candidates.size(), entries.size(), matches.size());
+        lastQuery = foldedQuery;
+        lastCandidates = matchedEntries;
+
+        // The sort is stable: equal scores keep the original usage order
+        matches.sort(Comparator.comparingInt(Match::score).reversed());
+        return matches;
+    }
+
+    private Match score(Entry entry, char[] query) {
+        int[] descriptionHighlights = new int[query.length];
+        int descriptionScore = scoreText(entry.description(), query, descriptionHighlights);
+        int categoryScore = scoreText(entry.category(), query, null);
+        if (categoryScore > 0) {
+            categoryScore /= 2;
+        }
+        if (descriptionScore < 0 && categoryScore < 0) {
+            return null;
+        }
+        if (descriptionScore >= categoryScore) {
+            return new Match(entry.shortcut(), descriptionScore, descriptionHighlights);
+        }
+        return new Match(entry.shortcut(), categoryScore, NO_HIGHLIGHTS);
+    }
+
+    /**
+     * Scores a query against a folded text: a contiguous occurrence beats a scattered subsequence,
+     * earlier and word-aligned matches score higher.
+     *
+     * @param text The folded text
+     * @param query The folded query
+     * @param highlights Receives the matched positions when not null
+     * @return The score, or a negative value if the query is not a subsequence of the text
+     */
+    private static int scoreText(char[] text, char[] query, int[] highlights) {
+        if (text.length < query.length) {
+            return -1;
+        }
+        int index = indexOf(text, query);
+        if (index >= 0) {
+            if (highlights != null) {
+                for (int i = 0; i < query.length; i++) {
+                    highlights[i] = index + i;
+                }
+            }
+            return SUBSTRING_SCORE - index + (isWordStart(text, index) ? WORD_START_BONUS : 0);
+        }
+        int score = 0;
+        int queryIndex = 0;
+        int lastMatch = -1;
+        for (int i = 0; i < text.length && queryIndex < query.length; i++) {
+            if (text[i] != query[queryIndex]) {
+                continue;
+            }
+            score += CHAR_SCORE;
+            if (lastMatch >= 0) {
+                score += (i == lastMatch + 1) ? CONSECUTIVE_BONUS : -GAP_PENALTY * (i - lastMatch - 1);
+            }
+            if (isWordStart(text, i)) {
+                score += WORD_CHAR_BONUS;
+            }
+            if (highlights != null) {
+                highlights[queryIndex] = i;
+            }
+            lastMatch = i;
+            queryIndex++;
+        }
+        return queryIndex == query.length ? Math.max(score, 0) : -1;
+    }
+
+    private static int indexOf(char[] text, char[] query) {
+        outer:
+        for (int i = 0; i <= text.length - query.length; i++) {
+            for (int j = 0; j < query.length; j++) {
+                if (text[i + j] != query[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static boolean isWordStart(char[] text, int index) {
+        return index == 0 || !Character.isLetterOrDigit(text[index - 1]);
+    }
+
+    /**
+     * Folds case and accents character by character, so that the folded text has the same length as the original.
+     */
+    static char[] fold(String value) {
+        if (value == null || value.isEmpty()) {
+            return new char[0];
+        }
+        char[] folded = value.toCharArray();
+        for (int i = 0; i < folded.length; i++) {
+            char c = folded[i];
+            if (c > 0x7F) {
+                String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+                c = decomposed.isEmpty() ? c : decomposed.charAt(0);
+            }
+            folded[i] = Character.toLowerCase(c);
+        }
+        return folded;
+    }
+
+    private record Entry(Shortcut shortcut, char[] description, char[] category) {
+    }
+}
@@ -6,6 +6,7 @@ import it.arturoiafrate.shortcutbuddy.controller.dialog.DialogUtils;
 import it.arturoiafrate.shortcutbuddy.controller.dialog.InlineCSS;
 import it.arturoiafrate.shortcutbuddy.controller.factory.ControllerFactory;
 import it.arturoiafrate.shortcutbuddy.model.constant.Label;
+import it.arturoiafrate.shortcutbuddy.model.manager.metrics.FlightRecorderManager;
 import it.arturoiafrate.shortcutbuddy.service.impl.ChangelogService;
 import it.arturoiafrate.shortcutbuddy.model.manager.settings.SettingsManager;
 import it.arturoiafrate.shortcutbuddy.service.INotificationService;
@@ -30,10 +31,12 @@ import lombok.extern.slf4j.Slf4j;
 
 import javax.swing.*;
 import java.awt.*;
+import java.nio.file.Path;
 import java.text.MessageFormat;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 @Slf4j
@@ -54,11 +57,13 @@ public class TrayManager implements INotificationService {
     private final ChangelogService changelogService;
     private final SettingsManager settingsManager;
     private final ControllerFactory controllerFactory;
+    private final FlightRecorderManager flightRecorderManager;
     @Inject
-    public TrayManager(ControllerFactory controllerFactory, ResourceBundle bundle, HostServices appHostServices, SettingsManager settingsManager, ChangelogService changelogService) {
+    public TrayManager(ControllerFactory controllerFactory, ResourceBundle bundle, HostServices appHostServices, SettingsManager settingsManager, ChangelogService changelogService, FlightRecorderManager flightRecorderManager) {
         TrayManager.appHostServices = appHostServices;
         this.controllerFactory = controllerFactory;
         this.settingsManager = settingsManager;
+        this.flightRecorderManager = flightRecorderManager;
         this.bundle = bundle;
         this.changelogService = changelogService;
     }
@@ -90,6 +95,11 @@ public class TrayManager implements INotificationService {
         popup.add(checkForUpdatesItem);
         popup.add(changelogItem);
         popup.add(aboutItem);
+        if (flightRecorderManager.isRecording()) {
+            MenuItem dumpRecordingItem = new MenuItem(bundle.getString(Label.BUTTON_DUMPRECORDING));
+            dumpRecordingItem.addActionListener(e -> CompletableFuture.runAsync(this::dumpFlightRecording));
+            popup.add(dumpRecordingItem);
+        }
         popup.addSeparator();
         popup.add(exitItem);
 
@@ -111,6 +121,17 @@ public class TrayManager implements INotificationService {
         }
     }
 
+    private void dumpFlightRecording() {
+        Path file = flightRecorderManager.dump();
+        if (file != null) {
+            showNotification(bundle.getString(Label.NOTIFICATION_RECORDINGDUMPED_TITLE),
+                    MessageFormat.format(bundle.getString(Label.NOTIFICATION_RECORDINGDUMPED_TEXT), file), TrayIcon.MessageType.INFO);
+        } else {
+            showNotification(bundle.getString(Label.NOTIFICATION_RECORDINGDUMPED_TITLE),
+                    bundle.getString(Label.NOTIFICATION_RECORDINGDUMPED_ERROR), TrayIcon.MessageType.ERROR);
+        }
+    }
+
     public void exitTray(){
         SystemTray.getSystemTray().remove(trayIcon);
         trayIcon = null;
@@ -0,0 +1,127 @@
+package it.arturoiafrate.shortcutbuddy.model.type;
+
+import java.util.Arrays;
+
+/**
+ * A set of native key codes backed by a fixed-size bitset covering the 16-bit virtual key codes of the
+ * native hook, so that adding and removing keys never allocates. Key codes outside the range are never
+ * contained. Not thread safe.
+ */
+public final class KeyCodeSet {
+    public static final int CAPACITY = 1 << 16;
+
+    private final long[] words = new long[CAPACITY >>> 6];
+    private int size;
+
+    /**
+     * @param keyCode The key code
+     * @return True if the key code was not in the set and has been added
+     */
+    public boolean add(int keyCode) {
+        if (!inRange(keyCode)) {
+            return false;
+        }
+        long bit = 1L << keyCode;
+        int word = keyCode >>> 6;
+        if ((words[word] & bit) != 0) {
+            return false;
+        }
+        words[word] |= bit;
+        size++;
+        return true;
+    }
+
+    /**
+     * @param keyCode The key code
+     * @return True if the key code was in the set and has been removed
+     */
+    public boolean remove(int keyCode) {
+        if (!inRange(keyCode)) {
+            return false;
+        }
+        long bit = 1L << keyCode;
+        int word = keyCode >>> 6;
+        if ((words[word] & bit) == 0) {
+            return false;
+        }
+        words[word] &= ~bit;
+        size--;
+        return true;
+    }
+
+    public boolean contains(int keyCode) {
+        return inRange(keyCode) && (words[keyCode >>> 6] & (1L << keyCode)) != 0;
+    }
+
+    /**
+     * @param mask The key codes to look for
+     * @return True if every key code of the mask is in the set
+     */
+    public boolean containsAll(Mask mask) {
+        for (int i = 0; i < mask.wordIndexes.length; i++) {
+            long bits = mask.wordBits[i];
+            if ((words[mask.wordIndexes[i]] & bits) != bits) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        Arrays.fill(words, 0L);
+        size = 0;
+    }
+
+    /**
+     * A fixed group of key codes compiled to the bitset words they touch, so that
+     * {@link #containsAll(Mask)} compares one word per distinct word instead of one bit per key.
+     */
+    public static final class Mask {
+        private final int[] wordIndexes;
+        private final long[] wordBits;
+
+        private Mask(int[] wordIndexes, long[] wordBits) {
+            this.wordIndexes = wordIndexes;
+            this.wordBits = wordBits;
+        }
+
+        /**
+         * @param keyCodes The key codes, duplicates are ignored
+         * @return The mask of the key codes
+         * @throws IllegalArgumentException If a key code is out of range
+         */
+        public static Mask of(int... keyCodes) {
+            int[] sorted = keyCodes.clone();
+            Arrays.sort(sorted);
+            int[] wordIndexes = new int[sorted.length];
+            long[] wordBits = new long[sorted.length];
+            int count = 0;
+            for (int keyCode : sorted) {
+                if (!inRange(keyCode)) {
+                    throw new IllegalArgumentException("Invalid key code: " + keyCode);
+                }
+                int word = keyCode >>> 6;
+                if (count == 0 || wordIndexes[count - 1] != word) {
+                    wordIndexes[count++] = word;
+                }
+                wordBits[count - 1] |= 1L << keyCode;
+            }
+            return new Mask(Arrays.copyOf(wordIndexes, count), Arrays.copyOf(wordBits, count));
+        }
+    }
+
+    private static boolean inRange(int keyCode) {
+        return keyCode >= 0 && keyCode < CAPACITY;
+    }
+}
@@ -0,0 +1,56 @@
+package it.arturoiafrate.shortcutbuddy.model.type;
+
+/**
+ * A copy-on-write table from the 16-bit native key codes to values, laid out in pages of 256 entries.
+ * Lookups are lock free and never box the key code; {@link #put(int, Object)} copies the affected page and
+ * republishes the table, so it suits values that change rarely compared to how often they are read, such
+ * as the arrays of subscribers of a key. Values should be immutable once stored.
+ *
+ * @param <V> The type of the values
+ */
+public final class KeyCodeTable<V> {
+    public static final int CAPACITY = 1 << 16;
+    private static final int PAGE_BITS = 8;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+
+    private volatile Object[][] pages = new Object[CAPACITY >>> PAGE_BITS][];
+
+    /**
+     * @param keyCode The key code
+     * @return The value of the key, or null if none is stored or the key code is out of range
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int keyCode) {
+        if (keyCode < 0 || keyCode >= CAPACITY) {
+            return null;
+        }
+        Object[] page = pages[keyCode >>> PAGE_BITS];
+        return page != null ? (V) page[keyCode & (PAGE_SIZE - 1)] : null;
+    }
+
+    /**
+     * Stores a value; callers updating a value from its previous one must synchronize among themselves.
+     *
+     * @param keyCode The key code
+     * @param value The value, or null to remove it
+     * @throws IllegalArgumentException If the key code is out of range
+     */
+    public synchronized void put(int keyCode, V value) {
+        if (keyCode < 0 || keyCode >= CAPACITY) {
+            throw new IllegalArgumentException("Invalid key code: " + keyCode);
+        }
+        Object[][] updatedPages = pages.clone();
+        int pageIndex = keyCode >>> PAGE_BITS;
+        Object[] page = updatedPages[pageIndex] != null ? updatedPages[pageIndex].clone() : new Object[PAGE_SIZE];
+        page[keyCode & (PAGE_SIZE - 1)] = value;
+        updatedPages[pageIndex] = page;
+        pages = updatedPages;
+    }
+
+    /**
+     * Removes every value.
+     */
+    public synchronized void clear() {
+        pages = new Object[CAPACITY >>> PAGE_BITS][];
+    }
+}
@@ -0,0 +1,146 @@
+package it.arturoiafrate.shortcutbuddy.model.type;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes key combinations as a single {@code long} made of up to {@link #MAX_KEYS} key ids of 12 bits each,
+ * first key in the lowest bits, and decodes them back through an interned key-name table.
+ * Decoded combinations are cached by their packed value and shared, so once a combination has been seen
+ * decoding it again does not allocate. The returned lists are immutable.
+ */
+public final class KeyComboCodec {
+    public static final int MAX_KEYS = 5;
+    public static final int MAX_KEY_ID = 0xFFF;
+    public static final long NOT_PACKABLE = -1L;
+    private static final int BITS_PER_KEY = 12;
+    private static final long EMPTY_SLOT = Long.MIN_VALUE;
+
+    private final Map<String, Integer> idsByName = new HashMap<>();
+    private String[] namesById = new String[128];
+    private long[] comboKeys;
+    private Object[] comboValues;
+    private int comboCount;
+
+    public KeyComboCodec() {
+        initComboCache(256);
+    }
+
+    /**
+     * Registers a key name under the id assigned by the {@code key_names} table.
+     *
+     * @param keyId The key id, between 1 and {@link #MAX_KEY_ID}
+     * @param name The key name
+     */
+    public synchronized void register(int keyId, String name) {
+        if (keyId <= 0 || keyId > MAX_KEY_ID || name == null) {
+            return;
+        }
+        if (keyId >= namesById.length) {
+            namesById = Arrays.copyOf(namesById, Math.min(MAX_KEY_ID + 1, Math.max(keyId + 1, namesById.length * 2)));
+        }
+        namesById[keyId] = name.intern();
+        idsByName.put(namesById[keyId], keyId);
+    }
+
+    /**
+     * @param name The key name
+     * @return The id of the key, or 0 if the name has not been registered
+     */
+    public synchronized int idOf(String name) {
+        Integer id = idsByName.get(name);
+        return id != null ? id : 0;
+    }
+
+    /**
+     * Packs the given key ids.
+     *
+     * @param keyIds The ids of the keys, in order
+     * @return The packed combination, or {@link #NOT_PACKABLE} if it does not fit
+     */
+    public static long pack(int[] keyIds) {
+        if (keyIds.length == 0 || keyIds.length > MAX_KEYS) {
+            return NOT_PACKABLE;
+        }
+        long packed = 0L;
+        for (int i = 0; i < keyIds.length; i++) {
+            if (keyIds[i] <= 0 || keyIds[i] > MAX_KEY_ID) {
+                return NOT_PACKABLE;
+            }
+            packed |= (long) keyIds[i] << (BITS_PER_KEY * i);
+        }
+        return packed;
+    }
+
+    /**
+     * Decodes a packed combination.
+     *
+     * @param packed The packed combination
+     * @return The shared, immutable list of key names, or null if the combination references an unknown key id
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized List<String> decode(long packed) {
+        int mask = comboKeys.length - 1;
+        int slot = (int) (mix(packed) & mask);
+        while (comboKeys[slot] != EMPTY_SLOT) {
+            if (comboKeys[slot] == packed) {
+                return (List<String>) comboValues[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        List<String> keys = unpack(packed);
+        if (keys != null) {
+            comboKeys[slot] = packed;
+            comboValues[slot] = keys;
+            if (++comboCount * 2 > comboKeys.length) {
+                growComboCache();
+            }
+        }
+        return keys;
+    }
+
+    private List<String> unpack(long packed) {
+        String[] names = new String[MAX_KEYS];
+        int count = 0;
+        for (long rest = packed; rest != 0 && count < MAX_KEYS; rest >>>= BITS_PER_KEY) {
+            int keyId = (int) (rest & MAX_KEY_ID);
+            if (keyId >= namesById.length || namesById[keyId] == null) {
+                return null;
+            }
+            names[count++] = namesById[keyId];
+        }
+        return List.of(Arrays.copyOf(names, count));
+    }
+
+    private void growComboCache() {
+        long[] oldKeys = comboKeys;
+        Object[] oldValues = comboValues;
+        initComboCache(oldKeys.length * 2);
+        int mask = comboKeys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY_SLOT) {
+                int slot = (int) (mix(oldKeys[i]) & mask);
+                while (comboKeys[slot] != EMPTY_SLOT) {
+                    slot = (slot + 1) & mask;
+                }
+                comboKeys[slot] = oldKeys[i];
+                comboValues[slot] = oldValues[i];
+                comboCount++;
+            }
+        }
+    }
+
+    private void initComboCache(int capacity) {
+        comboKeys = new long[capacity];
+        Arrays.fill(comboKeys, EMPTY_SLOT);
+        comboValues = new Object[capacity];
+        comboCount = 0;
+    }
+
+    private static long mix(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+}
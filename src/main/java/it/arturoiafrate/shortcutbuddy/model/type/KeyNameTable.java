@@ -0,0 +1,124 @@
+package it.arturoiafrate.shortcutbuddy.model.type;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * An immutable bidirectional table between key codes and key names.
+ * Names are found from codes through a dense array indexed by the code, codes from names through a binary
+ * search over the names sorted case-insensitively, so neither lookup boxes or allocates. The few codes
+ * beyond {@link #DENSE_LIMIT}, such as the AWT code of AltGr, are kept in a sorted array instead.
+ * Besides its canonical name, a key can be found through any number of aliases.
+ */
+public final class KeyNameTable {
+    public static final int NO_CODE = -1;
+    public static final int DENSE_LIMIT = 1 << 12;
+
+    private final String[] namesByCode;
+    private final int[] sparseCodes;
+    private final String[] sparseNames;
+    private final String[] sortedNames;
+    private final int[] codesBySortedName;
+
+    private KeyNameTable(String[] namesByCode, int[] sparseCodes, String[] sparseNames, String[] sortedNames, int[] codesBySortedName) {
+        this.namesByCode = namesByCode;
+        this.sparseCodes = sparseCodes;
+        this.sparseNames = sparseNames;
+        this.sortedNames = sortedNames;
+        this.codesBySortedName = codesBySortedName;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @param code The key code
+     * @return The canonical name of the key, or null if the code is unknown
+     */
+    public String nameOf(int code) {
+        if (code >= 0 && code < namesByCode.length) {
+            return namesByCode[code];
+        }
+        int index = Arrays.binarySearch(sparseCodes, code);
+        return index >= 0 ? sparseNames[index] : null;
+    }
+
+    /**
+     * @param name The canonical name or an alias of the key, in any case
+     * @return The code of the key, or {@link #NO_CODE} if the name is unknown
+     */
+    public int codeOf(String name) {
+        if (name == null) {
+            return NO_CODE;
+        }
+        int index = Arrays.binarySearch(sortedNames, name, String.CASE_INSENSITIVE_ORDER);
+        return index >= 0 ? codesBySortedName[index] : NO_CODE;
+    }
+
+    public static final class Builder {
+        private record Entry(int code, String name, boolean canonical) {
+        }
+
+        private final List<Entry> entries = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a key; keys with a negative code are skipped, so that a catalogue can describe keys missing on one side.
+         *
+         * @param code The key code
+         * @param name The canonical name, returned by {@link KeyNameTable#nameOf(int)}
+         * @param aliases Other names the key is found by
+         * @return This builder
+         */
+        public Builder add(int code, String name, String... aliases) {
+            if (code < 0) {
+                return this;
+            }
+            entries.add(new Entry(code, name, true));
+            for (String alias : aliases) {
+                entries.add(new Entry(code, alias, false));
+            }
+            return this;
+        }
+
+        /**
+         * @return The table
+         * @throws IllegalArgumentException If two keys share a code or a name, ignoring case
+         */
+        public KeyNameTable build() {
+            List<Entry> keys = entries.stream().filter(Entry::canonical).sorted(Comparator.comparingInt(Entry::code)).toList();
+            int maxDenseCode = keys.stream().mapToInt(Entry::code).filter(code -> code < DENSE_LIMIT).max().orElse(-1);
+            String[] namesByCode = new String[maxDenseCode + 1];
+            int[] sparseCodes = keys.stream().mapToInt(Entry::code).filter(code -> code >= DENSE_LIMIT).toArray();
+            String[] sparseNames = new String[sparseCodes.length];
+            for (int i = 0; i < keys.size(); i++) {
+                Entry key = keys.get(i);
+                if (i > 0 && keys.get(i - 1).code() == key.code()) {
+                    throw new IllegalArgumentException("Duplicate key code " + key.code() + ": " + keys.get(i - 1).name() + ", " + key.name());
+                }
+                if (key.code() < DENSE_LIMIT) {
+                    namesByCode[key.code()] = key.name();
+                } else {
+                    sparseNames[Arrays.binarySearch(sparseCodes, key.code())] = key.name();
+                }
+            }
+            List<Entry> sorted = new ArrayList<>(entries);
+            sorted.sort((a, b) -> String.CASE_INSENSITIVE_ORDER.compare(a.name(), b.name()));
+            String[] sortedNames = new String[sorted.size()];
+            int[] codesBySortedName = new int[sorted.size()];
+            for (int i = 0; i < sorted.size(); i++) {
+                sortedNames[i] = sorted.get(i).name();
+                codesBySortedName[i] = sorted.get(i).code();
+                if (i > 0 && sortedNames[i].equalsIgnoreCase(sortedNames[i - 1])) {
+                    throw new IllegalArgumentException("Duplicate key name: " + sortedNames[i]);
+                }
+            }
+            return new KeyNameTable(namesByCode, sparseCodes, sparseNames, sortedNames, codesBySortedName);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package it.arturoiafrate.shortcutbuddy.model.type;
+
+import java.time.Duration;
+
+/**
+ * Time-decayed usage score of an application: every use loses half of its weight each {@link #HALF_LIFE}.
+ * The score is stored as {@code log2(decayed uses) + t / HALF_LIFE}, so that the decay shifts every stored
+ * score by the same amount and applications can be ranked on the stored value alone, by the database too.
+ * A score of 0 stands for an application never used.
+ */
+public final class UsageScore {
+    public static final Duration HALF_LIFE = Duration.ofDays(7);
+    private static final double HALF_LIFE_MILLIS = HALF_LIFE.toMillis();
+
+    private UsageScore() {
+    }
+
+    /**
+     * @param score The stored score
+     * @param uses The uses to add, as of now
+     * @param nowMillis The current time, in epoch milliseconds
+     * @return The stored score including the new uses
+     */
+    public static double add(double score, double uses, long nowMillis) {
+        double decayedUses = decayedUses(score, nowMillis) + uses;
+        if (decayedUses <= 0) {
+            return score;
+        }
+        return log2(decayedUses) + nowMillis / HALF_LIFE_MILLIS;
+    }
+
+    /**
+     * @param score The stored score
+     * @param nowMillis The current time, in epoch milliseconds
+     * @return The decayed number of uses as of now
+     */
+    public static double decayedUses(double score, long nowMillis) {
+        if (score == 0) {
+            return 0;
+        }
+        return Math.pow(2, score - nowMillis / HALF_LIFE_MILLIS);
+    }
+
+    private static double log2(double value) {
+        return Math.log(value) / Math.log(2);
+    }
+}
@@ -24,6 +24,8 @@ module it.arturoiafrate.shortcutbuddy {
     requires java.compiler;
     requires com.github.benmanes.caffeine;
     requires com.github.kwhat.jnativehook;
+    requires jdk.management;
+    requires jdk.jfr;
 
 
     opens it.arturoiafrate.shortcutbuddy to javafx.fxml;
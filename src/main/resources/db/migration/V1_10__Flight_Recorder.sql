@@ -0,0 +1,2 @@
+INSERT INTO settings (key, value, is_readonly, is_hidden, value_type, allowed_options, setting_order, group_name, dev_mode, conditional_enabling) VALUES
+    ('enableFlightRecorder', 'n', 0, 0, 'BOOLEAN_YN', '["y","n"]', 19, 'general', false, null);
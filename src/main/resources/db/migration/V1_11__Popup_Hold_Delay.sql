@@ -0,0 +1,2 @@
+INSERT INTO settings (key, value, is_readonly, is_hidden, value_type, allowed_options, setting_order, group_name, dev_mode, conditional_enabling) VALUES
+    ('popupHoldDelay', '1000', 0, 0, 'CHOICE', '["500","750","1000","1500","2000"]', 20, 'general', false, null);
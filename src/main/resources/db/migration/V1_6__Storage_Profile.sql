@@ -0,0 +1,2 @@
+INSERT INTO settings (key, value, is_readonly, is_hidden, value_type, allowed_options, setting_order, group_name, dev_mode, conditional_enabling) VALUES
+    ('storageProfile', 'balanced', 0, 0, 'CHOICE', '["balanced","safe","legacy"]', 18, 'general', false, null);
@@ -0,0 +1,29 @@
+-- Interned key names referenced by the packed key-combo columns
+CREATE TABLE key_names (
+   key_id INTEGER PRIMARY KEY,
+   name TEXT NOT NULL UNIQUE
+);
+
+INSERT OR IGNORE INTO key_names (name)
+SELECT j.value FROM shortcuts s, json_each(CASE WHEN json_valid(s.keys_storage) THEN s.keys_storage ELSE '[]' END) j WHERE j.type = 'text'
+UNION
+SELECT j.value FROM shortcuts s, json_each(CASE WHEN json_valid(s.default_value) THEN s.default_value ELSE '[]' END) j WHERE j.type = 'text';
+
+-- Packed key combos: up to 5 key ids of 12 bits each, first key in the lowest bits, 0 terminates the combo.
+-- Rows that cannot be packed keep a NULL value and are still read from the JSON columns.
+ALTER TABLE shortcuts ADD COLUMN keys_packed INTEGER;
+ALTER TABLE shortcuts ADD COLUMN default_packed INTEGER;
+
+UPDATE shortcuts SET keys_packed = (
+    SELECT CASE WHEN COUNT(k.key_id) = json_array_length(shortcuts.keys_storage) THEN SUM(k.key_id << (12 * j.key)) END
+    FROM json_each(shortcuts.keys_storage) j
+    JOIN key_names k ON k.name = j.value AND k.key_id < 4096
+)
+WHERE json_valid(keys_storage) AND json_array_length(keys_storage) BETWEEN 1 AND 5;
+
+UPDATE shortcuts SET default_packed = (
+    SELECT CASE WHEN COUNT(k.key_id) = json_array_length(shortcuts.default_value) THEN SUM(k.key_id << (12 * j.key)) END
+    FROM json_each(shortcuts.default_value) j
+    JOIN key_names k ON k.name = j.value AND k.key_id < 4096
+)
+WHERE json_valid(default_value) AND json_array_length(default_value) BETWEEN 1 AND 5;
@@ -0,0 +1,24 @@
+-- Full-text index over shortcut descriptions and categories, kept in sync by triggers
+CREATE VIRTUAL TABLE shortcuts_fts USING fts5(
+   description,
+   category,
+   content='shortcuts',
+   content_rowid='shortcut_id',
+   tokenize='unicode61 remove_diacritics 2',
+   prefix='2 3'
+);
+
+INSERT INTO shortcuts_fts (shortcuts_fts) VALUES ('rebuild');
+
+CREATE TRIGGER shortcuts_fts_insert AFTER INSERT ON shortcuts BEGIN
+   INSERT INTO shortcuts_fts (rowid, description, category) VALUES (new.shortcut_id, new.description, new.category);
+END;
+
+CREATE TRIGGER shortcuts_fts_delete AFTER DELETE ON shortcuts BEGIN
+   INSERT INTO shortcuts_fts (shortcuts_fts, rowid, description, category) VALUES ('delete', old.shortcut_id, old.description, old.category);
+END;
+
+CREATE TRIGGER shortcuts_fts_update AFTER UPDATE OF description, category ON shortcuts BEGIN
+   INSERT INTO shortcuts_fts (shortcuts_fts, rowid, description, category) VALUES ('delete', old.shortcut_id, old.description, old.category);
+   INSERT INTO shortcuts_fts (rowid, description, category) VALUES (new.shortcut_id, new.description, new.category);
+END;
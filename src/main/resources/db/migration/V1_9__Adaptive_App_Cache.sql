@@ -0,0 +1,4 @@
+-- Time-decayed usage score of each application, see UsageScore; 0 until the application is used again
+ALTER TABLE applications ADD COLUMN usage_score REAL DEFAULT 0 NOT NULL;
+
+UPDATE settings SET allowed_options = '["10","20","30","50","auto"]' WHERE key = 'cacheSize';